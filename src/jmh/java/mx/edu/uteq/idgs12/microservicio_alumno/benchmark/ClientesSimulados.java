@@ -0,0 +1,144 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.SiembraAlumnos;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.DivisionClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.ProfesorClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.ProgramaEducativoClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.DivisionDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProfesorDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProgramaEducativoDto;
+
+/**
+ * Reemplaza los Feign Clients por implementaciones en proceso que responden
+ * después de una latencia configurable.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class ClientesSimulados {
+
+    public static final int PROGRAMAS = SiembraAlumnos.PROGRAMAS;
+    public static final int PROFESORES = SiembraAlumnos.PROFESORES;
+
+    static volatile long latenciaMs;
+
+    // Los Feign Clients se registran como primarios; se les retira la marca para que ganen los simulados
+    @Bean
+    static BeanFactoryPostProcessor clientesFeignNoPrimarios() {
+        return beanFactory -> {
+            for (Class<?> tipo : List.of(ProgramaEducativoClient.class, ProfesorClient.class, DivisionClient.class)) {
+                for (String nombre : beanFactory.getBeanNamesForType(tipo, true, false)) {
+                    if (!nombre.endsWith("Simulado")) {
+                        beanFactory.getBeanDefinition(nombre).setPrimary(false);
+                    }
+                }
+            }
+        };
+    }
+
+    @Bean
+    @Primary
+    ProgramaEducativoClient programaEducativoClientSimulado() {
+        return new ProgramaEducativoClient() {
+            @Override
+            public ProgramaEducativoDto obtenerProgramaPorId(Long id) {
+                esperar();
+                return programa(id);
+            }
+
+            @Override
+            public List<ProgramaEducativoDto> obtenerTodosProgramas() {
+                esperar();
+                return LongStream.rangeClosed(1, PROGRAMAS).mapToObj(ClientesSimulados::programa).toList();
+            }
+
+            @Override
+            public List<ProgramaEducativoDto> obtenerProgramasActivos() {
+                return obtenerTodosProgramas();
+            }
+        };
+    }
+
+    @Bean
+    @Primary
+    ProfesorClient profesorClientSimulado() {
+        return new ProfesorClient() {
+            @Override
+            public ProfesorDto obtenerProfesorPorId(Long id) {
+                esperar();
+                return profesor(id);
+            }
+
+            @Override
+            public List<ProfesorDto> obtenerTodosProfesores() {
+                esperar();
+                return LongStream.rangeClosed(1, PROFESORES).mapToObj(ClientesSimulados::profesor).toList();
+            }
+        };
+    }
+
+    @Bean
+    @Primary
+    DivisionClient divisionClientSimulado() {
+        return new DivisionClient() {
+            @Override
+            public DivisionDto obtenerDivisionPorId(Long id) {
+                esperar();
+                return division(id);
+            }
+
+            @Override
+            public List<DivisionDto> obtenerTodasLasDivisiones() {
+                esperar();
+                return List.of(division(1L));
+            }
+
+            @Override
+            public List<DivisionDto> obtenerDivisionesActivas() {
+                return obtenerTodasLasDivisiones();
+            }
+        };
+    }
+
+    private static ProgramaEducativoDto programa(Long id) {
+        ProgramaEducativoDto programa = new ProgramaEducativoDto();
+        programa.setId(id);
+        programa.setNombre("Programa educativo " + id);
+        programa.setActivo(true);
+        return programa;
+    }
+
+    private static ProfesorDto profesor(Long id) {
+        ProfesorDto profesor = new ProfesorDto();
+        profesor.setId(id);
+        profesor.setNombre("Profesor");
+        profesor.setApellido(String.valueOf(id));
+        profesor.setDivisionId(1L);
+        return profesor;
+    }
+
+    private static DivisionDto division(Long id) {
+        DivisionDto division = new DivisionDto();
+        division.setDivisionId(id);
+        division.setNombre("División " + id);
+        division.setActivo(true);
+        return division;
+    }
+
+    private static void esperar() {
+        if (latenciaMs > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(latenciaMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.MicroservicioAlumnoApplication;
+import mx.edu.uteq.idgs12.microservicio_alumno.SiembraAlumnos;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.AlumnoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.GrupoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.AlumnoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.GrupoRepository;
+
+/**
+ * Levanta la aplicación sin servidor web, con H2 en memoria y clientes simulados,
+ * y la siembra con {@code alumnos} alumnos repartidos en grupos de 30 (SiembraAlumnos).
+ */
+@State(Scope.Benchmark)
+public class ContextoBenchmark {
+
+    private static final int MUESTRA = 1000;
+
+    @Param({"10000"})
+    public int alumnos;
+
+    @Param({"20"})
+    public long latenciaMs;
+
+    ConfigurableApplicationContext contexto;
+    List<AlumnoEntity> muestraAlumnos;
+    List<GrupoEntity> muestraGrupos;
+    int grupos;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        ClientesSimulados.latenciaMs = latenciaMs;
+        contexto = new SpringApplicationBuilder(MicroservicioAlumnoApplication.class, ClientesSimulados.class)
+                .web(WebApplicationType.NONE)
+                .run("--eureka.client.enabled=false",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.sql.init.mode=never",
+                        // Fuera del jar de Spring Boot Hibernate no resuelve el prefijo classpath:
+                        "--spring.jpa.properties.hibernate.javax.cache.uri=hibernate-cache.conf",
+                        "--logging.level.root=WARN");
+        SiembraAlumnos.sembrar(contexto, alumnos);
+        grupos = SiembraAlumnos.grupos(alumnos);
+
+        muestraAlumnos = bean(AlumnoRepository.class).findAll(PageRequest.of(0, MUESTRA, Sort.by("id"))).getContent();
+        muestraGrupos = bean(GrupoRepository.class).findAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+    }
+
+    <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    long alumnoAleatorio() {
+        return ThreadLocalRandom.current().nextLong(1, alumnos + 1);
+    }
+
+    long grupoAleatorio() {
+        return ThreadLocalRandom.current().nextLong(1, grupos + 1);
+    }
+}
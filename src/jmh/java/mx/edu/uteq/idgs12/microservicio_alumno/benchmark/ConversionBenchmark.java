@@ -0,0 +1,86 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.AopTestUtils;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoViewDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoViewDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.AlumnoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.GrupoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.AlumnoService;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.GrupoService;
+
+/**
+ * Costo de los métodos privados de conversión entidad -> DTO, invocados sobre
+ * entidades ya cargadas en memoria (sin base de datos de por medio).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionBenchmark {
+
+    private AlumnoService alumnoService;
+    private GrupoService grupoService;
+    private MethodHandle alumnoADto;
+    private MethodHandle alumnoAViewDto;
+    private MethodHandle grupoAViewDto;
+
+    @Setup(Level.Trial)
+    public void preparar(ContextoBenchmark contexto) throws ReflectiveOperationException {
+        alumnoService = AopTestUtils.getUltimateTargetObject(contexto.bean(AlumnoService.class));
+        grupoService = AopTestUtils.getUltimateTargetObject(contexto.bean(GrupoService.class));
+
+        MethodHandles.Lookup alumnos = MethodHandles.privateLookupIn(AlumnoService.class, MethodHandles.lookup());
+        alumnoADto = alumnos.findVirtual(AlumnoService.class, "convertirADto",
+                MethodType.methodType(AlumnoDto.class, AlumnoEntity.class));
+        alumnoAViewDto = alumnos.findVirtual(AlumnoService.class, "convertirAViewDto",
+                MethodType.methodType(AlumnoViewDto.class, AlumnoEntity.class, String.class, String.class));
+
+        MethodHandles.Lookup grupos = MethodHandles.privateLookupIn(GrupoService.class, MethodHandles.lookup());
+        grupoAViewDto = grupos.findVirtual(GrupoService.class, "convertirAViewDto",
+                MethodType.methodType(GrupoViewDto.class, GrupoEntity.class, long.class));
+    }
+
+    @Benchmark
+    public void alumnoConvertirADto(ContextoBenchmark contexto, Blackhole blackhole) throws Throwable {
+        for (AlumnoEntity alumno : contexto.muestraAlumnos) {
+            blackhole.consume((AlumnoDto) alumnoADto.invokeExact(alumnoService, alumno));
+        }
+    }
+
+    @Benchmark
+    public void alumnoConvertirAViewDto(ContextoBenchmark contexto, Blackhole blackhole) throws Throwable {
+        for (AlumnoEntity alumno : contexto.muestraAlumnos) {
+            blackhole.consume((AlumnoViewDto) alumnoAViewDto.invokeExact(alumnoService, alumno,
+                    "Programa educativo", "Grupo"));
+        }
+    }
+
+    // Incluye la consulta de programa y profesor a través de la cache local (caliente)
+    @Benchmark
+    public void grupoConvertirAViewDto(ContextoBenchmark contexto, Blackhole blackhole) throws Throwable {
+        for (GrupoEntity grupo : contexto.muestraGrupos) {
+            blackhole.consume((GrupoViewDto) grupoAViewDto.invokeExact(grupoService, grupo, 30L));
+        }
+    }
+}
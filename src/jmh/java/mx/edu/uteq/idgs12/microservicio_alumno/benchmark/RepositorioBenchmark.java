@@ -0,0 +1,93 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.AlumnoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.GrupoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.AlumnoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.GrupoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.search.AlumnoSearchIndex;
+
+// Consultas de los repositorios contra H2 en memoria sembrada por ContextoBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositorioBenchmark {
+
+    private static final String[] TERMINOS = {"mar", "lopez", "jose gonz", "M0000", "angel nunez"};
+
+    @Benchmark
+    public List<AlumnoEntity> findByGrupoIdAndActivoTrue(ContextoBenchmark contexto) {
+        return contexto.bean(AlumnoRepository.class).findByGrupoIdAndActivoTrue(contexto.grupoAleatorio());
+    }
+
+    @Benchmark
+    public List<AlumnoDto> listarActivosPorGrupo(ContextoBenchmark contexto) {
+        return contexto.bean(AlumnoRepository.class).listarActivosPorGrupo(contexto.grupoAleatorio());
+    }
+
+    @Benchmark
+    public long countByGrupoIdAndActivoTrue(ContextoBenchmark contexto) {
+        return contexto.bean(AlumnoRepository.class).countByGrupoIdAndActivoTrue(contexto.grupoAleatorio());
+    }
+
+    @Benchmark
+    public List<AlumnoEntity> findByProgramaEducativoId(ContextoBenchmark contexto) {
+        long programa = ThreadLocalRandom.current().nextLong(1, ClientesSimulados.PROGRAMAS + 1);
+        return contexto.bean(AlumnoRepository.class).findByProgramaEducativoId(programa);
+    }
+
+    @Benchmark
+    public List<AlumnoDto> listarPorProgramaEducativo(ContextoBenchmark contexto) {
+        long programa = ThreadLocalRandom.current().nextLong(1, ClientesSimulados.PROGRAMAS + 1);
+        return contexto.bean(AlumnoRepository.class).listarPorProgramaEducativo(programa);
+    }
+
+    @Benchmark
+    public Optional<AlumnoEntity> findByMatricula(ContextoBenchmark contexto) {
+        return contexto.bean(AlumnoRepository.class)
+                .findByMatricula(String.format("M%08d", contexto.alumnoAleatorio()));
+    }
+
+    @Benchmark
+    public boolean existsByCorreo(ContextoBenchmark contexto) {
+        return contexto.bean(AlumnoRepository.class)
+                .existsByCorreo("alumno" + contexto.alumnoAleatorio() + "@uteq.edu.mx");
+    }
+
+    @Benchmark
+    public List<GrupoEntity> findByProfesorId(ContextoBenchmark contexto) {
+        long profesor = ThreadLocalRandom.current().nextLong(1, ClientesSimulados.PROFESORES + 1);
+        return contexto.bean(GrupoRepository.class).findByProfesorId(profesor);
+    }
+
+    @Benchmark
+    public List<GrupoDto> listarPorProfesor(ContextoBenchmark contexto) {
+        long profesor = ThreadLocalRandom.current().nextLong(1, ClientesSimulados.PROFESORES + 1);
+        return contexto.bean(GrupoRepository.class).listarPorProfesor(profesor);
+    }
+
+    @Benchmark
+    public List<Long> buscarEnIndice(ContextoBenchmark contexto) {
+        String termino = TERMINOS[ThreadLocalRandom.current().nextInt(TERMINOS.length)];
+        return contexto.bean(AlumnoSearchIndex.class).buscar(termino, 20);
+    }
+}
@@ -0,0 +1,52 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.PaginaCursorDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.AlumnoService;
+
+// Serialización JSON de listas de AlumnoDto con el ObjectMapper configurado por Spring Boot
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacionBenchmark {
+
+    @Param({"100", "500"})
+    public int tamanio;
+
+    private ObjectMapper objectMapper;
+    private List<AlumnoDto> alumnos;
+
+    @Setup(Level.Trial)
+    public void preparar(ContextoBenchmark contexto) {
+        objectMapper = contexto.bean(ObjectMapper.class);
+        PaginaCursorDto<AlumnoDto> pagina = contexto.bean(AlumnoService.class).obtenerPagina(0L, tamanio, false);
+        alumnos = pagina.getContenido();
+    }
+
+    @Benchmark
+    public byte[] listaAlumnosAJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(alumnos);
+    }
+}
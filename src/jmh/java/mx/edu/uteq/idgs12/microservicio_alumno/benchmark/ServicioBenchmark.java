@@ -0,0 +1,59 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.cache.ProfesorCache;
+import mx.edu.uteq.idgs12.microservicio_alumno.cache.ProgramaEducativoCache;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoViewDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoViewDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.AlumnoService;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.GrupoService;
+
+// Métodos públicos de los servicios de punta a punta: transacción, consultas y conversión
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServicioBenchmark {
+
+    @Benchmark
+    public List<AlumnoDto> alumnosPorGrupo(ContextoBenchmark contexto) {
+        return contexto.bean(AlumnoService.class).obtenerPorGrupo(contexto.grupoAleatorio());
+    }
+
+    @Benchmark
+    public AlumnoViewDto alumnoConDetalles(ContextoBenchmark contexto) {
+        return contexto.bean(AlumnoService.class).obtenerAlumnoConDetalles(contexto.alumnoAleatorio());
+    }
+
+    @Benchmark
+    public GrupoViewDto grupoConDetalles(ContextoBenchmark contexto) {
+        return contexto.bean(GrupoService.class).obtenerGrupoConDetalles(contexto.grupoAleatorio());
+    }
+
+    // Cache fría: cada llamada paga la latencia simulada de programa y profesor
+    @Benchmark
+    public GrupoViewDto grupoConDetallesSinCache(ContextoBenchmark contexto) {
+        for (long id = 1; id <= ClientesSimulados.PROGRAMAS; id++) {
+            contexto.bean(ProgramaEducativoCache.class).invalidar(id);
+        }
+        for (long id = 1; id <= ClientesSimulados.PROFESORES; id++) {
+            contexto.bean(ProfesorCache.class).invalidar(id);
+        }
+        return contexto.bean(GrupoService.class).obtenerGrupoConDetalles(contexto.grupoAleatorio());
+    }
+}
@@ -0,0 +1,84 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Parámetros de una corrida, recibidos como argumentos clave=valor
+ * (por ejemplo {@code concurrencia=64 duracion=2m latencia=50ms errores=0.02}).
+ */
+public record ConfiguracionCarga(
+        int alumnos,
+        int concurrencia,
+        Duration duracion,
+        Duration calentamiento,
+        int tasa,
+        double escrituras,
+        boolean async,
+        Duration latencia,
+        double dispersion,
+        double errores,
+        Path salida,
+        Path base) {
+
+    private static final Map<String, String> POR_DEFECTO = Map.ofEntries(
+            // Volumen sembrado en H2, en grupos de 30 alumnos
+            Map.entry("alumnos", "50000"),
+            // Clientes simultáneos; cada uno envía su siguiente petición al recibir la respuesta
+            Map.entry("concurrencia", "32"),
+            Map.entry("duracion", "60s"),
+            // Tiempo inicial cuyas mediciones se descartan (JIT, caches, pool de conexiones)
+            Map.entry("calentamiento", "15s"),
+            // Peticiones por segundo en total; 0 = sin límite. Con tasa, la latencia se mide desde
+            // el instante programado, así que la espera en cola del cliente también cuenta
+            Map.entry("tasa", "0"),
+            // Proporción de operaciones de escritura en la mezcla
+            Map.entry("escrituras", "0.1"),
+            // Usar los endpoints /async para las lecturas
+            Map.entry("async", "false"),
+            // Mediana de la latencia de microservicio-division y microservicio-profesor simulados
+            Map.entry("latencia", "20ms"),
+            // Sigma de la distribución log-normal de esa latencia; 0 = latencia fija
+            Map.entry("dispersion", "0.3"),
+            // Proporción de respuestas 503 de los servicios simulados
+            Map.entry("errores", "0"),
+            Map.entry("salida", "target/carga"),
+            // CSV de una corrida anterior contra el cual comparar
+            Map.entry("base", ""));
+
+    public static ConfiguracionCarga desdeArgumentos(String[] argumentos) {
+        Map<String, String> valores = new LinkedHashMap<>(POR_DEFECTO);
+        for (String argumento : argumentos) {
+            int separador = argumento.indexOf('=');
+            String clave = separador > 0 ? argumento.substring(0, separador) : argumento;
+            if (separador < 0 || !valores.containsKey(clave)) {
+                throw new IllegalArgumentException("Argumento no reconocido: " + argumento
+                        + ". Claves válidas: " + POR_DEFECTO.keySet());
+            }
+            valores.put(clave, argumento.substring(separador + 1));
+        }
+        return new ConfiguracionCarga(
+                Integer.parseInt(valores.get("alumnos")),
+                Integer.parseInt(valores.get("concurrencia")),
+                DurationStyle.detectAndParse(valores.get("duracion")),
+                DurationStyle.detectAndParse(valores.get("calentamiento")),
+                Integer.parseInt(valores.get("tasa")),
+                Double.parseDouble(valores.get("escrituras")),
+                Boolean.parseBoolean(valores.get("async")),
+                DurationStyle.detectAndParse(valores.get("latencia")),
+                Double.parseDouble(valores.get("dispersion")),
+                Double.parseDouble(valores.get("errores")),
+                Path.of(valores.get("salida")),
+                valores.get("base").isBlank() ? null : Path.of(valores.get("base")));
+    }
+
+    public String descripcion() {
+        return "alumnos=" + alumnos + " concurrencia=" + concurrencia + " duracion=" + duracion.toSeconds() + "s"
+                + " tasa=" + tasa + " escrituras=" + escrituras + " async=" + async
+                + " latencia=" + latencia.toMillis() + "ms dispersion=" + dispersion + " errores=" + errores;
+    }
+}
@@ -0,0 +1,147 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.loadtest;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.SiembraAlumnos;
+
+/**
+ * microservicio-division y microservicio-profesor simulados con WireMock en un solo puerto
+ * (las rutas no se pisan). Cada respuesta tarda según la latencia configurada y una
+ * proporción {@code errores} de las peticiones responde 503.
+ */
+public class DependenciasSimuladas {
+
+    public static final int PROGRAMAS = SiembraAlumnos.PROGRAMAS;
+    public static final int PROFESORES = SiembraAlumnos.PROFESORES;
+    private static final int DIVISIONES = 5;
+
+    private final ConfiguracionCarga configuracion;
+    private final WireMockServer servidor;
+
+    public DependenciasSimuladas(ConfiguracionCarga configuracion) {
+        this.configuracion = configuracion;
+        this.servidor = new WireMockServer(options()
+                .dynamicPort()
+                .disableRequestJournal()
+                // Las demoras no ocupan hilos de Jetty: la latencia simulada no limita el throughput
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(Math.max(8, configuracion.concurrencia()))
+                .templatingEnabled(true)
+                .extensions(new FallasAleatorias(configuracion.errores())));
+    }
+
+    public void iniciar() {
+        servidor.start();
+
+        servidor.stubFor(get(urlPathEqualTo("/programas-educativos"))
+                .willReturn(json(arreglo(PROGRAMAS, DependenciasSimuladas::programa))));
+        servidor.stubFor(get(urlPathEqualTo("/programas-educativos/activos"))
+                .willReturn(json(arreglo(PROGRAMAS, DependenciasSimuladas::programa))));
+        servidor.stubFor(get(urlPathMatching("/programas-educativos/\\d+"))
+                .willReturn(json("{\"id\":{{request.pathSegments.[1]}},"
+                        + "\"nombre\":\"Programa {{request.pathSegments.[1]}}\",\"activo\":true}")
+                        .withTransformers("response-template")));
+
+        servidor.stubFor(get(urlPathEqualTo("/profesores"))
+                .willReturn(json(arreglo(PROFESORES, DependenciasSimuladas::profesor))));
+        servidor.stubFor(get(urlPathMatching("/profesores/\\d+"))
+                .willReturn(json("{\"id\":{{request.pathSegments.[1]}},\"nombre\":\"Profesor\","
+                        + "\"apellido\":\"{{request.pathSegments.[1]}}\",\"correo\":\"profesor@uteq.edu.mx\","
+                        + "\"telefono\":\"4420000000\",\"divisionId\":1}")
+                        .withTransformers("response-template")));
+
+        String divisiones = arreglo(DIVISIONES, DependenciasSimuladas::division);
+        servidor.stubFor(get(urlPathEqualTo("/divisiones")).willReturn(json(divisiones)));
+        servidor.stubFor(get(urlPathEqualTo("/divisiones/activas")).willReturn(json(divisiones)));
+        servidor.stubFor(get(urlPathMatching("/divisiones/\\d+"))
+                .willReturn(json("{\"divisionId\":{{request.pathSegments.[1]}},\"nombre\":\"División\","
+                        + "\"programaEducativa\":[],\"activo\":true,\"numeroProgramas\":0}")
+                        .withTransformers("response-template")));
+    }
+
+    public void detener() {
+        servidor.stop();
+    }
+
+    public String url() {
+        return "http://localhost:" + servidor.port();
+    }
+
+    private ResponseDefinitionBuilder json(String cuerpo) {
+        ResponseDefinitionBuilder respuesta = aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody(cuerpo);
+        long medianaMs = configuracion.latencia().toMillis();
+        if (medianaMs <= 0) {
+            return respuesta;
+        }
+        return configuracion.dispersion() > 0
+                ? respuesta.withLogNormalRandomDelay(medianaMs, configuracion.dispersion())
+                : respuesta.withFixedDelay((int) medianaMs);
+    }
+
+    private static String arreglo(int cantidad, IntFunction<String> elemento) {
+        return IntStream.rangeClosed(1, cantidad).mapToObj(elemento).collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static String programa(int id) {
+        return "{\"id\":" + id + ",\"nombre\":\"Programa " + id + "\",\"activo\":true}";
+    }
+
+    private static String profesor(int id) {
+        return "{\"id\":" + id + ",\"nombre\":\"Profesor\",\"apellido\":\"" + id + "\","
+                + "\"correo\":\"profesor" + id + "@uteq.edu.mx\",\"telefono\":\"4420000000\",\"divisionId\":1}";
+    }
+
+    private static String division(int id) {
+        return "{\"divisionId\":" + id + ",\"nombre\":\"División " + id + "\","
+                + "\"programaEducativa\":[],\"activo\":true,\"numeroProgramas\":0}";
+    }
+
+    // Reemplaza la respuesta de cualquier stub por un 503 con la probabilidad configurada
+    private static class FallasAleatorias implements ResponseDefinitionTransformerV2 {
+
+        private final double proporcion;
+
+        FallasAleatorias(double proporcion) {
+            this.proporcion = proporcion;
+        }
+
+        @Override
+        public ResponseDefinition transform(ServeEvent evento) {
+            if (proporcion > 0 && ThreadLocalRandom.current().nextDouble() < proporcion) {
+                return ResponseDefinitionBuilder.like(evento.getResponseDefinition())
+                        .withStatus(503)
+                        .withBody("{\"error\":\"falla simulada\"}")
+                        .build();
+            }
+            return evento.getResponseDefinition();
+        }
+
+        @Override
+        public boolean applyGlobally() {
+            return true;
+        }
+
+        @Override
+        public String getName() {
+            return "fallas-aleatorias";
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Clientes de lazo cerrado: cada hilo envía una petición, espera la respuesta y envía la
+ * siguiente. Con {@code tasa} cada hilo sigue un calendario fijo y la latencia se mide desde
+ * el instante programado y no desde el envío; así un servidor lento no reduce la carga que
+ * se le mide (omisión coordinada).
+ */
+public class GeneradorCarga {
+
+    // Hasta 1 minuto con 3 dígitos significativos
+    private static final long LATENCIA_MAXIMA_NS = TimeUnit.MINUTES.toNanos(1);
+
+    private final ConfiguracionCarga configuracion;
+    private final MezclaOperaciones mezcla;
+    private final HttpClient cliente;
+    private final Map<String, Medicion> mediciones = new LinkedHashMap<>();
+
+    private volatile boolean midiendo;
+    private volatile boolean detenido;
+
+    public GeneradorCarga(ConfiguracionCarga configuracion, MezclaOperaciones mezcla) {
+        this.configuracion = configuracion;
+        this.mezcla = mezcla;
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (MezclaOperaciones.Operacion operacion : mezcla.operaciones()) {
+            mediciones.put(operacion.nombre(), new Medicion());
+        }
+    }
+
+    /**
+     * Ejecuta el calentamiento y la duración configurada; devuelve los resultados por operación
+     * en el orden de la mezcla, sin las que no se ejecutaron.
+     */
+    public List<ResultadoOperacion> ejecutar() throws InterruptedException {
+        long inicio = System.nanoTime();
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < configuracion.concurrencia(); i++) {
+            Thread hilo = new Thread(() -> trabajar(inicio), "carga-" + i);
+            hilo.setDaemon(true);
+            hilo.start();
+            hilos.add(hilo);
+        }
+
+        Thread.sleep(configuracion.calentamiento().toMillis());
+        midiendo = true;
+        Thread.sleep(configuracion.duracion().toMillis());
+        midiendo = false;
+        detenido = true;
+        for (Thread hilo : hilos) {
+            hilo.join(TimeUnit.SECONDS.toMillis(35));
+        }
+
+        double segundos = configuracion.duracion().toNanos() / 1e9;
+        List<ResultadoOperacion> resultados = new ArrayList<>();
+        mediciones.forEach((nombre, medicion) -> {
+            Histogram histograma = medicion.latencias.getIntervalHistogram();
+            long total = medicion.exitos.sum() + medicion.rechazos.sum() + medicion.errores.sum();
+            if (total > 0) {
+                resultados.add(new ResultadoOperacion(nombre, histograma, medicion.exitos.sum(),
+                        medicion.rechazos.sum(), medicion.errores.sum(), segundos));
+            }
+        });
+        return resultados;
+    }
+
+    private void trabajar(long inicio) {
+        // Cada hilo aporta tasa/concurrencia peticiones por segundo
+        long intervalo = configuracion.tasa() > 0
+                ? TimeUnit.SECONDS.toNanos(configuracion.concurrencia()) / configuracion.tasa()
+                : 0;
+        long programada = inicio;
+        while (!detenido) {
+            if (intervalo > 0) {
+                programada += intervalo;
+                long espera = programada - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+            }
+            MezclaOperaciones.Operacion operacion = mezcla.siguiente();
+            long envio = System.nanoTime();
+            int estado;
+            try {
+                estado = cliente.send(operacion.peticion().get(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                estado = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long fin = System.nanoTime();
+            if (midiendo) {
+                registrar(mediciones.get(operacion.nombre()), estado, fin - (intervalo > 0 ? programada : envio));
+            }
+        }
+    }
+
+    private static void registrar(Medicion medicion, int estado, long latenciaNs) {
+        medicion.latencias.recordValue(Math.min(latenciaNs, LATENCIA_MAXIMA_NS));
+        if (estado >= 200 && estado < 400) {
+            medicion.exitos.increment();
+        } else if (estado >= 400 && estado < 500) {
+            medicion.rechazos.increment();
+        } else {
+            medicion.errores.increment();
+        }
+    }
+
+    private static class Medicion {
+        final Recorder latencias = new Recorder(LATENCIA_MAXIMA_NS, 3);
+        final LongAdder exitos = new LongAdder();
+        // 4xx: conflictos y validaciones esperables en la mezcla de escrituras
+        final LongAdder rechazos = new LongAdder();
+        // 5xx, timeouts y conexiones rechazadas
+        final LongAdder errores = new LongAdder();
+    }
+
+    /**
+     * Resultado de una operación durante la ventana de medición; latencias en nanosegundos
+     */
+    public record ResultadoOperacion(String nombre, Histogram latencias, long exitos, long rechazos,
+            long errores, double segundos) {
+
+        public long peticiones() {
+            return exitos + rechazos + errores;
+        }
+
+        public double porSegundo() {
+            return peticiones() / segundos;
+        }
+
+        public double percentilMs(double percentil) {
+            return latencias.getValueAtPercentile(percentil) / 1e6;
+        }
+
+        public double maximoMs() {
+            return latencias.getMaxValue() / 1e6;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.SiembraAlumnos;
+
+/**
+ * Mezcla ponderada de lecturas y escrituras contra /alumnos y /grupos. Las lecturas usan el
+ * prefijo /async cuando la corrida lo pide; las escrituras siempre van a los endpoints síncronos.
+ * Los ids se eligen al azar entre los sembrados, así que la mezcla no depende de respuestas previas.
+ */
+public class MezclaOperaciones {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] TERMINOS = {"mar", "jos", "lóp", "gonz", "núñ", "luc"};
+
+    /**
+     * Operación de la mezcla; el peso es relativo a las demás operaciones de su mismo tipo
+     */
+    public record Operacion(String nombre, int peso, boolean escritura, Supplier<HttpRequest> peticion) {
+    }
+
+    private final String base;
+    private final String lecturas;
+    private final int alumnos;
+    private final int grupos;
+    private final double proporcionEscrituras;
+    private final AtomicLong siguienteAlumno;
+    private final List<Operacion> operacionesLectura;
+    private final List<Operacion> operacionesEscritura;
+    private final int pesoLecturas;
+    private final int pesoEscrituras;
+
+    public MezclaOperaciones(String base, ConfiguracionCarga configuracion) {
+        this.base = base;
+        this.lecturas = configuracion.async() ? base + "/async" : base;
+        this.alumnos = configuracion.alumnos();
+        this.grupos = SiembraAlumnos.grupos(configuracion.alumnos());
+        this.proporcionEscrituras = configuracion.escrituras();
+        this.siguienteAlumno = new AtomicLong(configuracion.alumnos());
+
+        this.operacionesLectura = List.of(
+                new Operacion("alumno", 25, false, () -> get(lecturas + "/alumnos/" + alumno())),
+                new Operacion("alumno-detalles", 15, false, () -> get(lecturas + "/alumnos/" + alumno() + "/detalles")),
+                new Operacion("alumno-matricula", 10, false,
+                        () -> get(lecturas + "/alumnos/matricula/" + SiembraAlumnos.matricula(alumno()))),
+                new Operacion("alumnos-cursor", 10, false,
+                        () -> get(lecturas + "/alumnos/cursor?despuesDe=" + alumno() + "&tamanio=50")),
+                new Operacion("alumnos-buscar", 10, false, () -> get(lecturas + "/alumnos/buscar?termino="
+                        + URLEncoder.encode(termino(), StandardCharsets.UTF_8) + "&limite=20")),
+                new Operacion("grupo-detalles", 10, false, () -> get(lecturas + "/grupos/" + grupo() + "/detalles")),
+                new Operacion("grupo-alumnos", 8, false, () -> get(lecturas + "/grupos/" + grupo() + "/alumnos")),
+                new Operacion("grupo-roster", 7, false, () -> get(lecturas + "/grupos/" + grupo() + "/roster")),
+                new Operacion("grupos-activos", 5, false, () -> get(lecturas + "/grupos/activos")));
+
+        this.operacionesEscritura = List.of(
+                new Operacion("alumno-crear", 20, true, () -> post("/alumnos", nuevoAlumno())),
+                new Operacion("alumno-actualizar", 40, true, this::actualizarAlumno),
+                new Operacion("alumno-cambiar-grupo", 30, true,
+                        () -> patch("/alumnos/" + alumno() + "/cambiar-grupo", "{\"nuevoGrupoId\":" + grupo() + "}")),
+                new Operacion("alumno-toggle-activo", 10, true, () -> patch("/alumnos/" + alumno() + "/toggle-activo", "")));
+
+        this.pesoLecturas = operacionesLectura.stream().mapToInt(Operacion::peso).sum();
+        this.pesoEscrituras = operacionesEscritura.stream().mapToInt(Operacion::peso).sum();
+    }
+
+    public List<Operacion> operaciones() {
+        return Stream.concat(operacionesLectura.stream(), operacionesEscritura.stream()).toList();
+    }
+
+    public Operacion siguiente() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        return aleatorio.nextDouble() < proporcionEscrituras
+                ? elegir(operacionesEscritura, pesoEscrituras, aleatorio)
+                : elegir(operacionesLectura, pesoLecturas, aleatorio);
+    }
+
+    private static Operacion elegir(List<Operacion> operaciones, int pesoTotal, ThreadLocalRandom aleatorio) {
+        int punto = aleatorio.nextInt(pesoTotal);
+        for (Operacion operacion : operaciones) {
+            punto -= operacion.peso();
+            if (punto < 0) {
+                return operacion;
+            }
+        }
+        return operaciones.get(operaciones.size() - 1);
+    }
+
+    private long alumno() {
+        return ThreadLocalRandom.current().nextLong(1, alumnos + 1);
+    }
+
+    private long grupo() {
+        return ThreadLocalRandom.current().nextLong(1, grupos + 1);
+    }
+
+    private static String termino() {
+        return TERMINOS[ThreadLocalRandom.current().nextInt(TERMINOS.length)];
+    }
+
+    private String nuevoAlumno() {
+        long i = siguienteAlumno.incrementAndGet();
+        return alumnoJson(i, grupo(), "4420000000");
+    }
+
+    // Reescribe el alumno con sus mismos datos sembrados y otro teléfono, sin romper unicidad
+    private HttpRequest actualizarAlumno() {
+        long i = alumno();
+        String telefono = "442" + String.format("%07d", ThreadLocalRandom.current().nextInt(10_000_000));
+        return put("/alumnos/" + i, alumnoJson(i, i % grupos + 1, telefono));
+    }
+
+    private static String alumnoJson(long i, long grupoId, String telefono) {
+        return "{\"nombre\":\"" + SiembraAlumnos.NOMBRES[(int) (i % SiembraAlumnos.NOMBRES.length)] + "\","
+                + "\"apellido\":\"" + SiembraAlumnos.APELLIDOS[(int) (i % SiembraAlumnos.APELLIDOS.length)] + "\","
+                + "\"matricula\":\"" + SiembraAlumnos.matricula(i) + "\","
+                + "\"correo\":\"" + SiembraAlumnos.correo(i) + "\","
+                + "\"telefono\":\"" + telefono + "\","
+                + "\"programaEducativoId\":" + SiembraAlumnos.programa(i) + ","
+                + "\"grupoId\":" + grupoId + ",\"activo\":true}";
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String ruta, String cuerpo) {
+        return conCuerpo(ruta).POST(HttpRequest.BodyPublishers.ofString(cuerpo)).build();
+    }
+
+    private HttpRequest put(String ruta, String cuerpo) {
+        return conCuerpo(ruta).PUT(HttpRequest.BodyPublishers.ofString(cuerpo)).build();
+    }
+
+    private HttpRequest patch(String ruta, String cuerpo) {
+        return conCuerpo(ruta).method("PATCH", HttpRequest.BodyPublishers.ofString(cuerpo)).build();
+    }
+
+    private HttpRequest.Builder conCuerpo(String ruta) {
+        return HttpRequest.newBuilder(URI.create(base + ruta))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json");
+    }
+}
@@ -0,0 +1,65 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.loadtest;
+
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.MicroservicioAlumnoApplication;
+import mx.edu.uteq.idgs12.microservicio_alumno.SiembraAlumnos;
+import mx.edu.uteq.idgs12.microservicio_alumno.loadtest.GeneradorCarga.ResultadoOperacion;
+
+/**
+ * Prueba de carga de extremo a extremo: levanta los servicios simulados y la aplicación completa
+ * (HTTP, Feign, H2 en memoria) en un puerto libre, siembra los datos, ejecuta la mezcla de
+ * operaciones y genera el reporte.
+ *
+ * <p>Uso: {@code ./mvnw -Ploadtest test-compile exec:exec -Dcarga.args="concurrencia=64 duracion=2m"}
+ */
+public final class PruebaCarga {
+
+    private PruebaCarga() {
+    }
+
+    public static void main(String[] argumentos) throws Exception {
+        ConfiguracionCarga configuracion = ConfiguracionCarga.desdeArgumentos(argumentos);
+        DependenciasSimuladas dependencias = new DependenciasSimuladas(configuracion);
+        dependencias.iniciar();
+
+        // devtools reiniciaría main en otro hilo con los argumentos de Spring
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext contexto = null;
+        try {
+            contexto = new SpringApplicationBuilder(MicroservicioAlumnoApplication.class)
+                    .run("--server.port=0",
+                            "--eureka.client.enabled=false",
+                            "--spring.cloud.discovery.client.simple.instances.microservicio-division[0].uri="
+                                    + dependencias.url(),
+                            "--spring.cloud.discovery.client.simple.instances.microservicio-profesor[0].uri="
+                                    + dependencias.url(),
+                            "--spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                            "--spring.jpa.show-sql=false",
+                            "--spring.sql.init.mode=never",
+                            // Fuera del jar de Spring Boot Hibernate no resuelve el prefijo classpath:
+                            "--spring.jpa.properties.hibernate.javax.cache.uri=hibernate-cache.conf",
+                            "--logging.level.root=WARN");
+            int puerto = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+
+            System.out.println("Sembrando " + configuracion.alumnos() + " alumnos...");
+            SiembraAlumnos.sembrar(contexto, configuracion.alumnos());
+
+            System.out.println("Calentamiento " + configuracion.calentamiento().toSeconds() + "s, medición "
+                    + configuracion.duracion().toSeconds() + "s contra el puerto " + puerto);
+            MezclaOperaciones mezcla = new MezclaOperaciones("http://localhost:" + puerto, configuracion);
+            List<ResultadoOperacion> resultados = new GeneradorCarga(configuracion, mezcla).ejecutar();
+
+            ReporteCarga.generar(configuracion, resultados);
+        } finally {
+            if (contexto != null) {
+                contexto.close();
+            }
+            dependencias.detener();
+        }
+    }
+}
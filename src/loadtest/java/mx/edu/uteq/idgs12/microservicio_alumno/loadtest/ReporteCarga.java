@@ -0,0 +1,120 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.loadtest.GeneradorCarga.ResultadoOperacion;
+
+/**
+ * Imprime la tabla de throughput y percentiles, y la guarda en {@code salida/<fecha>/} como
+ * resultados.csv (comparable entre versiones con {@code base=}) más un .hgrm por operación
+ * con la distribución completa.
+ */
+public final class ReporteCarga {
+
+    static final String TOTAL = "total";
+    private static final String ENCABEZADO =
+            "operacion,peticiones,exitos,rechazos,errores,req_s,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+    private static final DateTimeFormatter CARPETA = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private ReporteCarga() {
+    }
+
+    static Path generar(ConfiguracionCarga configuracion, List<ResultadoOperacion> resultados) throws IOException {
+        List<ResultadoOperacion> filas = new ArrayList<>(resultados);
+        filas.add(total(resultados));
+
+        Path carpeta = configuracion.salida().resolve(LocalDateTime.now().format(CARPETA));
+        Files.createDirectories(carpeta);
+        Path csv = carpeta.resolve("resultados.csv");
+
+        List<String> lineas = new ArrayList<>();
+        lineas.add("# " + configuracion.descripcion());
+        lineas.add("# java=" + Runtime.version() + " procesadores=" + Runtime.getRuntime().availableProcessors());
+        lineas.add(ENCABEZADO);
+        for (ResultadoOperacion fila : filas) {
+            lineas.add(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f",
+                    fila.nombre(), fila.peticiones(), fila.exitos(), fila.rechazos(), fila.errores(),
+                    fila.porSegundo(), fila.percentilMs(50), fila.percentilMs(90), fila.percentilMs(99),
+                    fila.percentilMs(99.9), fila.maximoMs()));
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(carpeta.resolve(fila.nombre() + ".hgrm")),
+                    false, StandardCharsets.UTF_8)) {
+                fila.latencias().outputPercentileDistribution(hgrm, 1e6);
+            }
+        }
+        Files.write(csv, lineas, StandardCharsets.UTF_8);
+
+        imprimir(configuracion, filas, leerBase(configuracion.base()));
+        System.out.println("Resultados: " + csv.toAbsolutePath());
+        return csv;
+    }
+
+    private static ResultadoOperacion total(List<ResultadoOperacion> resultados) {
+        Histogram latencias = new Histogram(3);
+        long exitos = 0;
+        long rechazos = 0;
+        long errores = 0;
+        double segundos = 1;
+        for (ResultadoOperacion resultado : resultados) {
+            latencias.add(resultado.latencias());
+            exitos += resultado.exitos();
+            rechazos += resultado.rechazos();
+            errores += resultado.errores();
+            segundos = resultado.segundos();
+        }
+        return new ResultadoOperacion(TOTAL, latencias, exitos, rechazos, errores, segundos);
+    }
+
+    private static void imprimir(ConfiguracionCarga configuracion, List<ResultadoOperacion> filas,
+            Map<String, double[]> base) {
+        System.out.println();
+        System.out.println(configuracion.descripcion());
+        System.out.printf(Locale.ROOT, "%-22s %9s %7s %7s %9s %8s %8s %8s %8s %8s%s%n",
+                "operacion", "peticiones", "4xx", "error", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms",
+                "max ms", base.isEmpty() ? "" : "   Δreq/s   Δp99");
+        for (ResultadoOperacion fila : filas) {
+            String comparacion = "";
+            double[] anterior = base.get(fila.nombre());
+            if (anterior != null) {
+                comparacion = String.format(Locale.ROOT, "  %+7.1f%% %+6.1f%%",
+                        variacion(anterior[0], fila.porSegundo()), variacion(anterior[1], fila.percentilMs(99)));
+            }
+            System.out.printf(Locale.ROOT, "%-22s %9d %7d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%s%n",
+                    fila.nombre(), fila.peticiones(), fila.rechazos(), fila.errores(), fila.porSegundo(),
+                    fila.percentilMs(50), fila.percentilMs(90), fila.percentilMs(99), fila.percentilMs(99.9),
+                    fila.maximoMs(), comparacion);
+        }
+    }
+
+    private static double variacion(double anterior, double actual) {
+        return anterior == 0 ? 0 : (actual - anterior) * 100 / anterior;
+    }
+
+    // operacion -> {req/s, p99 ms} de una corrida anterior
+    private static Map<String, double[]> leerBase(Path base) throws IOException {
+        Map<String, double[]> valores = new HashMap<>();
+        if (base == null) {
+            return valores;
+        }
+        for (String linea : Files.readAllLines(base, StandardCharsets.UTF_8)) {
+            if (linea.startsWith("#") || linea.equals(ENCABEZADO) || linea.isBlank()) {
+                continue;
+            }
+            String[] campos = linea.split(",");
+            valores.put(campos[0], new double[] {Double.parseDouble(campos[5]), Double.parseDouble(campos[8])});
+        }
+        return valores;
+    }
+}
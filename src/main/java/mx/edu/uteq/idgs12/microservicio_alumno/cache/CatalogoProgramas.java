@@ -0,0 +1,135 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.DivisionClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.ProgramaEducativoClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.CatalogoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.DivisionDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProgramaEducativoDto;
+
+/**
+ * Copia local de los programas educativos y las divisiones activas de microservicio-division.
+ * Se carga completa al arrancar y cada alumno.catalogo.refresco; cada carga exitosa reemplaza
+ * la anterior de forma atómica con una nueva versión, y si falla se conserva la vigente.
+ * Las validaciones y vistas leen el mapa local; solo un id ausente del catálogo (programa
+ * creado después de la última carga) o un catálogo aún sin cargar recurren a
+ * ProgramaEducativoCache.
+ */
+@Component
+@Slf4j
+public class CatalogoProgramas {
+
+    private static final Instantanea VACIA = new Instantanea(0, null, Map.of(), List.of());
+
+    private final ProgramaEducativoClient programaEducativoClient;
+    private final DivisionClient divisionClient;
+    private final ProgramaEducativoCache programaEducativoCache;
+    private final CatalogoProperties properties;
+    private final AtomicReference<Instantanea> actual = new AtomicReference<>(VACIA);
+    private final Counter refrescosExitosos;
+    private final Counter refrescosFallidos;
+
+    public CatalogoProgramas(ProgramaEducativoClient programaEducativoClient, DivisionClient divisionClient,
+            ProgramaEducativoCache programaEducativoCache, CatalogoProperties properties,
+            MeterRegistry meterRegistry) {
+        this.programaEducativoClient = programaEducativoClient;
+        this.divisionClient = divisionClient;
+        this.programaEducativoCache = programaEducativoCache;
+        this.properties = properties;
+        this.refrescosExitosos = Counter.builder("alumno.catalogo.refrescos")
+                .tag("resultado", "exito").register(meterRegistry);
+        this.refrescosFallidos = Counter.builder("alumno.catalogo.refrescos")
+                .tag("resultado", "error").register(meterRegistry);
+        Gauge.builder("alumno.catalogo.version", actual, referencia -> referencia.get().version())
+                .register(meterRegistry);
+        Gauge.builder("alumno.catalogo.programas", actual, referencia -> referencia.get().programas().size())
+                .register(meterRegistry);
+        Gauge.builder("alumno.catalogo.divisiones", actual, referencia -> referencia.get().divisiones().size())
+                .register(meterRegistry);
+        TimeGauge.builder("alumno.catalogo.antiguedad", actual, TimeUnit.SECONDS, CatalogoProgramas::antiguedad)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarAlArrancar() {
+        refrescar();
+    }
+
+    @Scheduled(fixedDelayString = "${alumno.catalogo.refresco:5m}",
+            initialDelayString = "${alumno.catalogo.refresco:5m}")
+    public void refrescar() {
+        if (!properties.isHabilitado()) {
+            return;
+        }
+        try {
+            Map<Long, ProgramaEducativoDto> programas = programaEducativoClient.obtenerTodosProgramas()
+                    .stream()
+                    .filter(programa -> programa.getId() != null)
+                    .collect(Collectors.toUnmodifiableMap(ProgramaEducativoDto::getId, Function.identity(),
+                            (primero, segundo) -> segundo));
+            List<DivisionDto> divisiones = List.copyOf(divisionClient.obtenerDivisionesActivas());
+            Instantanea nueva = actual.updateAndGet(anterior ->
+                    new Instantanea(anterior.version() + 1, Instant.now(), programas, divisiones));
+            refrescosExitosos.increment();
+            log.info("Catálogo de programas versión {} cargado: {} programas, {} divisiones",
+                    nueva.version(), programas.size(), divisiones.size());
+        } catch (RuntimeException e) {
+            refrescosFallidos.increment();
+            log.warn("No se pudo recargar el catálogo de programas, se conserva la versión {}: {}",
+                    actual.get().version(), e.getMessage());
+        }
+    }
+
+    /**
+     * Programa por id. Lanza ExternalServiceException solo si hubo que consultar al
+     * servicio remoto y éste falló sin valor conocido.
+     */
+    public Optional<ProgramaEducativoDto> obtenerPrograma(Long id) {
+        ProgramaEducativoDto programa = actual.get().programas().get(id);
+        if (programa != null) {
+            return Optional.of(programa);
+        }
+        return programaEducativoCache.obtener(id);
+    }
+
+    public CatalogoDto obtenerCatalogo() {
+        Instantanea instantanea = actual.get();
+        CatalogoDto dto = new CatalogoDto();
+        dto.setVersion(instantanea.version());
+        dto.setActualizadoEn(instantanea.actualizadoEn());
+        dto.setProgramas(instantanea.programas().values().stream()
+                .sorted(Comparator.comparing(ProgramaEducativoDto::getId))
+                .toList());
+        dto.setDivisiones(instantanea.divisiones());
+        return dto;
+    }
+
+    private static double antiguedad(AtomicReference<Instantanea> referencia) {
+        Instant actualizadoEn = referencia.get().actualizadoEn();
+        return actualizadoEn != null ? Duration.between(actualizadoEn, Instant.now()).toSeconds() : Double.NaN;
+    }
+
+    private record Instantanea(long version, Instant actualizadoEn,
+            Map<Long, ProgramaEducativoDto> programas, List<DivisionDto> divisiones) {
+    }
+}
@@ -0,0 +1,13 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "alumno.catalogo")
+public class CatalogoProperties {
+
+    // Usar el catálogo local de programas en lugar de la consulta por id
+    private boolean habilitado = true;
+}
@@ -0,0 +1,28 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "alumno.cache")
+public class ClienteCacheProperties {
+
+    private Configuracion programas = new Configuracion();
+    private Configuracion profesores = new Configuracion();
+
+    @Data
+    public static class Configuracion {
+        // Tiempo de vida de una respuesta encontrada
+        private Duration ttl = Duration.ofHours(1);
+        // Tras este tiempo la entrada se recarga en segundo plano al ser leída
+        private Duration refresco = Duration.ofMinutes(10);
+        // Tiempo de vida de un 404 del servicio remoto
+        private Duration ttlNegativo = Duration.ofMinutes(1);
+        // Vida del último valor conocido, usado si el servicio remoto falla
+        private Duration ttlObsoleto = Duration.ofHours(24);
+        private long tamanioMaximo = 1000;
+    }
+}
@@ -0,0 +1,130 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import mx.edu.uteq.idgs12.microservicio_alumno.exception.ExternalServiceException;
+
+/**
+ * Cache local por id delante de un Feign Client.
+ * Los 404 se guardan como Optional vacío con su propio TTL y el resto de errores
+ * remotos no se guardan. Ante una falla remota (incluido el circuito abierto o el bulkhead
+ * lleno) se responde con el último valor conocido del id si existe; si no, se propaga
+ * ExternalServiceException.
+ * Las cargas corren en el ejecutor de la dependencia y no dentro de un bloqueo de la
+ * cache, para no fijar el hilo portador cuando las peticiones usan hilos virtuales. Si ese
+ * ejecutor está lleno la carga corre en el hilo que consulta la cache.
+ */
+@Slf4j
+public abstract class ConsultaRemotaCache<T> {
+
+    private final String servicio;
+    private final String recurso;
+    private final Function<Long, T> consulta;
+    private final AsyncLoadingCache<Long, Optional<T>> cache;
+    // Copia de respaldo de cada carga exitosa, con vida más larga que la cache principal
+    private final Cache<Long, T> ultimosConocidos;
+
+    protected ConsultaRemotaCache(String nombre, String servicio, String recurso,
+            Function<Long, T> consulta, ClienteCacheProperties.Configuracion configuracion,
+            Executor executor, MeterRegistry meterRegistry) {
+        this.servicio = servicio;
+        this.recurso = recurso;
+        this.consulta = consulta;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(configuracion.getTamanioMaximo())
+                .expireAfter(new ExpiracionPorResultado<T>(configuracion.getTtl(), configuracion.getTtlNegativo()))
+                .refreshAfterWrite(configuracion.getRefresco())
+                .executor(tarea -> {
+                    try {
+                        executor.execute(tarea);
+                    } catch (RejectedExecutionException e) {
+                        tarea.run();
+                    }
+                })
+                .recordStats()
+                .buildAsync(this::cargar);
+        this.ultimosConocidos = Caffeine.newBuilder()
+                .maximumSize(configuracion.getTamanioMaximo())
+                .expireAfterWrite(configuracion.getTtlObsoleto())
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, nombre);
+    }
+
+    public Optional<T> obtener(Long id) {
+        try {
+            return cache.get(id).join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof FeignException || causa instanceof CallNotPermittedException
+                    || causa instanceof BulkheadFullException) {
+                T obsoleto = ultimosConocidos.getIfPresent(id);
+                if (obsoleto != null) {
+                    log.debug("Se usa el último valor conocido de {} {}: {}", recurso, id, causa.getMessage());
+                    return Optional.of(obsoleto);
+                }
+                throw new ExternalServiceException(servicio,
+                        "No se pudo obtener " + recurso + " con id " + id, causa);
+            }
+            throw e;
+        }
+    }
+
+    public void invalidar(Long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    private Optional<T> cargar(Long id) {
+        try {
+            T valor = consulta.apply(id);
+            if (valor != null) {
+                ultimosConocidos.put(id, valor);
+            }
+            return Optional.ofNullable(valor);
+        } catch (FeignException.NotFound e) {
+            ultimosConocidos.invalidate(id);
+            return Optional.empty();
+        }
+    }
+
+    private static class ExpiracionPorResultado<T> implements Expiry<Long, Optional<T>> {
+
+        private final long ttlNanos;
+        private final long ttlNegativoNanos;
+
+        ExpiracionPorResultado(Duration ttl, Duration ttlNegativo) {
+            this.ttlNanos = ttl.toNanos();
+            this.ttlNegativoNanos = ttlNegativo.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Long id, Optional<T> valor, long tiempoActual) {
+            return valor.isPresent() ? ttlNanos : ttlNegativoNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long id, Optional<T> valor, long tiempoActual, long duracionActual) {
+            return expireAfterCreate(id, valor, tiempoActual);
+        }
+
+        @Override
+        public long expireAfterRead(Long id, Optional<T> valor, long tiempoActual, long duracionActual) {
+            return duracionActual;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.cache;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.ProfesorClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.config.ConsultasRemotasConfig;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProfesorDto;
+
+@Component
+public class ProfesorCache extends ConsultaRemotaCache<ProfesorDto> {
+
+    public ProfesorCache(ProfesorClient profesorClient,
+            ClienteCacheProperties properties,
+            @Qualifier(ConsultasRemotasConfig.EJECUTOR_PROFESOR) Executor executor, MeterRegistry meterRegistry) {
+        super("profesores", "microservicio-profesor", "el profesor",
+                profesorClient::obtenerProfesorPorId, properties.getProfesores(), executor, meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.cache;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.ProgramaEducativoClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.config.ConsultasRemotasConfig;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProgramaEducativoDto;
+
+@Component
+public class ProgramaEducativoCache extends ConsultaRemotaCache<ProgramaEducativoDto> {
+
+    public ProgramaEducativoCache(ProgramaEducativoClient programaEducativoClient,
+            ClienteCacheProperties properties,
+            @Qualifier(ConsultasRemotasConfig.EJECUTOR_DIVISION) Executor executor, MeterRegistry meterRegistry) {
+        super("programas-educativos", "microservicio-division", "el programa educativo",
+                programaEducativoClient::obtenerProgramaPorId, properties.getProgramas(), executor, meterRegistry);
+    }
+}
@@ -8,7 +8,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 
 import mx.edu.uteq.idgs12.microservicio_alumno.dto.DivisionDto;
 
-@FeignClient(name = "microservicio-division", path = "/divisiones")
+@FeignClient(name = "microservicio-division", contextId = "divisionClient", path = "/divisiones")
 public interface DivisionClient {
 
     @GetMapping("/{id}")
@@ -8,7 +8,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 
 import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProgramaEducativoDto;
 
-@FeignClient(name = "microservicio-division", path = "/programas-educativos")
+@FeignClient(name = "microservicio-division", contextId = "programaEducativoClient", path = "/programas-educativos")
 public interface ProgramaEducativoClient {
 
     @GetMapping("/{id}")
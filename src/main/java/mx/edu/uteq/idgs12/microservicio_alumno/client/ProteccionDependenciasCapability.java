@@ -0,0 +1,69 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.client;
+
+import org.springframework.stereotype.Component;
+
+import feign.Capability;
+import feign.Client;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Envuelve la ejecución HTTP de todos los Feign Clients con un bulkhead de semáforo y un
+ * circuit breaker por dependencia (nombre del @FeignClient: microservicio-division,
+ * microservicio-profesor). Con el circuito abierto o sin cupo en el bulkhead la llamada
+ * falla de inmediato con CallNotPermittedException o BulkheadFullException en lugar de
+ * ocupar el hilo hasta el readTimeout. Las respuestas 5xx cuentan como falla; los 4xx no.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProteccionDependenciasCapability implements Capability {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            String dependencia = request.requestTemplate().feignTarget().name();
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(dependencia);
+            Bulkhead bulkhead = bulkheadRegistry.bulkhead(dependencia);
+
+            circuitBreaker.acquirePermission();
+            if (!bulkhead.tryAcquirePermission()) {
+                circuitBreaker.releasePermission();
+                throw BulkheadFullException.createBulkheadFullException(bulkhead);
+            }
+            long inicio = circuitBreaker.getCurrentTimestamp();
+            try {
+                Response response = client.execute(request, options);
+                long duracion = circuitBreaker.getCurrentTimestamp() - inicio;
+                if (response.status() >= 500) {
+                    circuitBreaker.onError(duracion, circuitBreaker.getTimestampUnit(),
+                            new RespuestaServidorException(dependencia, response.status()));
+                } else {
+                    circuitBreaker.onSuccess(duracion, circuitBreaker.getTimestampUnit());
+                }
+                return response;
+            } catch (Exception e) {
+                circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - inicio,
+                        circuitBreaker.getTimestampUnit(), e);
+                throw e;
+            } finally {
+                bulkhead.onComplete();
+            }
+        };
+    }
+
+    // Solo se registra en el circuit breaker; la respuesta 5xx sigue su curso normal en Feign
+    static class RespuestaServidorException extends RuntimeException {
+
+        RespuestaServidorException(String dependencia, int status) {
+            super(dependencia + " respondió " + status, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.AlumnoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.AlumnoRepository;
+
+/**
+ * Las bases creadas cuando los ids eran IDENTITY (o sembradas con ids explícitos) tienen
+ * registros por encima del valor actual de la secuencia. Al arrancar se reinicia la secuencia
+ * después del id máximo; se suma un bloque completo porque el optimizador pooled entrega
+ * los ids por debajo del valor que lee.
+ */
+@Component
+@DependsOnDatabaseInitialization
+@RequiredArgsConstructor
+@Slf4j
+public class AlineacionSecuenciaAlumnos implements InitializingBean {
+
+    private final AlumnoRepository alumnoRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        long siguiente = alumnoRepository.obtenerIdMaximo() + AlumnoEntity.IDS_POR_ASIGNACION;
+        jdbcTemplate.execute("ALTER SEQUENCE " + AlumnoEntity.SECUENCIA + " RESTART WITH " + siguiente);
+        log.debug("Secuencia {} reiniciada en {}", AlumnoEntity.SECUENCIA, siguiente);
+    }
+}
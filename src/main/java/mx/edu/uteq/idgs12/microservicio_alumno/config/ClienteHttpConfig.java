@@ -0,0 +1,58 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.config;
+
+import java.util.Iterator;
+
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.HeaderElement;
+import org.apache.hc.core5.http.HeaderElements;
+import org.apache.hc.core5.http.message.MessageSupport;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Ajustes del cliente Apache HttpClient 5 que Spring Cloud OpenFeign comparte entre todos los
+ * Feign Clients. El tamaño del pool y la política de reuso se configuran en
+ * spring.cloud.openfeign.httpclient.*; aquí se fija el keep-alive cuando el servidor no lo
+ * anuncia, se cierran las conexiones inactivas y se publican las métricas del pool.
+ */
+@Configuration
+public class ClienteHttpConfig {
+
+    @Bean
+    HttpClientBuilderCustomizer keepAliveClienteHttp(ClienteHttpProperties properties) {
+        TimeValue keepAlive = TimeValue.of(properties.getKeepAlive());
+        return builder -> builder
+                .setKeepAliveStrategy((response, context) -> {
+                    Iterator<HeaderElement> elementos = MessageSupport.iterate(response, HeaderElements.KEEP_ALIVE);
+                    while (elementos.hasNext()) {
+                        HeaderElement elemento = elementos.next();
+                        if ("timeout".equalsIgnoreCase(elemento.getName()) && elemento.getValue() != null) {
+                            try {
+                                return TimeValue.ofSeconds(Long.parseLong(elemento.getValue()));
+                            } catch (NumberFormatException ignorado) {
+                                // Valor inválido: se usa el keep-alive configurado
+                            }
+                        }
+                    }
+                    return keepAlive;
+                })
+                .evictIdleConnections(TimeValue.of(properties.getCerrarInactivas()));
+    }
+
+    // httpcomponents.httpclient.pool.* con la etiqueta httpclient=feign; solo existe con hc5 activo
+    @Bean
+    MeterBinder metricasPoolClienteHttp(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> connectionManager.ifAvailable(manager -> {
+            if (manager instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "alumno.cliente-http")
+public class ClienteHttpProperties {
+
+    // Tiempo que se conserva una conexión reutilizable si el servidor no envía Keep-Alive
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    // Las conexiones sin uso por más de este tiempo se cierran en segundo plano
+    private Duration cerrarInactivas = Duration.ofSeconds(60);
+}
@@ -0,0 +1,102 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import mx.edu.uteq.idgs12.microservicio_alumno.evento.EventosProperties;
+
+/**
+ * Ejecutores separados por dependencia (microservicio-division, microservicio-profesor) y
+ * para las lecturas de la base de los endpoints asíncronos. Con hilos de plataforma cada uno
+ * es un pool acotado que rechaza al llenarse, en lugar de ejecutar en el hilo que envía la
+ * tarea; con spring.threads.virtual.enabled=true cada tarea usa un hilo virtual y el límite lo
+ * ponen el bulkhead de la dependencia o el pool de conexiones. Las reasignaciones masivas de
+ * grupo tienen su propio ejecutor de un hilo. En el de envíos a suscriptores SSE cada suscriptor
+ * ocupa a lo más un hilo, así que se acota con alumno.eventos.suscriptores-maximos, el mismo
+ * límite con el que /eventos/stream rechaza conexiones nuevas. Las métricas se publican como
+ * executor.* con la etiqueta name.
+ */
+@Configuration
+public class ConsultasRemotasConfig {
+
+    public static final String EJECUTOR_DIVISION = "ejecutorMicroservicioDivision";
+    public static final String EJECUTOR_PROFESOR = "ejecutorMicroservicioProfesor";
+    public static final String EJECUTOR_BASE_DATOS = "ejecutorLecturasBaseDatos";
+    public static final String EJECUTOR_REASIGNACIONES = "ejecutorReasignaciones";
+    public static final String EJECUTOR_ENVIOS_SSE = "ejecutorEnviosSse";
+
+    @Bean(name = EJECUTOR_DIVISION, destroyMethod = "close")
+    public ExecutorService ejecutorMicroservicioDivision(ConsultasRemotasProperties properties,
+            Environment environment, MeterRegistry meterRegistry) {
+        ConsultasRemotasProperties.Ejecutor ejecutor = properties.getDivision();
+        return crear("microservicio-division", ejecutor.getHilosMaximos(), ejecutor.getCola(),
+                environment, meterRegistry);
+    }
+
+    @Bean(name = EJECUTOR_PROFESOR, destroyMethod = "close")
+    public ExecutorService ejecutorMicroservicioProfesor(ConsultasRemotasProperties properties,
+            Environment environment, MeterRegistry meterRegistry) {
+        ConsultasRemotasProperties.Ejecutor ejecutor = properties.getProfesor();
+        return crear("microservicio-profesor", ejecutor.getHilosMaximos(), ejecutor.getCola(),
+                environment, meterRegistry);
+    }
+
+    @Bean(name = EJECUTOR_BASE_DATOS, destroyMethod = "close")
+    public ExecutorService ejecutorLecturasBaseDatos(LecturasAsincronasProperties properties,
+            Environment environment, MeterRegistry meterRegistry) {
+        return crear("lecturas-base-datos", properties.getHilosMaximos(), properties.getCola(),
+                environment, meterRegistry);
+    }
+
+    // Un solo hilo de plataforma aun con hilos virtuales: las reasignaciones se ejecutan de una en una
+    @Bean(name = EJECUTOR_REASIGNACIONES, destroyMethod = "close")
+    public ExecutorService ejecutorReasignaciones(ReasignacionProperties properties, MeterRegistry meterRegistry) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getPendientes())),
+                new CustomizableThreadFactory("reasignaciones-"), new ThreadPoolExecutor.AbortPolicy());
+        return ExecutorServiceMetrics.monitor(meterRegistry, pool, "reasignaciones");
+    }
+
+    // Sin cola: con hilos de plataforma hay a lo más un hilo por suscriptor admitido
+    @Bean(name = EJECUTOR_ENVIOS_SSE, destroyMethod = "close")
+    public ExecutorService ejecutorEnviosSse(EventosProperties properties, Environment environment,
+            MeterRegistry meterRegistry) {
+        ExecutorService executor;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("envios-sse-", 0).factory());
+        } else {
+            executor = new ThreadPoolExecutor(0, Math.max(1, properties.getSuscriptoresMaximos()), 60,
+                    TimeUnit.SECONDS, new SynchronousQueue<>(), new CustomizableThreadFactory("envios-sse-"),
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "envios-sse");
+    }
+
+    private static ExecutorService crear(String nombre, int hilosMaximos, int cola,
+            Environment environment, MeterRegistry meterRegistry) {
+        ExecutorService executor;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(nombre + "-", 0).factory());
+        } else {
+            BlockingQueue<Runnable> espera = cola > 0 ? new ArrayBlockingQueue<>(cola) : new SynchronousQueue<>();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(hilosMaximos, hilosMaximos, 60, TimeUnit.SECONDS,
+                    espera, new CustomizableThreadFactory(nombre + "-"), new ThreadPoolExecutor.AbortPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, nombre);
+    }
+}
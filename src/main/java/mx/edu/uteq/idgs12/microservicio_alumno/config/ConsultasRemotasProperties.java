@@ -0,0 +1,30 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "alumno.consultas-remotas")
+public class ConsultasRemotasProperties {
+
+    // Plazo común para todas las consultas remotas lanzadas en paralelo por una petición; un número
+    // sin unidad son milisegundos, como lo lee el read-timeout de Feign que lo reutiliza
+    private Duration timeout = Duration.ofSeconds(3);
+
+    // Un ejecutor por dependencia: si una se vuelve lenta solo agota su propio pool
+    private Ejecutor division = new Ejecutor();
+    private Ejecutor profesor = new Ejecutor();
+
+    @Data
+    public static class Ejecutor {
+
+        // Solo aplica con hilos de plataforma; con hilos virtuales limita el bulkhead de la dependencia
+        private int hilosMaximos = 16;
+
+        // Consultas en espera con todos los hilos ocupados; al llenarse se usa el valor de respaldo
+        private int cola = 64;
+    }
+}
@@ -0,0 +1,13 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "alumno.grupos")
+public class GrupoProperties {
+
+    // Leer el total de alumnos activos del contador de grupos en lugar de contarlos
+    private boolean usarContadorAlumnos = true;
+}
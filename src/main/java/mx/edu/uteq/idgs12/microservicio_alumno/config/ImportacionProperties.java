@@ -0,0 +1,16 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "alumno.importacion")
+public class ImportacionProperties {
+
+    // Filas validadas e insertadas por transacción
+    private int tamanioLote = 1000;
+
+    // Filas aceptadas por petición; el resto del archivo no se procesa
+    private int filasMaximas = 50000;
+}
@@ -0,0 +1,13 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "alumno.indice-membresia")
+public class IndiceMembresiaProperties {
+
+    // Resolver en memoria qué alumnos tiene cada grupo y programa, y qué grupos cada profesor
+    private boolean habilitado = true;
+}
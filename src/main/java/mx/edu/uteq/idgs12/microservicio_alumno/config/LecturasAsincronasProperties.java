@@ -0,0 +1,16 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "alumno.lecturas-asincronas")
+public class LecturasAsincronasProperties {
+
+    // Hilos que leen de la base para los endpoints /async; más que el pool de conexiones no sirve
+    private int hilosMaximos = 10;
+
+    // Lecturas en espera; al llenarse los endpoints /async responden 503 de inmediato
+    private int cola = 1000;
+}
@@ -0,0 +1,48 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import feign.micrometer.MicrometerObservationCapability;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import mx.edu.uteq.idgs12.microservicio_alumno.metrics.ContadorConsultasHibernate;
+import mx.edu.uteq.idgs12.microservicio_alumno.metrics.FeignMetodoObservationConvention;
+import mx.edu.uteq.idgs12.microservicio_alumno.metrics.MetricasPeticionInterceptor;
+
+/**
+ * Instrumentación de los caminos calientes. Los tiempos por endpoint (http.server.requests)
+ * y por método de repositorio (spring.data.repository.invocations) los publica Spring Boot;
+ * aquí se agregan el conteo de consultas/entidades por petición y el método del Feign Client.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class MetricasConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new MetricasPeticionInterceptor(meterRegistry));
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer contadorConsultasHibernate() {
+        ContadorConsultasHibernate contador = new ContadorConsultasHibernate();
+        return propiedades -> {
+            propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, contador);
+            propiedades.put(AvailableSettings.INTERCEPTOR, contador);
+        };
+    }
+
+    // Reemplaza la capacidad por defecto de Spring Cloud OpenFeign para usar la convención con el método
+    @Bean
+    MicrometerObservationCapability micrometerObservationCapability(ObservationRegistry observationRegistry) {
+        return new MicrometerObservationCapability(observationRegistry, new FeignMetodoObservationConvention());
+    }
+}
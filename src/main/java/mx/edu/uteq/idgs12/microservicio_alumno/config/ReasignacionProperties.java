@@ -0,0 +1,21 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "alumno.reasignacion")
+public class ReasignacionProperties {
+
+    // Alumnos bloqueados y actualizados por transacción
+    private int tamanioLote = 1000;
+
+    // Reasignaciones en espera mientras otra se ejecuta; las siguientes se rechazan con 503
+    private int pendientes = 4;
+
+    // Tiempo que el estado de una reasignación sigue disponible para consulta
+    private Duration retencion = Duration.ofHours(1);
+}
@@ -0,0 +1,102 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.config;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Verifica al arrancar que existan los índices de los que dependen las consultas de los
+ * repositorios (ver db/migration/V2__indices_consultas.sql). Un índice cumple si sus primeras
+ * columnas son las esperadas, en orden. Si falta alguno la aplicación no arranca.
+ */
+@Component
+@DependsOnDatabaseInitialization
+@ConditionalOnProperty(name = "alumno.esquema.verificar-indices", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class VerificacionIndices implements InitializingBean {
+
+    private static final Map<String, List<List<String>>> INDICES_ESPERADOS = new LinkedHashMap<>();
+
+    static {
+        INDICES_ESPERADOS.put("alumnos", List.of(
+                List.of("matricula"),
+                List.of("grupo_id", "activo"),
+                List.of("programa_educativo_id"),
+                List.of("activo", "id"),
+                List.of("correo")));
+        INDICES_ESPERADOS.put("grupos", List.of(
+                List.of("programa_educativo_id", "activo"),
+                List.of("profesor_id"),
+                List.of("activo"),
+                List.of("nombre", "programa_educativo_id")));
+        INDICES_ESPERADOS.put("eventos_outbox", List.of(
+                List.of("publicado_en", "id")));
+    }
+
+    private final DataSource dataSource;
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        List<String> faltantes = new ArrayList<>();
+        try (Connection conexion = dataSource.getConnection()) {
+            DatabaseMetaData metaData = conexion.getMetaData();
+            for (Map.Entry<String, List<List<String>>> tabla : INDICES_ESPERADOS.entrySet()) {
+                List<List<String>> existentes = indicesDe(conexion, metaData, tabla.getKey());
+                for (List<String> columnas : tabla.getValue()) {
+                    boolean cubierto = existentes.stream()
+                            .anyMatch(indice -> indice.size() >= columnas.size()
+                                    && indice.subList(0, columnas.size()).equals(columnas));
+                    if (!cubierto) {
+                        faltantes.add(tabla.getKey() + "(" + String.join(", ", columnas) + ")");
+                    }
+                }
+            }
+        }
+
+        if (!faltantes.isEmpty()) {
+            throw new IllegalStateException("Faltan índices requeridos por los repositorios: "
+                    + String.join("; ", faltantes));
+        }
+        log.info("Índices de consultas verificados en {} tablas", INDICES_ESPERADOS.size());
+    }
+
+    // Columnas de cada índice de la tabla, en orden, en minúsculas
+    private static List<List<String>> indicesDe(Connection conexion, DatabaseMetaData metaData, String tabla)
+            throws SQLException {
+        String nombre = metaData.storesUpperCaseIdentifiers() ? tabla.toUpperCase(Locale.ROOT) : tabla;
+        Map<String, TreeMap<Short, String>> indices = new HashMap<>();
+        try (ResultSet filas = metaData.getIndexInfo(conexion.getCatalog(), conexion.getSchema(), nombre,
+                false, false)) {
+            while (filas.next()) {
+                String indice = filas.getString("INDEX_NAME");
+                String columna = filas.getString("COLUMN_NAME");
+                if (indice != null && columna != null) {
+                    indices.computeIfAbsent(indice, clave -> new TreeMap<>())
+                            .put(filas.getShort("ORDINAL_POSITION"), columna.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return indices.values().stream()
+                .map(columnas -> List.copyOf(columnas.values()))
+                .toList();
+    }
+}
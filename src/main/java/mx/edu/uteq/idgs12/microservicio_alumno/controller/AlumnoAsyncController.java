@@ -0,0 +1,109 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoViewDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ConsultaLoteDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.PaginaCursorDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.AlumnoService;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.LecturasAsincronas;
+
+/**
+ * Lecturas de /alumnos que liberan el hilo del servlet: la consulta corre en el ejecutor de
+ * la base de datos y la respuesta se escribe al completarse el futuro.
+ */
+@RestController
+@RequestMapping("/async/alumnos")
+@RequiredArgsConstructor
+public class AlumnoAsyncController {
+
+    private final AlumnoService alumnoService;
+    private final LecturasAsincronas lecturasAsincronas;
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<List<AlumnoDto>>> obtenerTodos() {
+        return lecturasAsincronas.leer(alumnoService::obtenerTodos).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/activos")
+    public CompletableFuture<ResponseEntity<List<AlumnoDto>>> obtenerActivos() {
+        return lecturasAsincronas.leer(alumnoService::obtenerActivos).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/cursor")
+    public CompletableFuture<ResponseEntity<PaginaCursorDto<AlumnoDto>>> obtenerPagina(
+            @RequestParam(required = false) Long despuesDe,
+            @RequestParam(defaultValue = "50") int tamanio) {
+        return lecturasAsincronas.leer(() -> alumnoService.obtenerPagina(despuesDe, tamanio, false))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/activos/cursor")
+    public CompletableFuture<ResponseEntity<PaginaCursorDto<AlumnoDto>>> obtenerPaginaActivos(
+            @RequestParam(required = false) Long despuesDe,
+            @RequestParam(defaultValue = "50") int tamanio) {
+        return lecturasAsincronas.leer(() -> alumnoService.obtenerPagina(despuesDe, tamanio, true))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<AlumnoDto>> obtenerPorId(@PathVariable Long id) {
+        return lecturasAsincronas.leer(() -> alumnoService.obtenerPorId(id)).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}/detalles")
+    public CompletableFuture<ResponseEntity<AlumnoViewDto>> obtenerAlumnoConDetalles(@PathVariable Long id) {
+        return lecturasAsincronas.leer(() -> alumnoService.obtenerAlumnoConDetalles(id))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/detalles")
+    public CompletableFuture<ResponseEntity<List<AlumnoViewDto>>> obtenerAlumnosConDetalles(
+            @Valid @RequestBody ConsultaLoteDto consulta) {
+        return lecturasAsincronas.leer(() -> alumnoService.obtenerAlumnosConDetalles(consulta.getIds()))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/matricula/{matricula}")
+    public CompletableFuture<ResponseEntity<AlumnoDto>> obtenerPorMatricula(@PathVariable String matricula) {
+        return lecturasAsincronas.leer(() -> alumnoService.obtenerPorMatricula(matricula))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/grupo/{grupoId}")
+    public CompletableFuture<ResponseEntity<List<AlumnoDto>>> obtenerPorGrupo(@PathVariable Long grupoId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return lecturasAsincronas.leerCondicional(ifNoneMatch,
+                () -> alumnoService.obtenerVersionPorGrupo(grupoId),
+                () -> alumnoService.obtenerPorGrupo(grupoId));
+    }
+
+    @GetMapping("/programa-educativo/{programaEducativoId}")
+    public CompletableFuture<ResponseEntity<List<AlumnoDto>>> obtenerPorProgramaEducativo(
+            @PathVariable Long programaEducativoId) {
+        return lecturasAsincronas.leer(() -> alumnoService.obtenerPorProgramaEducativo(programaEducativoId))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/buscar")
+    public CompletableFuture<ResponseEntity<List<AlumnoDto>>> buscarPorNombreOApellido(
+            @RequestParam String termino,
+            @RequestParam(defaultValue = "20") int limite) {
+        return lecturasAsincronas.leer(() -> alumnoService.buscarPorNombreOApellido(termino, limite))
+                .thenApply(ResponseEntity::ok);
+    }
+}
@@ -1,8 +1,14 @@
 package mx.edu.uteq.idgs12.microservicio_alumno.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,13 +20,25 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoUpdateDto;
 import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoViewDto;
 import mx.edu.uteq.idgs12.microservicio_alumno.dto.CambiarGrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ConsultaLoteDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ImportacionResultadoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.PaginaCursorDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ReasignacionEstadoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ReasignacionGrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.VersionColeccionDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.AlumnoImportacionService;
 import mx.edu.uteq.idgs12.microservicio_alumno.service.AlumnoService;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.FormatoExportacion;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.ReasignacionGrupoService;
 
 @RestController
 @RequestMapping("/alumnos")
@@ -28,6 +46,8 @@ import mx.edu.uteq.idgs12.microservicio_alumno.service.AlumnoService;
 public class AlumnoController {
 
     private final AlumnoService alumnoService;
+    private final AlumnoImportacionService alumnoImportacionService;
+    private final ReasignacionGrupoService reasignacionGrupoService;
 
     @GetMapping
     public ResponseEntity<List<AlumnoDto>> obtenerTodos() {
@@ -41,6 +61,50 @@ public class AlumnoController {
         return ResponseEntity.ok(alumnos);
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<PaginaCursorDto<AlumnoDto>> obtenerPagina(
+            @RequestParam(required = false) Long despuesDe,
+            @RequestParam(defaultValue = "50") int tamanio) {
+        PaginaCursorDto<AlumnoDto> pagina = alumnoService.obtenerPagina(despuesDe, tamanio, false);
+        return ResponseEntity.ok(pagina);
+    }
+
+    @GetMapping("/activos/cursor")
+    public ResponseEntity<PaginaCursorDto<AlumnoDto>> obtenerPaginaActivos(
+            @RequestParam(required = false) Long despuesDe,
+            @RequestParam(defaultValue = "50") int tamanio) {
+        PaginaCursorDto<AlumnoDto> pagina = alumnoService.obtenerPagina(despuesDe, tamanio, true);
+        return ResponseEntity.ok(pagina);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTodos() {
+        StreamingResponseBody cuerpo = salida -> alumnoService.escribirNdjson(false, salida);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(cuerpo);
+    }
+
+    @GetMapping(value = "/activos/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamActivos() {
+        StreamingResponseBody cuerpo = salida -> alumnoService.escribirNdjson(true, salida);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(cuerpo);
+    }
+
+    @GetMapping("/exportacion")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(required = false) Long programaEducativoId,
+            @RequestParam(required = false) Long grupoId,
+            @RequestParam(defaultValue = "csv") String formato) {
+        FormatoExportacion formatoExportacion = FormatoExportacion.de(formato);
+        String archivo = alumnoService.nombreExportacion(programaEducativoId, grupoId, formatoExportacion);
+        StreamingResponseBody cuerpo = salida ->
+                alumnoService.exportar(programaEducativoId, grupoId, formatoExportacion, salida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoExportacion.getTipoContenido()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(archivo).build().toString())
+                .body(cuerpo);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AlumnoDto> obtenerPorId(@PathVariable Long id) {
         AlumnoDto alumno = alumnoService.obtenerPorId(id);
@@ -53,6 +117,13 @@ public class AlumnoController {
         return ResponseEntity.ok(alumno);
     }
 
+    @PostMapping("/detalles")
+    public ResponseEntity<List<AlumnoViewDto>> obtenerAlumnosConDetalles(
+            @Valid @RequestBody ConsultaLoteDto consulta) {
+        List<AlumnoViewDto> alumnos = alumnoService.obtenerAlumnosConDetalles(consulta.getIds());
+        return ResponseEntity.ok(alumnos);
+    }
+
     @GetMapping("/matricula/{matricula}")
     public ResponseEntity<AlumnoDto> obtenerPorMatricula(@PathVariable String matricula) {
         AlumnoDto alumno = alumnoService.obtenerPorMatricula(matricula);
@@ -60,7 +131,12 @@ public class AlumnoController {
     }
 
     @GetMapping("/grupo/{grupoId}")
-    public ResponseEntity<List<AlumnoDto>> obtenerPorGrupo(@PathVariable Long grupoId) {
+    public ResponseEntity<List<AlumnoDto>> obtenerPorGrupo(@PathVariable Long grupoId, WebRequest request) {
+        // Con If-None-Match / If-Modified-Since vigentes se responde 304 sin leer ni serializar filas
+        VersionColeccionDto version = alumnoService.obtenerVersionPorGrupo(grupoId);
+        if (request.checkNotModified(version.getEtag(), version.getUltimaModificacionMillis())) {
+            return null;
+        }
         List<AlumnoDto> alumnos = alumnoService.obtenerPorGrupo(grupoId);
         return ResponseEntity.ok(alumnos);
     }
@@ -74,8 +150,9 @@ public class AlumnoController {
 
     @GetMapping("/buscar")
     public ResponseEntity<List<AlumnoDto>> buscarPorNombreOApellido(
-            @RequestParam String termino) {
-        List<AlumnoDto> alumnos = alumnoService.buscarPorNombreOApellido(termino);
+            @RequestParam String termino,
+            @RequestParam(defaultValue = "20") int limite) {
+        List<AlumnoDto> alumnos = alumnoService.buscarPorNombreOApellido(termino, limite);
         return ResponseEntity.ok(alumnos);
     }
 
@@ -85,6 +162,18 @@ public class AlumnoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(nuevoAlumno);
     }
 
+    @PostMapping(value = "/importacion", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportacionResultadoDto> importarJson(InputStream cuerpo) throws IOException {
+        ImportacionResultadoDto resultado = alumnoImportacionService.importarJson(cuerpo);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PostMapping(value = "/importacion", consumes = "text/csv")
+    public ResponseEntity<ImportacionResultadoDto> importarCsv(InputStream cuerpo) throws IOException {
+        ImportacionResultadoDto resultado = alumnoImportacionService.importarCsv(cuerpo);
+        return ResponseEntity.ok(resultado);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<AlumnoDto> actualizar(
             @PathVariable Long id,
@@ -93,6 +182,14 @@ public class AlumnoController {
         return ResponseEntity.ok(alumnoActualizado);
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<AlumnoDto> actualizarParcial(
+            @PathVariable Long id,
+            @Valid @RequestBody AlumnoUpdateDto cambios) {
+        AlumnoDto alumnoActualizado = alumnoService.actualizarParcial(id, cambios);
+        return ResponseEntity.ok(alumnoActualizado);
+    }
+
     @PatchMapping("/{id}/cambiar-grupo")
     public ResponseEntity<AlumnoDto> cambiarGrupo(
             @PathVariable Long id,
@@ -101,6 +198,20 @@ public class AlumnoController {
         return ResponseEntity.ok(alumnoActualizado);
     }
 
+    // Mueve una lista de alumnos o todos los activos de un grupo; el avance se consulta con el id devuelto
+    @PostMapping("/reasignaciones")
+    public ResponseEntity<ReasignacionEstadoDto> reasignarGrupo(@Valid @RequestBody ReasignacionGrupoDto dto) {
+        ReasignacionEstadoDto reasignacion = reasignacionGrupoService.iniciar(dto);
+        return ResponseEntity.accepted()
+                .location(URI.create("/alumnos/reasignaciones/" + reasignacion.getId()))
+                .body(reasignacion);
+    }
+
+    @GetMapping("/reasignaciones/{id}")
+    public ResponseEntity<ReasignacionEstadoDto> obtenerReasignacion(@PathVariable String id) {
+        return ResponseEntity.ok(reasignacionGrupoService.obtenerEstado(id));
+    }
+
     @PatchMapping("/{id}/toggle-activo")
     public ResponseEntity<AlumnoDto> toggleActivo(@PathVariable Long id) {
         AlumnoDto alumnoActualizado = alumnoService.toggleActivo(id);
@@ -0,0 +1,30 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import mx.edu.uteq.idgs12.microservicio_alumno.cache.CatalogoProgramas;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.CatalogoDto;
+
+@RestController
+@RequestMapping("/catalogo")
+@RequiredArgsConstructor
+public class CatalogoController {
+
+    private final CatalogoProgramas catalogoProgramas;
+
+    @GetMapping
+    public ResponseEntity<CatalogoDto> obtenerCatalogo() {
+        return ResponseEntity.ok(catalogoProgramas.obtenerCatalogo());
+    }
+
+    @PostMapping("/refresco")
+    public ResponseEntity<CatalogoDto> refrescar() {
+        catalogoProgramas.refrescar();
+        return ResponseEntity.ok(catalogoProgramas.obtenerCatalogo());
+    }
+}
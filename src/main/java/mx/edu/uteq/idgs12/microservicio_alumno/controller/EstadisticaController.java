@@ -0,0 +1,30 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.EstadisticasDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.estadistica.EstadisticasAlumnos;
+
+@RestController
+@RequestMapping("/estadisticas")
+@RequiredArgsConstructor
+public class EstadisticaController {
+
+    private final EstadisticasAlumnos estadisticasAlumnos;
+
+    @GetMapping
+    public ResponseEntity<EstadisticasDto> obtenerEstadisticas() {
+        return ResponseEntity.ok(estadisticasAlumnos.obtener());
+    }
+
+    @PostMapping("/reconciliacion")
+    public ResponseEntity<EstadisticasDto> reconciliar() {
+        estadisticasAlumnos.reconciliar();
+        return ResponseEntity.ok(estadisticasAlumnos.obtener());
+    }
+}
@@ -0,0 +1,28 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lombok.RequiredArgsConstructor;
+import mx.edu.uteq.idgs12.microservicio_alumno.evento.DifusorEventosSse;
+
+@RestController
+@RequestMapping("/eventos")
+@RequiredArgsConstructor
+public class EventoController {
+
+    private final DifusorEventosSse difusorEventosSse;
+
+    // Last-Event-ID lo envía el navegador al reconectarse; "desde" permite fijarlo a mano
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimaSecuencia,
+            @RequestParam(required = false) Long desde) {
+        return difusorEventosSse.suscribir(ultimaSecuencia != null ? ultimaSecuencia : desde);
+    }
+}
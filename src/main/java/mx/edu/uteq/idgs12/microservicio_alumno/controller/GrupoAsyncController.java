@@ -0,0 +1,92 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoViewDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.OcupacionGrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.RosterGrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.AlumnoService;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.GrupoService;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.LecturasAsincronas;
+
+/**
+ * Lecturas de /grupos que liberan el hilo del servlet. En detalles y roster la consulta a
+ * microservicio-profesor corre en su propio ejecutor después de la lectura de la base.
+ */
+@RestController
+@RequestMapping("/async/grupos")
+@RequiredArgsConstructor
+public class GrupoAsyncController {
+
+    private final GrupoService grupoService;
+    private final AlumnoService alumnoService;
+    private final LecturasAsincronas lecturasAsincronas;
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<List<GrupoDto>>> obtenerTodos() {
+        return lecturasAsincronas.leer(grupoService::obtenerTodos).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/activos")
+    public CompletableFuture<ResponseEntity<List<GrupoDto>>> obtenerActivos(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return lecturasAsincronas.leerCondicional(ifNoneMatch,
+                grupoService::obtenerVersionActivos, grupoService::obtenerActivos);
+    }
+
+    @GetMapping("/ocupacion")
+    public CompletableFuture<ResponseEntity<List<OcupacionGrupoDto>>> obtenerOcupacion() {
+        return lecturasAsincronas.leer(grupoService::obtenerOcupacion).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<GrupoDto>> obtenerPorId(@PathVariable Long id) {
+        return lecturasAsincronas.leer(() -> grupoService.obtenerPorId(id)).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}/detalles")
+    public CompletableFuture<ResponseEntity<GrupoViewDto>> obtenerGrupoConDetalles(@PathVariable Long id) {
+        return grupoService.obtenerGrupoConDetallesAsync(id).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}/alumnos")
+    public CompletableFuture<ResponseEntity<List<AlumnoDto>>> obtenerAlumnosDelGrupo(@PathVariable Long id,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return lecturasAsincronas.leerCondicional(ifNoneMatch,
+                () -> alumnoService.obtenerVersionPorGrupo(id),
+                () -> alumnoService.obtenerPorGrupo(id));
+    }
+
+    @GetMapping("/{id}/roster")
+    public CompletableFuture<ResponseEntity<RosterGrupoDto>> obtenerRoster(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long despuesDe,
+            @RequestParam(defaultValue = "50") int tamanio) {
+        return grupoService.obtenerRosterAsync(id, despuesDe, tamanio).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/programa-educativo/{programaEducativoId}")
+    public CompletableFuture<ResponseEntity<List<GrupoDto>>> obtenerPorProgramaEducativo(
+            @PathVariable Long programaEducativoId) {
+        return lecturasAsincronas.leer(() -> grupoService.obtenerPorProgramaEducativo(programaEducativoId))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/profesor/{profesorId}")
+    public CompletableFuture<ResponseEntity<List<GrupoDto>>> obtenerPorProfesor(@PathVariable Long profesorId) {
+        return lecturasAsincronas.leer(() -> grupoService.obtenerPorProfesor(profesorId))
+                .thenApply(ResponseEntity::ok);
+    }
+}
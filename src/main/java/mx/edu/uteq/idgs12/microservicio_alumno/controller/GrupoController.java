@@ -12,13 +12,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
 import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoUpdateDto;
 import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoViewDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.OcupacionGrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.RosterGrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.VersionColeccionDto;
 import mx.edu.uteq.idgs12.microservicio_alumno.service.AlumnoService;
 import mx.edu.uteq.idgs12.microservicio_alumno.service.GrupoService;
 
@@ -37,11 +43,21 @@ public class GrupoController {
     }
 
     @GetMapping("/activos")
-    public ResponseEntity<List<GrupoDto>> obtenerActivos() {
+    public ResponseEntity<List<GrupoDto>> obtenerActivos(WebRequest request) {
+        VersionColeccionDto version = grupoService.obtenerVersionActivos();
+        if (request.checkNotModified(version.getEtag(), version.getUltimaModificacionMillis())) {
+            return null;
+        }
         List<GrupoDto> grupos = grupoService.obtenerActivos();
         return ResponseEntity.ok(grupos);
     }
 
+    @GetMapping("/ocupacion")
+    public ResponseEntity<List<OcupacionGrupoDto>> obtenerOcupacion() {
+        List<OcupacionGrupoDto> ocupacion = grupoService.obtenerOcupacion();
+        return ResponseEntity.ok(ocupacion);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<GrupoDto> obtenerPorId(@PathVariable Long id) {
         GrupoDto grupo = grupoService.obtenerPorId(id);
@@ -55,11 +71,24 @@ public class GrupoController {
     }
 
     @GetMapping("/{id}/alumnos")
-    public ResponseEntity<List<AlumnoDto>> obtenerAlumnosDelGrupo(@PathVariable Long id) {
+    public ResponseEntity<List<AlumnoDto>> obtenerAlumnosDelGrupo(@PathVariable Long id, WebRequest request) {
+        VersionColeccionDto version = alumnoService.obtenerVersionPorGrupo(id);
+        if (request.checkNotModified(version.getEtag(), version.getUltimaModificacionMillis())) {
+            return null;
+        }
         List<AlumnoDto> alumnos = alumnoService.obtenerPorGrupo(id);
         return ResponseEntity.ok(alumnos);
     }
 
+    @GetMapping("/{id}/roster")
+    public ResponseEntity<RosterGrupoDto> obtenerRoster(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long despuesDe,
+            @RequestParam(defaultValue = "50") int tamanio) {
+        RosterGrupoDto roster = grupoService.obtenerRoster(id, despuesDe, tamanio);
+        return ResponseEntity.ok(roster);
+    }
+
     @GetMapping("/programa-educativo/{programaEducativoId}")
     public ResponseEntity<List<GrupoDto>> obtenerPorProgramaEducativo(
             @PathVariable Long programaEducativoId) {
@@ -87,6 +116,14 @@ public class GrupoController {
         return ResponseEntity.ok(grupoActualizado);
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<GrupoDto> actualizarParcial(
+            @PathVariable Long id,
+            @Valid @RequestBody GrupoUpdateDto cambios) {
+        GrupoDto grupoActualizado = grupoService.actualizarParcial(id, cambios);
+        return ResponseEntity.ok(grupoActualizado);
+    }
+
     @PatchMapping("/{id}/asignar-profesor/{profesorId}")
     public ResponseEntity<GrupoDto> asignarProfesor(
             @PathVariable Long id,
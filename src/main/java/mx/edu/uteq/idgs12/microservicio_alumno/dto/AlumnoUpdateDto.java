@@ -1,15 +1,16 @@
 package mx.edu.uteq.idgs12.microservicio_alumno.dto;
 
 import jakarta.validation.constraints.Email;
-import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
+// Actualización parcial (PATCH): un campo null se deja sin cambios
 @Data
-class AlumnoUpdateDto {
-    @NotBlank(message = "El nombre es obligatorio")
+public class AlumnoUpdateDto {
+    @Pattern(regexp = ".*\\S.*", message = "El nombre no puede estar vacío")
     private String nombre;
     
-    @NotBlank(message = "El apellido es obligatorio")
+    @Pattern(regexp = ".*\\S.*", message = "El apellido no puede estar vacío")
     private String apellido;
     
     @Email(message = "El correo debe ser válido")
@@ -18,4 +19,3 @@ class AlumnoUpdateDto {
     private String telefono;
     private Long grupoId;
 }
-
@@ -0,0 +1,14 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class CatalogoDto {
+    private long version;
+    private Instant actualizadoEn;
+    private List<ProgramaEducativoDto> programas;
+    private List<DivisionDto> divisiones;
+}
@@ -0,0 +1,15 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class ConsultaLoteDto {
+    @NotEmpty(message = "La lista de ids es obligatoria")
+    @Size(max = 500, message = "No se pueden consultar más de 500 ids por petición")
+    private List<@NotNull(message = "Los ids no pueden ser nulos") Long> ids;
+}
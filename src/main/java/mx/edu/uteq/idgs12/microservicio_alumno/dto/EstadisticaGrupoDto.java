@@ -0,0 +1,11 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.dto;
+
+import lombok.Data;
+
+@Data
+public class EstadisticaGrupoDto {
+    private Long grupoId;
+    private long total;
+    private long activos;
+    private long inactivos;
+}
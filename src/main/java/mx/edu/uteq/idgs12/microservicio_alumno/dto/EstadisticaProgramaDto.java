@@ -0,0 +1,13 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.dto;
+
+import lombok.Data;
+
+@Data
+public class EstadisticaProgramaDto {
+    private Long programaEducativoId;
+    private long total;
+    private long activos;
+    private long inactivos;
+    private double proporcionActivos;
+    private long sinGrupo;
+}
@@ -0,0 +1,20 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class EstadisticasDto {
+    private long totalAlumnos;
+    private long activos;
+    private long inactivos;
+    // activos / totalAlumnos; 0 sin alumnos
+    private double proporcionActivos;
+    private long sinGrupo;
+    private long sinGrupoActivos;
+    private List<EstadisticaProgramaDto> porProgramaEducativo;
+    private List<EstadisticaGrupoDto> porGrupo;
+    private LocalDateTime ultimaReconciliacion;
+}
@@ -0,0 +1,25 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Fila plana de la consulta del roster: encabezado del grupo repetido y, si lo hay, un alumno activo
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilaRosterGrupoDto {
+    private Long grupoId;
+    private String grupoNombre;
+    private Long programaEducativoId;
+    private Long profesorId;
+    private boolean grupoActivo;
+    private long alumnosActivos;
+    private Long alumnoId;
+    private String nombre;
+    private String apellido;
+    private String matricula;
+    private String correo;
+    private String telefono;
+    private Long alumnoProgramaEducativoId;
+}
@@ -2,10 +2,14 @@ package mx.edu.uteq.idgs12.microservicio_alumno.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class GrupoDto {
     private Long id;
     
@@ -1,11 +1,12 @@
 package mx.edu.uteq.idgs12.microservicio_alumno.dto;
 
-import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
+// Actualización parcial (PATCH): un campo null se deja sin cambios
 @Data
-class GrupoUpdateDto {
-    @NotBlank(message = "El nombre del grupo es obligatorio")
+public class GrupoUpdateDto {
+    @Pattern(regexp = ".*\\S.*", message = "El nombre del grupo no puede estar vacío")
     private String nombre;
     
     private Long profesorId;
@@ -0,0 +1,15 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class ImportacionResultadoDto {
+    private int total;
+    private int importados;
+    private int rechazados;
+    private long duracionMs;
+    private List<ResultadoFilaImportacionDto> filas = new ArrayList<>();
+}
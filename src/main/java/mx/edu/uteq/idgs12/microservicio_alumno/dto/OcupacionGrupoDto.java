@@ -0,0 +1,15 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcupacionGrupoDto {
+    private Long grupoId;
+    private String nombre;
+    private boolean activo;
+    private long alumnosActivos;
+}
@@ -0,0 +1,13 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class PaginaCursorDto<T> {
+    private List<T> contenido;
+    private int tamanio;
+    private Long siguienteCursor; // null cuando no hay más resultados
+    private boolean hayMas;
+}
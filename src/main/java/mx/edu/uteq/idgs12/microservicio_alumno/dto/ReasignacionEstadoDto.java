@@ -0,0 +1,23 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+@Data
+public class ReasignacionEstadoDto {
+    private String id;
+    private String estado; // EN_PROCESO, COMPLETADA, FALLIDA
+    private Long grupoOrigenId;
+    private Long grupoDestinoId;
+    private long total;
+    private long procesados;
+    private long reasignados;
+    private long sinCambio; // ya estaban en el grupo destino
+    private long noEncontrados;
+    private int lotes;
+    private LocalDateTime iniciadaEn;
+    private LocalDateTime terminadaEn;
+    private long duracionMs;
+    private String error;
+}
@@ -0,0 +1,21 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * Alumnos a mover: la lista de ids o todos los alumnos activos del grupo de origen, no ambos
+ */
+@Data
+public class ReasignacionGrupoDto {
+    @Size(max = 50000, message = "No se pueden reasignar más de 50000 alumnos por petición")
+    private List<@NotNull(message = "Los ids no pueden ser nulos") Long> alumnoIds;
+
+    private Long grupoOrigenId;
+
+    @NotNull(message = "El grupo destino es obligatorio")
+    private Long grupoDestinoId;
+}
@@ -0,0 +1,16 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoFilaImportacionDto {
+    private int fila;
+    private String matricula;
+    private boolean importado;
+    private Long id;
+    private String error;
+}
@@ -0,0 +1,14 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.dto;
+
+import lombok.Data;
+
+@Data
+public class RosterGrupoDto {
+    private Long id;
+    private String nombre;
+    private String programaEducativo;
+    private String profesor;
+    private long totalAlumnos;
+    private boolean activo;
+    private PaginaCursorDto<AlumnoDto> alumnos;
+}
@@ -0,0 +1,16 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Programa, grupo y estado de un alumno, leídos con bloqueo antes de reasignarlo
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UbicacionAlumnoDto {
+    private Long id;
+    private Long programaEducativoId;
+    private Long grupoId;
+    private boolean activo;
+}
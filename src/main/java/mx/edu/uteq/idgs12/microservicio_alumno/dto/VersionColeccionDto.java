@@ -0,0 +1,41 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resumen de un listado para GET condicional: cambia si una fila entra, sale o se modifica
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionColeccionDto {
+    private long total;
+    private long sumaVersiones;
+    private LocalDateTime ultimaModificacion;
+
+    // Para cambios que no dejan rastro en las filas del listado, como una fila que sale
+    public void considerarModificacion(LocalDateTime modificacion) {
+        if (modificacion != null && (ultimaModificacion == null || modificacion.isAfter(ultimaModificacion))) {
+            ultimaModificacion = modificacion;
+        }
+    }
+
+    public String getEtag() {
+        // Microsegundos: dos cambios en el mismo segundo producen ETag distintos
+        long marca = ultimaModificacion != null
+                ? ultimaModificacion.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + ultimaModificacion.getNano() / 1_000
+                : 0;
+        return "W/\"" + total + "-" + sumaVersiones + "-" + Long.toString(marca, 36) + "\"";
+    }
+
+    // Milisegundos para Last-Modified; -1 si el listado está vacío
+    public long getUltimaModificacionMillis() {
+        return ultimaModificacion != null
+                ? ultimaModificacion.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+    }
+}
@@ -1,20 +1,39 @@
 package mx.edu.uteq.idgs12.microservicio_alumno.entity;
 
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 @Entity
 @Data
 @Table(name = "alumnos")
+// UPDATE solo con las columnas modificadas
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "alumnos")
 public class AlumnoEntity {
 
+    public static final String SECUENCIA = "alumnos_seq";
+    // Ids reservados por cada consulta a la secuencia; permite agrupar los INSERT en lotes JDBC
+    public static final int IDS_POR_ASIGNACION = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SECUENCIA)
+    @SequenceGenerator(name = SECUENCIA, sequenceName = SECUENCIA, allocationSize = IDS_POR_ASIGNACION)
     private Long id;
     
     private String nombre;
@@ -28,4 +47,13 @@ public class AlumnoEntity {
     private Long programaEducativoId;
     private Long grupoId;
     private boolean activo;
+
+    // Bloqueo optimista; la suma de versiones y la última modificación forman el ETag de los listados
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime actualizadoEn;
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+// Contador desnormalizado de alumnos activos por grupo, sin cache de segundo nivel; solo se
+// modifica con ContadorGrupoRepository. Un grupo sin fila tiene 0 alumnos activos.
+@Entity
+@Data
+@Table(name = "contadores_grupo")
+@Immutable
+public class ContadorGrupoEntity {
+
+    @Id
+    private Long grupoId;
+
+    @Column(nullable = false)
+    private long alumnosActivos;
+
+    // Último cambio del conjunto de alumnos activos del grupo, incluidas las salidas
+    @Column(nullable = false)
+    private LocalDateTime actualizadoEn;
+}
@@ -0,0 +1,51 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.DynamicUpdate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Data;
+import mx.edu.uteq.idgs12.microservicio_alumno.evento.TipoEvento;
+
+@Entity
+@Data
+@Table(name = "eventos_outbox")
+// Al publicar solo se actualizan publicadoEn y secuencia, sin reescribir la carga
+@DynamicUpdate
+public class EventoOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private TipoEvento tipo;
+
+    @Column(nullable = false, length = 20)
+    private String agregado; // "alumno" o "grupo"
+
+    private Long agregadoId;
+
+    // Estado del agregado después del cambio, en JSON
+    @Lob
+    @Column(nullable = false)
+    private String carga;
+
+    @Column(nullable = false)
+    private LocalDateTime creadoEn;
+
+    private LocalDateTime publicadoEn; // null mientras está pendiente
+
+    // Orden de publicación (ver V5); null mientras está pendiente
+    private Long secuencia;
+}
@@ -1,15 +1,29 @@
 package mx.edu.uteq.idgs12.microservicio_alumno.entity;
 
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 @Entity
 @Data
 @Table(name = "grupos")
+// UPDATE solo con las columnas modificadas
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "grupos")
 public class GrupoEntity {
 
     @Id
@@ -20,4 +34,13 @@ public class GrupoEntity {
     private Long programaEducativoId;
     private Long profesorId; // Profesor asignado (opcional)
     private boolean activo;
+
+    // Bloqueo optimista; la suma de versiones y la última modificación forman el ETag de los listados
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime actualizadoEn;
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.estadistica;
+
+// Alumnos de un programa y grupo (null = sin grupo) con el mismo estado, según un GROUP BY
+public record ConteoSegmento(Long programaEducativoId, Long grupoId, boolean activo, long total) {
+}
@@ -0,0 +1,334 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.estadistica;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.EstadisticaGrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.EstadisticaProgramaDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.EstadisticasDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.indice.MembresiaAlumno;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.AlumnoRepository;
+
+/**
+ * Conteos de alumnos activos e inactivos por programa educativo y grupo, en memoria. Cada
+ * escritura de alumnos registra su diferencia, que se aplica al confirmarse la transacción; una
+ * reconciliación periódica los recalcula con un GROUP BY y reporta lo que corrigió. El tablero
+ * lee estos conteos sin recorrer la tabla de alumnos.
+ * <p>
+ * La consulta de la reconciliación corre sin el bloqueo. Un segmento que cambió mientras corría,
+ * o que tenía una transacción confirmándose, puede estar o no en el resultado: no se reemplaza y
+ * conserva su conteo incremental, que ya incluye esos cambios. Así ninguna diferencia se pierde
+ * ni se aplica dos veces; esos segmentos se vuelven a consultar en otra ronda.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EstadisticasAlumnos {
+
+    // Rondas de consulta por reconciliación mientras queden segmentos con cambios concurrentes
+    private static final int RONDAS_MAXIMAS = 3;
+
+    private final AlumnoRepository alumnoRepository;
+
+    // {activos, inactivos} por segmento; los segmentos sin alumnos se eliminan
+    private final Map<Segmento, long[]> conteos = new HashMap<>();
+    // Diferencias de transacciones entre beforeCommit y su confirmación o rollback
+    private final Set<Map<Segmento, long[]>> confirmando = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Segmentos que cambiaron desde que empezó la consulta en curso; null si no hay ninguna
+    private Set<Segmento> cambiadosDuranteConsulta;
+    private final ReentrantLock bloqueo = new ReentrantLock();
+    private final ReentrantLock reconciliacion = new ReentrantLock();
+    private LocalDateTime ultimaReconciliacion;
+
+    // Cambios: se aplican al confirmar la transacción en curso; null = el alumno no existía o ya no existe
+
+    public void registrarCambio(MembresiaAlumno antes, MembresiaAlumno despues) {
+        registrarCambios(antes == null ? List.of() : List.of(antes),
+                despues == null ? List.of() : List.of(despues));
+    }
+
+    public void registrarCambios(Collection<MembresiaAlumno> antes, Collection<MembresiaAlumno> despues) {
+        Map<Segmento, long[]> diferencias = new HashMap<>();
+        antes.forEach(alumno -> acumular(diferencias, alumno, -1));
+        despues.forEach(alumno -> acumular(diferencias, alumno, 1));
+        diferencias.values().removeIf(diferencia -> diferencia[0] == 0 && diferencia[1] == 0);
+        if (diferencias.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    iniciarConfirmacion(diferencias);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    terminarConfirmacion(diferencias, status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            aplicar(diferencias);
+        }
+    }
+
+    /**
+     * Recalcula los conteos desde la base sin detener a los escritores. La primera vez no hay
+     * conteo incremental que conservar: un segmento con cambios concurrentes queda sin calcular
+     * hasta una ronda o reconciliación en que no los tenga.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${alumno.estadisticas.reconciliacion:15m}",
+            initialDelayString = "${alumno.estadisticas.reconciliacion:15m}")
+    public void reconciliar() {
+        long inicio = System.nanoTime();
+        reconciliacion.lock();
+        try {
+            boolean primera = leerUltimaReconciliacion() == null;
+            Set<Segmento> pendientes = null;
+            long corregidos = 0;
+            int rondas = 0;
+            do {
+                Ronda ronda = consultarYReemplazar(pendientes, !primera);
+                pendientes = ronda.pendientes();
+                corregidos += ronda.corregidos();
+                rondas++;
+            } while (!pendientes.isEmpty() && rondas < RONDAS_MAXIMAS);
+
+            int segmentos;
+            bloqueo.lock();
+            try {
+                // La primera vez los segmentos pendientes no tienen base: no se da por reconciliado
+                if (!primera || pendientes.isEmpty()) {
+                    ultimaReconciliacion = LocalDateTime.now();
+                }
+                segmentos = conteos.size();
+            } finally {
+                bloqueo.unlock();
+            }
+
+            long milis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+            if (primera && !pendientes.isEmpty()) {
+                log.warn("Estadísticas de alumnos sin calcular para {} segmentos con escrituras concurrentes "
+                        + "tras {} rondas; se reintentan en la siguiente reconciliación", pendientes.size(), rondas);
+            } else if (primera) {
+                log.info("Estadísticas de alumnos calculadas: {} segmentos en {} ms", segmentos, milis);
+            } else if (corregidos > 0) {
+                log.warn("Reconciliación de estadísticas: {} segmentos corregidos en {} ms", corregidos, milis);
+            } else {
+                log.debug("Reconciliación de estadísticas sin diferencias en {} ms ({} rondas, {} segmentos "
+                        + "con escrituras concurrentes)", milis, rondas, pendientes.size());
+            }
+        } finally {
+            reconciliacion.unlock();
+        }
+    }
+
+    public EstadisticasDto obtener() {
+        Map<Long, EstadisticaProgramaDto> programas = new TreeMap<>(Comparator.nullsLast(Comparator.naturalOrder()));
+        Map<Long, EstadisticaGrupoDto> grupos = new TreeMap<>();
+        EstadisticasDto estadisticas = new EstadisticasDto();
+
+        bloqueo.lock();
+        try {
+            estadisticas.setUltimaReconciliacion(ultimaReconciliacion);
+            conteos.forEach((segmento, valores) -> {
+                long activos = valores[0];
+                long inactivos = valores[1];
+                estadisticas.setActivos(estadisticas.getActivos() + activos);
+                estadisticas.setInactivos(estadisticas.getInactivos() + inactivos);
+
+                EstadisticaProgramaDto programa = programas.computeIfAbsent(segmento.programaEducativoId(), id -> {
+                    EstadisticaProgramaDto nuevo = new EstadisticaProgramaDto();
+                    nuevo.setProgramaEducativoId(id);
+                    return nuevo;
+                });
+                programa.setActivos(programa.getActivos() + activos);
+                programa.setInactivos(programa.getInactivos() + inactivos);
+
+                if (segmento.grupoId() == null) {
+                    estadisticas.setSinGrupo(estadisticas.getSinGrupo() + activos + inactivos);
+                    estadisticas.setSinGrupoActivos(estadisticas.getSinGrupoActivos() + activos);
+                    programa.setSinGrupo(programa.getSinGrupo() + activos + inactivos);
+                } else {
+                    EstadisticaGrupoDto grupo = grupos.computeIfAbsent(segmento.grupoId(), id -> {
+                        EstadisticaGrupoDto nuevo = new EstadisticaGrupoDto();
+                        nuevo.setGrupoId(id);
+                        return nuevo;
+                    });
+                    grupo.setActivos(grupo.getActivos() + activos);
+                    grupo.setInactivos(grupo.getInactivos() + inactivos);
+                }
+            });
+        } finally {
+            bloqueo.unlock();
+        }
+
+        estadisticas.setTotalAlumnos(estadisticas.getActivos() + estadisticas.getInactivos());
+        estadisticas.setProporcionActivos(proporcion(estadisticas.getActivos(), estadisticas.getTotalAlumnos()));
+        programas.values().forEach(programa -> {
+            programa.setTotal(programa.getActivos() + programa.getInactivos());
+            programa.setProporcionActivos(proporcion(programa.getActivos(), programa.getTotal()));
+        });
+        grupos.values().forEach(grupo -> grupo.setTotal(grupo.getActivos() + grupo.getInactivos()));
+        estadisticas.setPorProgramaEducativo(new ArrayList<>(programas.values()));
+        estadisticas.setPorGrupo(new ArrayList<>(grupos.values()));
+        return estadisticas;
+    }
+
+    // Consulta todos los segmentos y reemplaza los de soloEstos (null = todos) que no cambiaron mientras
+    private Ronda consultarYReemplazar(Set<Segmento> soloEstos, boolean conBase) {
+        bloqueo.lock();
+        try {
+            cambiadosDuranteConsulta = new HashSet<>();
+            confirmando.forEach(diferencias -> cambiadosDuranteConsulta.addAll(diferencias.keySet()));
+        } finally {
+            bloqueo.unlock();
+        }
+
+        Map<Segmento, long[]> recalculados = new HashMap<>();
+        try {
+            for (ConteoSegmento conteo : alumnoRepository.contarPorSegmento()) {
+                long[] valores = recalculados.computeIfAbsent(
+                        new Segmento(conteo.programaEducativoId(), conteo.grupoId()), segmento -> new long[2]);
+                valores[conteo.activo() ? 0 : 1] += conteo.total();
+            }
+        } catch (RuntimeException e) {
+            bloqueo.lock();
+            try {
+                cambiadosDuranteConsulta = null;
+            } finally {
+                bloqueo.unlock();
+            }
+            throw e;
+        }
+
+        bloqueo.lock();
+        try {
+            Set<Segmento> dudosos = cambiadosDuranteConsulta;
+            cambiadosDuranteConsulta = null;
+            // Confirmándose ahora: pudo confirmar antes o después de la consulta
+            confirmando.forEach(diferencias -> dudosos.addAll(diferencias.keySet()));
+
+            Set<Segmento> segmentos = new HashSet<>();
+            if (soloEstos != null) {
+                segmentos.addAll(soloEstos);
+            } else {
+                segmentos.addAll(conteos.keySet());
+                segmentos.addAll(recalculados.keySet());
+            }
+            Set<Segmento> pendientes = new HashSet<>();
+            long corregidos = 0;
+            for (Segmento segmento : segmentos) {
+                if (dudosos.contains(segmento)) {
+                    pendientes.add(segmento);
+                    continue;
+                }
+                long[] recalculado = recalculados.get(segmento);
+                long[] actual = conteos.get(segmento);
+                if (conBase && !(actual == null ? recalculado == null : iguales(recalculado, actual))) {
+                    corregidos++;
+                }
+                if (recalculado == null) {
+                    conteos.remove(segmento);
+                } else {
+                    conteos.put(segmento, recalculado);
+                }
+            }
+            return new Ronda(pendientes, corregidos);
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    private LocalDateTime leerUltimaReconciliacion() {
+        bloqueo.lock();
+        try {
+            return ultimaReconciliacion;
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    private void iniciarConfirmacion(Map<Segmento, long[]> diferencias) {
+        bloqueo.lock();
+        try {
+            confirmando.add(diferencias);
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    private void terminarConfirmacion(Map<Segmento, long[]> diferencias, boolean confirmada) {
+        bloqueo.lock();
+        try {
+            confirmando.remove(diferencias);
+            if (confirmada) {
+                aplicar(diferencias);
+            }
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    private void aplicar(Map<Segmento, long[]> diferencias) {
+        bloqueo.lock();
+        try {
+            if (cambiadosDuranteConsulta != null) {
+                cambiadosDuranteConsulta.addAll(diferencias.keySet());
+            }
+            diferencias.forEach((segmento, diferencia) -> {
+                long[] valores = conteos.computeIfAbsent(segmento, s -> new long[2]);
+                valores[0] += diferencia[0];
+                valores[1] += diferencia[1];
+                if (valores[0] == 0 && valores[1] == 0) {
+                    conteos.remove(segmento);
+                }
+            });
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    private static void acumular(Map<Segmento, long[]> diferencias, MembresiaAlumno alumno, int signo) {
+        long[] diferencia = diferencias.computeIfAbsent(
+                new Segmento(alumno.programaEducativoId(), alumno.grupoId()), segmento -> new long[2]);
+        diferencia[alumno.activo() ? 0 : 1] += signo;
+    }
+
+    private static boolean iguales(long[] a, long[] b) {
+        return a != null && b != null && a[0] == b[0] && a[1] == b[1];
+    }
+
+    private static double proporcion(long parte, long total) {
+        return total == 0 ? 0 : (double) parte / total;
+    }
+
+    // Programa educativo y grupo; grupoId null = alumnos sin grupo asignado
+    private record Segmento(Long programaEducativoId, Long grupoId) {
+    }
+
+    private record Ronda(Set<Segmento> pendientes, long corregidos) {
+    }
+}
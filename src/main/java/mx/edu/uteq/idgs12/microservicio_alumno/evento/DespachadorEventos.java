@@ -0,0 +1,105 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.evento;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.EventoOutboxEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.EventoOutboxRepository;
+
+/**
+ * Publica los eventos pendientes del outbox por lotes en orden de id. Cada lote recibe su
+ * secuencia de publicación, se entrega a los sumideros y se marca publicado en una sola
+ * transacción; si un sumidero falla el lote completo se reintenta en la siguiente revisión.
+ * Como la secuencia se asigna aquí y no al insertar, un evento de una transacción lenta queda
+ * después de los ya publicados aunque su id sea menor. Tras confirmar, el lote se difunde a los
+ * suscriptores SSE.
+ * Supone una sola instancia despachando; con varias haría falta bloquear las filas leídas.
+ */
+@Component
+@Slf4j
+public class DespachadorEventos {
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final List<SumideroEventos> sumideros;
+    private final DifusorEventosSse difusorEventosSse;
+    private final EventosProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter eventosPublicados;
+    private final Counter lotesFallidos;
+
+    public DespachadorEventos(EventoOutboxRepository eventoOutboxRepository, List<SumideroEventos> sumideros,
+            DifusorEventosSse difusorEventosSse, EventosProperties properties,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.sumideros = sumideros;
+        this.difusorEventosSse = difusorEventosSse;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventosPublicados = meterRegistry.counter("alumno.eventos.publicados");
+        this.lotesFallidos = meterRegistry.counter("alumno.eventos.lotes.fallidos");
+    }
+
+    @Scheduled(fixedDelayString = "${alumno.eventos.intervalo:1s}")
+    public void despachar() {
+        try {
+            List<EventoCambio> lote;
+            do {
+                lote = transactionTemplate.execute(estado -> publicarLote());
+                if (!lote.isEmpty()) {
+                    eventosPublicados.increment(lote.size());
+                    difusorEventosSse.difundir(lote);
+                }
+            } while (lote.size() == properties.getTamanioLote());
+        } catch (RuntimeException e) {
+            lotesFallidos.increment();
+            log.warn("No se pudo publicar el lote de eventos, se reintentará: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelay = 3600000, initialDelay = 60000)
+    public void purgarPublicados() {
+        LocalDateTime limite = LocalDateTime.now().minus(properties.getRetencion());
+        Integer eliminados = transactionTemplate.execute(
+                estado -> eventoOutboxRepository.eliminarPublicadosAntesDe(limite));
+        if (eliminados != null && eliminados > 0) {
+            log.info("Purgados {} eventos publicados antes de {}", eliminados, limite);
+        }
+    }
+
+    private List<EventoCambio> publicarLote() {
+        List<EventoOutboxEntity> pendientes = eventoOutboxRepository
+                .findByPublicadoEnIsNullOrderByIdAsc(Limit.of(properties.getTamanioLote()));
+        if (pendientes.isEmpty()) {
+            return List.of();
+        }
+
+        // Los valores de la secuencia no llegan necesariamente ordenados en la consulta
+        List<Long> secuencias = eventoOutboxRepository.siguientesSecuencias(pendientes.size())
+                .stream().sorted().toList();
+        LocalDateTime ahora = LocalDateTime.now();
+        for (int i = 0; i < pendientes.size(); i++) {
+            pendientes.get(i).setSecuencia(secuencias.get(i));
+            pendientes.get(i).setPublicadoEn(ahora);
+        }
+
+        List<EventoCambio> eventos = pendientes.stream().map(EventoCambio::de).toList();
+        for (SumideroEventos sumidero : sumideros) {
+            try {
+                sumidero.publicar(eventos);
+            } catch (Exception e) {
+                throw new IllegalStateException("Falló el sumidero " + sumidero.getClass().getSimpleName(), e);
+            }
+        }
+        // Las entidades están administradas: el UPDATE se envía por lotes al confirmar
+        return eventos;
+    }
+}
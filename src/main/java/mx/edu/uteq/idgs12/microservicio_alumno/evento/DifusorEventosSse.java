@@ -0,0 +1,210 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.evento;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import mx.edu.uteq.idgs12.microservicio_alumno.config.ConsultasRemotasConfig;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.EventoOutboxRepository;
+
+/**
+ * Suscriptores de /eventos/stream. Recibe los eventos ya confirmados como publicados, con su
+ * secuencia de publicación como id SSE; quien se reconecta con Last-Event-ID recibe primero los
+ * publicados después de esa secuencia. Cada suscriptor tiene su propia cola, que un hilo del
+ * ejecutor de envíos vacía en orden: difundir y latido solo encolan, así un cliente lento no
+ * detiene al despachador, a los demás suscriptores ni a las suscripciones nuevas. El suscriptor
+ * se registra antes de leer el reenvío, de modo que un evento puede llegar por ambos caminos (se
+ * descarta por secuencia) pero no perderse. Un suscriptor que acumula más de reenvioMaximo
+ * eventos sin enviar se desconecta; al reconectarse recibe el reenvío. Si quedan más de
+ * reenvioMaximo eventos por reenviar, en su lugar recibe un evento RESINCRONIZAR con la última
+ * secuencia publicada como id: el cliente debe recargar el estado completo. Con
+ * suscriptoresMaximos conexiones abiertas las nuevas se rechazan (503).
+ */
+@Component
+@Slf4j
+public class DifusorEventosSse {
+
+    public static final String RESINCRONIZAR = "RESINCRONIZAR";
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final EventosProperties properties;
+    private final Executor ejecutor;
+    private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+
+    public DifusorEventosSse(EventoOutboxRepository eventoOutboxRepository, EventosProperties properties,
+            @Qualifier(ConsultasRemotasConfig.EJECUTOR_ENVIOS_SSE) Executor ejecutor, MeterRegistry meterRegistry) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.properties = properties;
+        this.ejecutor = ejecutor;
+        Gauge.builder("alumno.eventos.suscriptores", suscriptores, Set::size).register(meterRegistry);
+    }
+
+    public SseEmitter suscribir(Long ultimaSecuencia) {
+        if (suscriptores.size() >= properties.getSuscriptoresMaximos()) {
+            throw new RejectedExecutionException("Se alcanzó el máximo de " + properties.getSuscriptoresMaximos()
+                    + " suscriptores SSE");
+        }
+        SseEmitter emisor = new SseEmitter(properties.getTimeoutSse().toMillis());
+        Suscriptor suscriptor = new Suscriptor(emisor, ultimaSecuencia);
+        emisor.onCompletion(suscriptor::cerrar);
+        emisor.onTimeout(emisor::complete);
+        emisor.onError(error -> suscriptor.cerrar());
+
+        suscriptores.add(suscriptor);
+        suscriptor.programar();
+        return emisor;
+    }
+
+    public void difundir(List<EventoCambio> eventos) {
+        suscriptores.forEach(suscriptor -> suscriptor.encolar(eventos));
+    }
+
+    // Comentario periódico para que proxies y clientes no cierren la conexión por inactividad
+    @Scheduled(fixedDelay = 15000, initialDelay = 15000)
+    public void latido() {
+        suscriptores.forEach(Suscriptor::latido);
+    }
+
+    private final class Suscriptor {
+
+        private final SseEmitter emisor;
+        private final Queue<EventoCambio> cola = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger encolados = new AtomicInteger();
+        // Garantiza un solo hilo vaciando la cola a la vez
+        private final AtomicBoolean programado = new AtomicBoolean();
+        private volatile boolean latidoPendiente;
+        private volatile boolean cerrado;
+
+        // Solo los usa el hilo que vacía la cola
+        private Long reenviarDesde;
+        private long ultimaEnviada;
+
+        Suscriptor(SseEmitter emisor, Long ultimaSecuencia) {
+            this.emisor = emisor;
+            this.reenviarDesde = ultimaSecuencia;
+            this.ultimaEnviada = ultimaSecuencia != null ? ultimaSecuencia : 0;
+        }
+
+        void encolar(List<EventoCambio> eventos) {
+            if (cerrado) {
+                return;
+            }
+            cola.addAll(eventos);
+            if (encolados.addAndGet(eventos.size()) > properties.getReenvioMaximo()) {
+                desconectar(new IllegalStateException("Suscriptor SSE con más de "
+                        + properties.getReenvioMaximo() + " eventos sin enviar"));
+                return;
+            }
+            programar();
+        }
+
+        void latido() {
+            latidoPendiente = true;
+            programar();
+        }
+
+        void programar() {
+            if (!cerrado && programado.compareAndSet(false, true)) {
+                try {
+                    ejecutor.execute(this::vaciar);
+                } catch (RejectedExecutionException e) {
+                    desconectar(e);
+                }
+            }
+        }
+
+        private void vaciar() {
+            do {
+                try {
+                    enviarPendientes();
+                } catch (IOException | RuntimeException e) {
+                    desconectar(e);
+                    return;
+                }
+                programado.set(false);
+                // Lo encolado después de la última revisión y antes de liberar queda para esta vuelta
+            } while (!cerrado && (latidoPendiente || !cola.isEmpty()) && programado.compareAndSet(false, true));
+        }
+
+        private void enviarPendientes() throws IOException {
+            if (reenviarDesde != null) {
+                int maximo = properties.getReenvioMaximo();
+                List<EventoCambio> publicados = eventoOutboxRepository
+                        .findBySecuenciaGreaterThanOrderBySecuenciaAsc(reenviarDesde, Limit.of(maximo + 1))
+                        .stream()
+                        .map(EventoCambio::de)
+                        .toList();
+                reenviarDesde = null;
+                if (publicados.size() > maximo) {
+                    resincronizar();
+                } else {
+                    for (EventoCambio evento : publicados) {
+                        enviar(evento);
+                    }
+                }
+            }
+            if (latidoPendiente) {
+                latidoPendiente = false;
+                emisor.send(SseEmitter.event().comment("latido"));
+            }
+            EventoCambio evento;
+            while (!cerrado && (evento = cola.poll()) != null) {
+                encolados.decrementAndGet();
+                enviar(evento);
+            }
+        }
+
+        private void enviar(EventoCambio evento) throws IOException {
+            // Ya enviado por el reenvío
+            if (evento.secuencia() <= ultimaEnviada) {
+                return;
+            }
+            emisor.send(SseEmitter.event()
+                    .id(String.valueOf(evento.secuencia()))
+                    .name(evento.tipo().name())
+                    .data(evento, MediaType.APPLICATION_JSON));
+            ultimaEnviada = evento.secuencia();
+        }
+
+        // El hueco no cabe en el reenvío: el cliente recarga su estado completo y sigue desde aquí.
+        // Lo publicado hasta esta secuencia ya está en la base; lo posterior llega por la cola
+        private void resincronizar() throws IOException {
+            long secuencia = eventoOutboxRepository.obtenerSecuenciaMaxima();
+            emisor.send(SseEmitter.event()
+                    .id(String.valueOf(secuencia))
+                    .name(RESINCRONIZAR)
+                    .data(Map.of("secuencia", secuencia), MediaType.APPLICATION_JSON));
+            ultimaEnviada = secuencia;
+        }
+
+        private void desconectar(Exception causa) {
+            log.debug("Suscriptor SSE desconectado: {}", causa.getMessage());
+            cerrar();
+            emisor.completeWithError(causa);
+        }
+
+        void cerrar() {
+            cerrado = true;
+            suscriptores.remove(this);
+            cola.clear();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.evento;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.EventoOutboxEntity;
+
+// Evento tal como se entrega a los sumideros; la carga se reenvía como JSON sin volver a procesarla.
+// secuencia es el orden de publicación, id el de inserción en el outbox
+public record EventoCambio(Long id, Long secuencia, TipoEvento tipo, String agregado, Long agregadoId,
+        @JsonRawValue String carga, LocalDateTime creadoEn) {
+
+    public static EventoCambio de(EventoOutboxEntity evento) {
+        return new EventoCambio(evento.getId(), evento.getSecuencia(), evento.getTipo(), evento.getAgregado(),
+                evento.getAgregadoId(), evento.getCarga(), evento.getCreadoEn());
+    }
+}
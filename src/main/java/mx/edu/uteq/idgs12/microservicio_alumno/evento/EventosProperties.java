@@ -0,0 +1,29 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.evento;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "alumno.eventos")
+public class EventosProperties {
+
+    // memoria | archivo
+    private String sumidero = "memoria";
+    // Archivo NDJSON del sumidero "archivo"
+    private String archivo = "./data/eventos.ndjson";
+    // Eventos que conserva el sumidero "memoria"
+    private int capacidadMemoria = 1000;
+    // Intervalo entre revisiones del outbox
+    private Duration intervalo = Duration.ofSeconds(1);
+    private int tamanioLote = 500;
+    // Vida de los eventos ya publicados (reenvío por Last-Event-ID) antes de purgarlos
+    private Duration retencion = Duration.ofDays(7);
+    // Duración máxima de una conexión SSE; el cliente se reconecta con Last-Event-ID
+    private Duration timeoutSse = Duration.ofMinutes(30);
+    private int reenvioMaximo = 1000;
+    // Conexiones SSE abiertas a la vez; al llenarse /eventos/stream responde 503
+    private int suscriptoresMaximos = 1000;
+}
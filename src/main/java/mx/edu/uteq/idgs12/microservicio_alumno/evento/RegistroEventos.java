@@ -0,0 +1,41 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.evento;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.EventoOutboxEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.EventoOutboxRepository;
+
+/**
+ * Escribe el evento de una mutación en el outbox. Exige una transacción activa: el evento
+ * se confirma o se descarta junto con el cambio que lo origina.
+ */
+@Component
+@RequiredArgsConstructor
+public class RegistroEventos {
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(TipoEvento tipo, String agregado, Long agregadoId, Object carga) {
+        EventoOutboxEntity evento = new EventoOutboxEntity();
+        evento.setTipo(tipo);
+        evento.setAgregado(agregado);
+        evento.setAgregadoId(agregadoId);
+        evento.setCreadoEn(LocalDateTime.now());
+        try {
+            evento.setCarga(objectMapper.writeValueAsString(carga));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento " + tipo, e);
+        }
+        eventoOutboxRepository.save(evento);
+    }
+}
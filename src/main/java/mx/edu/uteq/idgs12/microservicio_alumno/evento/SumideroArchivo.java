@@ -0,0 +1,42 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.evento;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Agrega cada lote al final de un archivo NDJSON local (un evento por línea)
+@Component
+@ConditionalOnProperty(name = "alumno.eventos.sumidero", havingValue = "archivo")
+public class SumideroArchivo implements SumideroEventos {
+
+    private final Path archivo;
+    private final ObjectMapper objectMapper;
+
+    public SumideroArchivo(EventosProperties properties, ObjectMapper objectMapper) throws IOException {
+        this.archivo = Path.of(properties.getArchivo());
+        this.objectMapper = objectMapper;
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio != null) {
+            Files.createDirectories(directorio);
+        }
+    }
+
+    @Override
+    public synchronized void publicar(List<EventoCambio> eventos) throws IOException {
+        try (OutputStream salida = Files.newOutputStream(archivo,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (EventoCambio evento : eventos) {
+                salida.write(objectMapper.writeValueAsBytes(evento));
+                salida.write('\n');
+            }
+        }
+    }
+}
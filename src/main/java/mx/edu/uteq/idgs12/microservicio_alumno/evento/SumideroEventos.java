@@ -0,0 +1,13 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.evento;
+
+import java.util.List;
+
+/**
+ * Destino de los eventos publicados por DespachadorEventos. Recibe cada lote en orden de id;
+ * si lanza una excepción el lote queda pendiente y se reintenta completo, por lo que un
+ * sumidero puede ver el mismo evento más de una vez (entrega al menos una vez).
+ */
+public interface SumideroEventos {
+
+    void publicar(List<EventoCambio> eventos) throws Exception;
+}
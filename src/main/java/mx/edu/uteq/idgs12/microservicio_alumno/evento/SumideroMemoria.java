@@ -0,0 +1,35 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.evento;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Conserva en memoria los últimos eventos publicados; pensado para pruebas y desarrollo
+@Component
+@ConditionalOnProperty(name = "alumno.eventos.sumidero", havingValue = "memoria", matchIfMissing = true)
+public class SumideroMemoria implements SumideroEventos {
+
+    private final int capacidad;
+    private final Deque<EventoCambio> eventos = new ArrayDeque<>();
+
+    public SumideroMemoria(EventosProperties properties) {
+        this.capacidad = properties.getCapacidadMemoria();
+    }
+
+    @Override
+    public synchronized void publicar(List<EventoCambio> lote) {
+        for (EventoCambio evento : lote) {
+            eventos.addLast(evento);
+            if (eventos.size() > capacidad) {
+                eventos.removeFirst();
+            }
+        }
+    }
+
+    public synchronized List<EventoCambio> obtenerEventos() {
+        return List.copyOf(eventos);
+    }
+}
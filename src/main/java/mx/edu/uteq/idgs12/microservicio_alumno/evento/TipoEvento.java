@@ -0,0 +1,16 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.evento;
+
+public enum TipoEvento {
+    ALUMNO_CREADO,
+    ALUMNO_ACTUALIZADO,
+    ALUMNO_GRUPO_CAMBIADO,
+    ALUMNO_ACTIVO_CAMBIADO,
+    ALUMNO_ELIMINADO,
+    ALUMNOS_IMPORTADOS,
+    ALUMNOS_REASIGNADOS,
+    GRUPO_CREADO,
+    GRUPO_ACTUALIZADO,
+    GRUPO_PROFESOR_ASIGNADO,
+    GRUPO_ACTIVO_CAMBIADO,
+    GRUPO_ELIMINADO
+}
@@ -0,0 +1,293 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.indice;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Mapa de clave {@code long} a un arreglo ordenado de ids {@code long}, sin objetos Long.
+ * Direccionamiento abierto con sondeo lineal; la clave 0 marca una celda libre, así que solo
+ * admite claves positivas. Las lecturas no toman bloqueo: los arreglos de ids no se modifican,
+ * se reemplazan, y se publican con semántica release/acquire. Las escrituras se serializan.
+ * Las claves no se eliminan: una clave que se queda sin ids conserva un arreglo vacío.
+ */
+final class IdsPorClave {
+
+    static final long[] VACIO = new long[0];
+
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final VarHandle CLAVE = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle IDS = MethodHandles.arrayElementVarHandle(long[][].class);
+
+    private volatile Tabla tabla;
+    private int ocupadas;
+
+    IdsPorClave() {
+        this(new Tabla(CAPACIDAD_INICIAL), 0);
+    }
+
+    private IdsPorClave(Tabla tabla, int ocupadas) {
+        this.tabla = tabla;
+        this.ocupadas = ocupadas;
+    }
+
+    // El arreglo devuelto es compartido: no debe modificarse
+    long[] obtener(long clave) {
+        if (clave <= 0) {
+            return VACIO;
+        }
+        Tabla actual = tabla;
+        int celda = buscar(actual.claves, clave);
+        return celda < 0 ? VACIO : (long[]) IDS.getAcquire(actual.ids, celda);
+    }
+
+    synchronized int claves() {
+        return ocupadas;
+    }
+
+    int capacidad() {
+        return tabla.claves.length;
+    }
+
+    // ids ordenados y sin repetidos
+    synchronized void agregar(long clave, long[] ids) {
+        if (ids.length == 0) {
+            return;
+        }
+        validar(clave);
+        Tabla actual = tabla;
+        int celda = buscar(actual.claves, clave);
+        if (celda >= 0) {
+            long[] anteriores = (long[]) IDS.getAcquire(actual.ids, celda);
+            long[] union = union(anteriores, ids);
+            if (union != anteriores) {
+                IDS.setRelease(actual.ids, celda, union);
+            }
+            return;
+        }
+
+        if ((ocupadas + 1) * 2 > actual.claves.length) {
+            actual = redimensionar(actual);
+            celda = buscar(actual.claves, clave);
+        }
+        // Primero los ids y después la clave: quien ve la clave ya ve sus ids
+        IDS.setRelease(actual.ids, -celda - 1, ids.clone());
+        CLAVE.setRelease(actual.claves, -celda - 1, clave);
+        ocupadas++;
+    }
+
+    // ids ordenados y sin repetidos
+    synchronized void quitar(long clave, long[] ids) {
+        if (ids.length == 0 || clave <= 0) {
+            return;
+        }
+        Tabla actual = tabla;
+        int celda = buscar(actual.claves, clave);
+        if (celda < 0) {
+            return;
+        }
+        long[] anteriores = (long[]) IDS.getAcquire(actual.ids, celda);
+        long[] diferencia = diferencia(anteriores, ids);
+        if (diferencia != anteriores) {
+            IDS.setRelease(actual.ids, celda, diferencia);
+        }
+    }
+
+    void agregarTodos(IdsPorClave otro) {
+        otro.recorrer(this::agregar);
+    }
+
+    void quitarTodos(IdsPorClave otro) {
+        otro.recorrer(this::quitar);
+    }
+
+    void recorrer(ConsumidorIds consumidor) {
+        Tabla actual = tabla;
+        for (int celda = 0; celda < actual.claves.length; celda++) {
+            long clave = (long) CLAVE.getAcquire(actual.claves, celda);
+            if (clave != 0) {
+                consumidor.aceptar(clave, (long[]) IDS.getAcquire(actual.ids, celda));
+            }
+        }
+    }
+
+    private Tabla redimensionar(Tabla actual) {
+        Tabla nueva = new Tabla(actual.claves.length * 2);
+        for (int celda = 0; celda < actual.claves.length; celda++) {
+            long clave = actual.claves[celda];
+            if (clave != 0) {
+                int destino = -buscar(nueva.claves, clave) - 1;
+                nueva.claves[destino] = clave;
+                nueva.ids[destino] = actual.ids[celda];
+            }
+        }
+        // Las lecturas en curso terminan sobre la tabla anterior, que ya no cambia
+        tabla = nueva;
+        return nueva;
+    }
+
+    // Celda de la clave, o -(celda libre) - 1 si no está
+    private static int buscar(long[] claves, long clave) {
+        int mascara = claves.length - 1;
+        int celda = dispersar(clave) & mascara;
+        while (true) {
+            long actual = (long) CLAVE.getAcquire(claves, celda);
+            if (actual == clave) {
+                return celda;
+            }
+            if (actual == 0) {
+                return -celda - 1;
+            }
+            celda = (celda + 1) & mascara;
+        }
+    }
+
+    static int dispersar(long clave) {
+        long mezcla = clave * 0x9E3779B97F4A7C15L;
+        return (int) (mezcla ^ (mezcla >>> 32));
+    }
+
+    private static void validar(long clave) {
+        if (clave <= 0) {
+            throw new IllegalArgumentException("Clave no válida para el índice: " + clave);
+        }
+    }
+
+    private static int capacidadPara(int claves) {
+        int capacidad = CAPACIDAD_INICIAL;
+        while (capacidad < claves * 2) {
+            capacidad <<= 1;
+        }
+        return capacidad;
+    }
+
+    // Devuelve el mismo arreglo si no hay ids nuevos
+    private static long[] union(long[] a, long[] b) {
+        long[] union = new long[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length || j < b.length) {
+            long siguiente;
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                siguiente = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                siguiente = b[j++];
+            } else {
+                siguiente = a[i++];
+                j++;
+            }
+            union[k++] = siguiente;
+        }
+        if (k == a.length) {
+            return a;
+        }
+        return k == union.length ? union : Arrays.copyOf(union, k);
+    }
+
+    // Devuelve el mismo arreglo si ninguno de los ids estaba
+    private static long[] diferencia(long[] a, long[] b) {
+        long[] diferencia = new long[a.length];
+        int j = 0;
+        int k = 0;
+        for (long id : a) {
+            while (j < b.length && b[j] < id) {
+                j++;
+            }
+            if (j == b.length || b[j] != id) {
+                diferencia[k++] = id;
+            }
+        }
+        if (k == a.length) {
+            return a;
+        }
+        return k == 0 ? VACIO : Arrays.copyOf(diferencia, k);
+    }
+
+    @FunctionalInterface
+    interface ConsumidorIds {
+        void aceptar(long clave, long[] ids);
+    }
+
+    private static final class Tabla {
+        final long[] claves;
+        final long[][] ids;
+
+        Tabla(int capacidad) {
+            claves = new long[capacidad];
+            ids = new long[capacidad][];
+        }
+    }
+
+    /**
+     * Construcción en bloque (arranque, altas masivas): los ids de cada clave se acumulan en un
+     * arreglo que crece al doble en lugar de copiarse en cada alta. No es seguro entre hilos.
+     */
+    static final class Constructor {
+
+        private long[] claves = new long[CAPACIDAD_INICIAL];
+        private long[][] ids = new long[CAPACIDAD_INICIAL][];
+        private int[] tamanios = new int[CAPACIDAD_INICIAL];
+        private int ocupadas;
+        private long total;
+
+        // Los ids de cada clave deben llegar en orden ascendente
+        void anexar(long clave, long id) {
+            validar(clave);
+            int celda = buscar(claves, clave);
+            if (celda < 0) {
+                if ((ocupadas + 1) * 2 > claves.length) {
+                    crecer();
+                    celda = buscar(claves, clave);
+                }
+                celda = -celda - 1;
+                claves[celda] = clave;
+                ids[celda] = new long[4];
+                ocupadas++;
+            }
+            int tamanio = tamanios[celda];
+            if (tamanio > 0 && ids[celda][tamanio - 1] == id) {
+                return;
+            }
+            if (tamanio == ids[celda].length) {
+                ids[celda] = Arrays.copyOf(ids[celda], tamanio * 2);
+            }
+            ids[celda][tamanio] = id;
+            tamanios[celda] = tamanio + 1;
+            total++;
+        }
+
+        long total() {
+            return total;
+        }
+
+        IdsPorClave construir() {
+            Tabla tabla = new Tabla(capacidadPara(ocupadas));
+            for (int celda = 0; celda < claves.length; celda++) {
+                if (claves[celda] != 0) {
+                    int destino = -buscar(tabla.claves, claves[celda]) - 1;
+                    tabla.claves[destino] = claves[celda];
+                    tabla.ids[destino] = Arrays.copyOf(ids[celda], tamanios[celda]);
+                }
+            }
+            return new IdsPorClave(tabla, ocupadas);
+        }
+
+        private void crecer() {
+            long[] clavesAnteriores = claves;
+            long[][] idsAnteriores = ids;
+            int[] tamaniosAnteriores = tamanios;
+            claves = new long[clavesAnteriores.length * 2];
+            ids = new long[claves.length][];
+            tamanios = new int[claves.length];
+            for (int celda = 0; celda < clavesAnteriores.length; celda++) {
+                if (clavesAnteriores[celda] != 0) {
+                    int destino = -buscar(claves, clavesAnteriores[celda]) - 1;
+                    claves[destino] = clavesAnteriores[celda];
+                    ids[destino] = idsAnteriores[celda];
+                    tamanios[destino] = tamaniosAnteriores[celda];
+                }
+            }
+        }
+    }
+}
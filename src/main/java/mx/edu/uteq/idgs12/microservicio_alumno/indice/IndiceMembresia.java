@@ -0,0 +1,218 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.indice;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mx.edu.uteq.idgs12.microservicio_alumno.config.IndiceMembresiaProperties;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.UbicacionAlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.AlumnoRepository;
+
+/**
+ * Índice en memoria de los alumnos activos de cada grupo, como arreglos ordenados de ids. Responde
+ * el conteo de alumnos activos de un grupo (roster y detalle con
+ * alumno.grupos.usar-contador-alumnos=false, total estimado de una reasignación) sin consultar la
+ * base. Se construye al arrancar y lo mantienen las escrituras de los servicios; cada cambio se
+ * aplica al confirmarse su transacción, así un rollback no lo desfasa. Una escritura hecha fuera
+ * de los servicios no se cuenta hasta la siguiente reconstrucción, cada
+ * alumno.indice-membresia.reconstruccion; los listados siempre se leen de la base. La lectura de
+ * la reconstrucción corre sin bloquear a los escritores: los cambios aplicados mientras tanto se
+ * anotan y se repiten sobre el mapa nuevo antes de publicarlo. Son uniones y diferencias de
+ * conjuntos, así que repetir uno que la lectura ya incluía no altera el resultado.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IndiceMembresia {
+
+    private final AlumnoRepository alumnoRepository;
+    private final IndiceMembresiaProperties properties;
+
+    private volatile IdsPorClave alumnosActivosPorGrupo = new IdsPorClave();
+    // Serializa los cambios con la publicación de un mapa nuevo para que ninguno se pierda
+    private final ReentrantLock escritura = new ReentrantLock();
+    private final ReentrantLock reconstruccion = new ReentrantLock();
+    // Cambios aplicados durante una reconstrucción en curso; null si no hay ninguna
+    private List<Consumer<IdsPorClave>> aplicadosDuranteConstruccion;
+    private volatile boolean listo;
+
+    public boolean isListo() {
+        return listo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${alumno.indice-membresia.reconstruccion:15m}",
+            initialDelayString = "${alumno.indice-membresia.reconstruccion:15m}")
+    @Transactional(readOnly = true)
+    public void construir() {
+        if (!properties.isHabilitado()) {
+            log.info("Índice de membresía deshabilitado: los conteos de alumnos van a la base de datos");
+            return;
+        }
+        long inicio = System.nanoTime();
+        reconstruccion.lock();
+        try {
+            escritura.lock();
+            try {
+                aplicadosDuranteConstruccion = new ArrayList<>();
+            } finally {
+                escritura.unlock();
+            }
+
+            IdsPorClave.Constructor porGrupo = new IdsPorClave.Constructor();
+            try (Stream<MembresiaAlumno> alumnos = alumnoRepository.streamMembresias()) {
+                // Los alumnos llegan ordenados por id, así cada arreglo queda ordenado
+                alumnos.forEach(alumno -> anexar(alumno, porGrupo));
+            }
+            IdsPorClave nuevo = porGrupo.construir();
+
+            int repetidos;
+            escritura.lock();
+            try {
+                repetidos = aplicadosDuranteConstruccion.size();
+                aplicadosDuranteConstruccion.forEach(cambio -> cambio.accept(nuevo));
+                alumnosActivosPorGrupo = nuevo;
+                listo = true;
+            } finally {
+                aplicadosDuranteConstruccion = null;
+                escritura.unlock();
+            }
+            log.info("Índice de membresía construido: {} alumnos activos en {} grupos en {} ms "
+                    + "({} cambios concurrentes)", porGrupo.total(), nuevo.claves(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio), repetidos);
+        } finally {
+            reconstruccion.unlock();
+        }
+    }
+
+    public int contarAlumnosActivos(long grupoId) {
+        return alumnosActivosPorGrupo.obtener(grupoId).length;
+    }
+
+    // Ordenado y compartido, no debe modificarse
+    long[] alumnosActivosDeGrupo(long grupoId) {
+        return alumnosActivosPorGrupo.obtener(grupoId);
+    }
+
+    // Cambios: se aplican al confirmar la transacción en curso
+
+    public void alumnoCreado(MembresiaAlumno alumno) {
+        alumnosCreados(List.of(alumno));
+    }
+
+    public void alumnosCreados(List<MembresiaAlumno> alumnos) {
+        if (alumnos.isEmpty() || !properties.isHabilitado()) {
+            return;
+        }
+        IdsPorClave.Constructor porGrupo = new IdsPorClave.Constructor();
+        alumnos.stream()
+                .sorted(Comparator.comparing(MembresiaAlumno::id))
+                .forEach(alumno -> anexar(alumno, porGrupo));
+        IdsPorClave grupos = porGrupo.construir();
+        alConfirmar(destino -> destino.agregarTodos(grupos));
+    }
+
+    // Solo para alumnos activos: los inactivos no figuran en ningún grupo del índice
+    public void alumnoMovido(long alumnoId, Long grupoAnteriorId, Long grupoNuevoId) {
+        if (Objects.equals(grupoAnteriorId, grupoNuevoId)) {
+            return;
+        }
+        long[] ids = {alumnoId};
+        alConfirmar(destino -> {
+            if (grupoAnteriorId != null) {
+                destino.quitar(grupoAnteriorId, ids);
+            }
+            if (grupoNuevoId != null) {
+                destino.agregar(grupoNuevoId, ids);
+            }
+        });
+    }
+
+    public void alumnoActivoCambiado(long alumnoId, Long grupoId, boolean activo) {
+        if (grupoId == null) {
+            return;
+        }
+        long[] ids = {alumnoId};
+        alConfirmar(destino -> {
+            if (activo) {
+                destino.agregar(grupoId, ids);
+            } else {
+                destino.quitar(grupoId, ids);
+            }
+        });
+    }
+
+    // Ubicaciones de los alumnos movidos, leídas antes del UPDATE
+    public void alumnosReasignados(List<UbicacionAlumnoDto> anteriores, Long grupoDestinoId) {
+        if (!properties.isHabilitado()) {
+            return;
+        }
+        List<UbicacionAlumnoDto> activos = anteriores.stream()
+                .filter(UbicacionAlumnoDto::isActivo)
+                .sorted(Comparator.comparing(UbicacionAlumnoDto::getId))
+                .toList();
+        IdsPorClave.Constructor salidas = new IdsPorClave.Constructor();
+        long[] entradas = new long[activos.size()];
+        for (int i = 0; i < entradas.length; i++) {
+            UbicacionAlumnoDto ubicacion = activos.get(i);
+            entradas[i] = ubicacion.getId();
+            if (ubicacion.getGrupoId() != null) {
+                salidas.anexar(ubicacion.getGrupoId(), ubicacion.getId());
+            }
+        }
+        IdsPorClave origenes = salidas.construir();
+        alConfirmar(destino -> {
+            destino.quitarTodos(origenes);
+            destino.agregar(grupoDestinoId, entradas);
+        });
+    }
+
+    private static void anexar(MembresiaAlumno alumno, IdsPorClave.Constructor porGrupo) {
+        if (alumno.activo() && alumno.grupoId() != null) {
+            porGrupo.anexar(alumno.grupoId(), alumno.id());
+        }
+    }
+
+    private void alConfirmar(Consumer<IdsPorClave> cambio) {
+        if (!properties.isHabilitado()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar(cambio);
+                }
+            });
+        } else {
+            aplicar(cambio);
+        }
+    }
+
+    private void aplicar(Consumer<IdsPorClave> cambio) {
+        escritura.lock();
+        try {
+            cambio.accept(alumnosActivosPorGrupo);
+            if (aplicadosDuranteConstruccion != null) {
+                aplicadosDuranteConstruccion.add(cambio);
+            }
+        } finally {
+            escritura.unlock();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.indice;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.AlumnoEntity;
+
+public record MembresiaAlumno(Long id, Long programaEducativoId, Long grupoId, boolean activo) {
+
+    public static MembresiaAlumno de(AlumnoEntity alumno) {
+        return new MembresiaAlumno(alumno.getId(), alumno.getProgramaEducativoId(), alumno.getGrupoId(),
+                alumno.isActivo());
+    }
+}
@@ -0,0 +1,48 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.metrics;
+
+/**
+ * Contadores de la petición HTTP en curso (hilo actual). Fuera de una petición,
+ * por ejemplo en tareas de arranque, no se cuenta nada.
+ */
+public final class ActividadPeticion {
+
+    private static final ThreadLocal<ActividadPeticion> ACTUAL = new ThreadLocal<>();
+
+    private long consultas;
+    private long entidades;
+
+    private ActividadPeticion() {
+    }
+
+    static void iniciar() {
+        ACTUAL.set(new ActividadPeticion());
+    }
+
+    static ActividadPeticion finalizar() {
+        ActividadPeticion actividad = ACTUAL.get();
+        ACTUAL.remove();
+        return actividad;
+    }
+
+    static void consultaEjecutada() {
+        ActividadPeticion actividad = ACTUAL.get();
+        if (actividad != null) {
+            actividad.consultas++;
+        }
+    }
+
+    static void entidadCargada() {
+        ActividadPeticion actividad = ACTUAL.get();
+        if (actividad != null) {
+            actividad.entidades++;
+        }
+    }
+
+    long getConsultas() {
+        return consultas;
+    }
+
+    long getEntidades() {
+        return entidades;
+    }
+}
@@ -0,0 +1,21 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+// Cuenta sentencias SQL preparadas y entidades cargadas por Hibernate en la petición actual
+public class ContadorConsultasHibernate implements StatementInspector, Interceptor {
+
+    @Override
+    public String inspect(String sql) {
+        ActividadPeticion.consultaEjecutada();
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        ActividadPeticion.entidadCargada();
+        return false;
+    }
+}
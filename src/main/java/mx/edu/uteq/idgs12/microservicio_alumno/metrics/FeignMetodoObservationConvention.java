@@ -0,0 +1,19 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.metrics;
+
+import feign.Request;
+import feign.micrometer.DefaultFeignObservationConvention;
+import feign.micrometer.FeignContext;
+import io.micrometer.common.KeyValues;
+
+// Agrega el método Java del Feign Client (p. ej. ProfesorClient#obtenerProfesorPorId(Long)) a http.client.requests
+public class FeignMetodoObservationConvention extends DefaultFeignObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(FeignContext context) {
+        Request request = context.getCarrier();
+        String metodo = request.requestTemplate().methodMetadata() != null
+                ? request.requestTemplate().methodMetadata().configKey()
+                : "UNKNOWN";
+        return super.getLowCardinalityKeyValues(context).and("feign.method", metodo);
+    }
+}
@@ -0,0 +1,64 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.metrics;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Registra cuántas consultas SQL y entidades JPA usó cada petición, con las mismas
+ * etiquetas uri/method de http.server.requests. Un N+1 aparece como un salto en
+ * alumno.peticion.consultas del endpoint afectado. Las peticiones asíncronas (streaming,
+ * exportación, /async, SSE) no se registran: su trabajo corre en otros hilos y los contadores
+ * del hilo de la petición no lo verían.
+ */
+@RequiredArgsConstructor
+public class MetricasPeticionInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // El despacho asíncrono solo escribe el resultado; el registro se omite (ver la clase)
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            ActividadPeticion.iniciar();
+        }
+        return true;
+    }
+
+    // El hilo del contenedor vuelve al pool: no debe quedarse con los contadores de esta petición
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ActividadPeticion.finalizar();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ActividadPeticion actividad = ActividadPeticion.finalizar();
+        if (actividad == null) {
+            return;
+        }
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = patron != null ? patron.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("alumno.peticion.consultas")
+                .description("Sentencias SQL preparadas por petición")
+                .tag("uri", uri)
+                .tag("method", request.getMethod())
+                .register(meterRegistry)
+                .record(actividad.getConsultas());
+        DistributionSummary.builder("alumno.peticion.entidades")
+                .description("Entidades JPA cargadas por petición")
+                .tag("uri", uri)
+                .tag("method", request.getMethod())
+                .register(meterRegistry)
+                .record(actividad.getEntidades());
+    }
+}
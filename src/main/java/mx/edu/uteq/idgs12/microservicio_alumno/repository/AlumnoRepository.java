@@ -1,16 +1,41 @@
 package mx.edu.uteq.idgs12.microservicio_alumno.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.UbicacionAlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.VersionColeccionDto;
 import mx.edu.uteq.idgs12.microservicio_alumno.entity.AlumnoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.estadistica.ConteoSegmento;
+import mx.edu.uteq.idgs12.microservicio_alumno.indice.MembresiaAlumno;
+import mx.edu.uteq.idgs12.microservicio_alumno.search.AlumnoTextoBusqueda;
 
 @Repository
 public interface AlumnoRepository extends JpaRepository<AlumnoEntity, Long> {
+
+    // Proyección directa a AlumnoDto para los listados: sin entidades administradas ni snapshots
+    String SELECCION_DTO = "SELECT new mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto("
+            + "a.id, a.nombre, a.apellido, a.matricula, a.correo, a.telefono, "
+            + "a.programaEducativoId, a.grupoId, a.activo) FROM AlumnoEntity a ";
     
+    // Cache de consultas: se invalida con cualquier escritura en alumnos
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<AlumnoEntity> findByMatricula(String matricula);
     
     List<AlumnoEntity> findByGrupoId(Long grupoId);
@@ -20,11 +45,104 @@ public interface AlumnoRepository extends JpaRepository<AlumnoEntity, Long> {
     List<AlumnoEntity> findByActivoTrue();
     
     List<AlumnoEntity> findByGrupoIdAndActivoTrue(Long grupoId);
+
+    long countByGrupoIdAndActivoTrue(Long grupoId);
     
+    // Respaldo de la búsqueda mientras se construye el índice: entidades sin snapshot de cambios
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<AlumnoEntity> findByNombreContainingIgnoreCaseOrApellidoContainingIgnoreCase(
         String nombre, String apellido);
     
     boolean existsByMatricula(String matricula);
     
     boolean existsByCorreo(String correo);
+
+    // Verificación de duplicados por lote (importación masiva)
+    @Query("SELECT a.matricula FROM AlumnoEntity a WHERE a.matricula IN :matriculas")
+    List<String> findMatriculasExistentes(@Param("matriculas") Collection<String> matriculas);
+
+    @Query("SELECT a.correo FROM AlumnoEntity a WHERE a.correo IN :correos")
+    List<String> findCorreosExistentes(@Param("correos") Collection<String> correos);
+
+    @Query("SELECT COALESCE(MAX(a.id), 0) FROM AlumnoEntity a")
+    long obtenerIdMaximo();
+
+    @Query(SELECCION_DTO + "ORDER BY a.id")
+    List<AlumnoDto> listarTodos();
+
+    @Query(SELECCION_DTO + "WHERE a.activo = true ORDER BY a.id")
+    List<AlumnoDto> listarActivos();
+
+    @Query(SELECCION_DTO + "WHERE a.grupoId = :grupoId AND a.activo = true ORDER BY a.id")
+    List<AlumnoDto> listarActivosPorGrupo(@Param("grupoId") Long grupoId);
+
+    // Versión del listado de alumnos activos del grupo, para GET condicional
+    @Query("SELECT new mx.edu.uteq.idgs12.microservicio_alumno.dto.VersionColeccionDto("
+            + "COUNT(a), COALESCE(SUM(a.version), 0), MAX(a.actualizadoEn)) "
+            + "FROM AlumnoEntity a WHERE a.grupoId = :grupoId AND a.activo = true")
+    VersionColeccionDto obtenerVersionActivosPorGrupo(@Param("grupoId") Long grupoId);
+
+    @Query(SELECCION_DTO + "WHERE a.programaEducativoId = :programaEducativoId ORDER BY a.id")
+    List<AlumnoDto> listarPorProgramaEducativo(@Param("programaEducativoId") Long programaEducativoId);
+
+    @Query(SELECCION_DTO + "WHERE a.id IN :ids")
+    List<AlumnoDto> listarPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECCION_DTO + "WHERE a.id > :id ORDER BY a.id")
+    List<AlumnoDto> listarDespuesDe(@Param("id") Long id, Limit limit);
+
+    @Query(SELECCION_DTO + "WHERE a.activo = true AND a.id > :id ORDER BY a.id")
+    List<AlumnoDto> listarActivosDespuesDe(@Param("id") Long id, Limit limit);
+
+    // Lectura con cursor JDBC para respuestas en streaming
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECCION_DTO + "ORDER BY a.id")
+    Stream<AlumnoDto> streamTodos();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECCION_DTO + "WHERE a.activo = true ORDER BY a.id")
+    Stream<AlumnoDto> streamActivos();
+
+    // Exportación por programa o por grupo (índices idx_alumnos_programa e idx_alumnos_grupo_activo)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECCION_DTO + "WHERE a.programaEducativoId = :programaEducativoId ORDER BY a.id")
+    Stream<AlumnoDto> streamPorProgramaEducativo(@Param("programaEducativoId") Long programaEducativoId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECCION_DTO + "WHERE a.grupoId = :grupoId ORDER BY a.id")
+    Stream<AlumnoDto> streamPorGrupo(@Param("grupoId") Long grupoId);
+
+    // Reasignación masiva: ids por lote, bloqueo de las filas del lote y un solo UPDATE
+    @Query("SELECT a.id FROM AlumnoEntity a WHERE a.grupoId = :grupoId AND a.activo = true "
+            + "AND a.id > :despuesDe ORDER BY a.id")
+    List<Long> listarIdsActivosPorGrupo(@Param("grupoId") Long grupoId, @Param("despuesDe") long despuesDe,
+            Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new mx.edu.uteq.idgs12.microservicio_alumno.dto.UbicacionAlumnoDto("
+            + "a.id, a.programaEducativoId, a.grupoId, a.activo) "
+            + "FROM AlumnoEntity a WHERE a.id IN :ids")
+    List<UbicacionAlumnoDto> bloquearUbicaciones(@Param("ids") Collection<Long> ids);
+
+    // Incrementa la versión igual que un save: las entidades leídas antes fallan por bloqueo optimista
+    @Modifying
+    @Query("UPDATE AlumnoEntity a SET a.grupoId = :grupoId, a.version = a.version + 1, "
+            + "a.actualizadoEn = :actualizadoEn WHERE a.id IN :ids")
+    int reasignarGrupo(@Param("ids") Collection<Long> ids, @Param("grupoId") Long grupoId,
+            @Param("actualizadoEn") LocalDateTime actualizadoEn);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new mx.edu.uteq.idgs12.microservicio_alumno.search.AlumnoTextoBusqueda("
+            + "a.id, a.nombre, a.apellido, a.matricula) FROM AlumnoEntity a ORDER BY a.id")
+    Stream<AlumnoTextoBusqueda> streamTextoBusqueda();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new mx.edu.uteq.idgs12.microservicio_alumno.indice.MembresiaAlumno("
+            + "a.id, a.programaEducativoId, a.grupoId, a.activo) FROM AlumnoEntity a ORDER BY a.id")
+    Stream<MembresiaAlumno> streamMembresias();
+
+    @Query("SELECT new mx.edu.uteq.idgs12.microservicio_alumno.estadistica.ConteoSegmento("
+            + "a.programaEducativoId, a.grupoId, a.activo, COUNT(a)) FROM AlumnoEntity a "
+            + "GROUP BY a.programaEducativoId, a.grupoId, a.activo")
+    List<ConteoSegmento> contarPorSegmento();
 }
\ No newline at end of file
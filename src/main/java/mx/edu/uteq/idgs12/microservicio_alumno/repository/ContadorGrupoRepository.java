@@ -0,0 +1,53 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.ContadorGrupoEntity;
+
+@Repository
+public interface ContadorGrupoRepository extends JpaRepository<ContadorGrupoEntity, Long> {
+
+    // Las escrituras son nativas (MERGE crea la fila del grupo si falta) y declaran su tabla como
+    // único espacio afectado: sin la sugerencia Hibernate invalidaría toda la cache de segundo nivel
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "contadores_grupo"))
+    @Query(value = "MERGE INTO contadores_grupo c "
+            + "USING (VALUES (CAST(:grupoId AS BIGINT), CAST(:delta AS BIGINT))) s (grupo_id, delta) "
+            + "ON c.grupo_id = s.grupo_id "
+            + "WHEN MATCHED THEN UPDATE SET alumnos_activos = c.alumnos_activos + s.delta, "
+            + "actualizado_en = LOCALTIMESTAMP "
+            + "WHEN NOT MATCHED THEN INSERT (grupo_id, alumnos_activos, actualizado_en) "
+            + "VALUES (s.grupo_id, s.delta, LOCALTIMESTAMP)",
+            nativeQuery = true)
+    int ajustarAlumnosActivos(@Param("grupoId") Long grupoId, @Param("delta") long delta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "contadores_grupo"))
+    @Query(value = "MERGE INTO contadores_grupo c "
+            + "USING (SELECT g.id AS grupo_id, (SELECT COUNT(*) FROM alumnos a "
+            + "WHERE a.grupo_id = g.id AND a.activo = TRUE) AS total FROM grupos g) s "
+            + "ON c.grupo_id = s.grupo_id "
+            + "WHEN MATCHED AND c.alumnos_activos <> s.total THEN UPDATE SET alumnos_activos = s.total, "
+            + "actualizado_en = LOCALTIMESTAMP "
+            + "WHEN NOT MATCHED THEN INSERT (grupo_id, alumnos_activos, actualizado_en) "
+            + "VALUES (s.grupo_id, s.total, LOCALTIMESTAMP)",
+            nativeQuery = true)
+    int recalcularAlumnosActivos();
+
+    @Query("SELECT c.alumnosActivos FROM ContadorGrupoEntity c WHERE c.grupoId = :grupoId")
+    Optional<Long> obtenerAlumnosActivos(@Param("grupoId") Long grupoId);
+
+    @Query("SELECT c.actualizadoEn FROM ContadorGrupoEntity c WHERE c.grupoId = :grupoId")
+    Optional<LocalDateTime> obtenerActualizadoEn(@Param("grupoId") Long grupoId);
+}
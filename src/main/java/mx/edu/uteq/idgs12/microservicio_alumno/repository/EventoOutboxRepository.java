@@ -0,0 +1,33 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.EventoOutboxEntity;
+
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutboxEntity, Long> {
+
+    List<EventoOutboxEntity> findByPublicadoEnIsNullOrderByIdAsc(Limit limit);
+
+    // Reenvío a suscriptores que se reconectan (Last-Event-ID)
+    List<EventoOutboxEntity> findBySecuenciaGreaterThanOrderBySecuenciaAsc(Long secuencia, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(e.secuencia), 0) FROM EventoOutboxEntity e")
+    long obtenerSecuenciaMaxima();
+
+    @Query(value = "SELECT NEXT VALUE FOR eventos_secuencia_publicacion FROM SYSTEM_RANGE(1, :cantidad)",
+            nativeQuery = true)
+    List<Long> siguientesSecuencias(@Param("cantidad") int cantidad);
+
+    @Modifying
+    @Query("DELETE FROM EventoOutboxEntity e WHERE e.publicadoEn < :limite")
+    int eliminarPublicadosAntesDe(@Param("limite") LocalDateTime limite);
+}
@@ -2,13 +2,27 @@ package mx.edu.uteq.idgs12.microservicio_alumno.repository;
 
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.FilaRosterGrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.OcupacionGrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.VersionColeccionDto;
 import mx.edu.uteq.idgs12.microservicio_alumno.entity.GrupoEntity;
 
 @Repository
 public interface GrupoRepository extends JpaRepository<GrupoEntity, Long> {
+
+    // Proyección directa a GrupoDto para los listados: sin entidades administradas ni snapshots
+    String SELECCION_DTO = "SELECT new mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoDto("
+            + "g.id, g.nombre, g.programaEducativoId, g.profesorId, g.activo) FROM GrupoEntity g ";
     
     List<GrupoEntity> findByActivoTrue();
     
@@ -18,5 +32,54 @@ public interface GrupoRepository extends JpaRepository<GrupoEntity, Long> {
     
     List<GrupoEntity> findByProfesorId(Long profesorId);
     
+    // Listados con cache de consultas: se invalidan con cualquier escritura en grupos
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECCION_DTO + "ORDER BY g.id")
+    List<GrupoDto> listarTodos();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECCION_DTO + "WHERE g.activo = true ORDER BY g.id")
+    List<GrupoDto> listarActivos();
+
+    // Versión del listado de grupos activos, para GET condicional. La última modificación cuenta
+    // también los inactivos: un grupo que se desactiva sale del listado con su fecha nueva
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new mx.edu.uteq.idgs12.microservicio_alumno.dto.VersionColeccionDto("
+            + "COALESCE(SUM(CASE WHEN g.activo = true THEN 1 ELSE 0 END), 0), "
+            + "COALESCE(SUM(CASE WHEN g.activo = true THEN g.version ELSE 0 END), 0), MAX(g.actualizadoEn)) "
+            + "FROM GrupoEntity g")
+    VersionColeccionDto obtenerVersionActivos();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECCION_DTO + "WHERE g.programaEducativoId = :programaEducativoId AND g.activo = true ORDER BY g.id")
+    List<GrupoDto> listarActivosPorProgramaEducativo(@Param("programaEducativoId") Long programaEducativoId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECCION_DTO + "WHERE g.profesorId = :profesorId ORDER BY g.id")
+    List<GrupoDto> listarPorProfesor(@Param("profesorId") Long profesorId);
+    
     boolean existsByNombreAndProgramaEducativoId(String nombre, Long programaEducativoId);
-}
\ No newline at end of file
+
+    @Query("SELECT new mx.edu.uteq.idgs12.microservicio_alumno.dto.OcupacionGrupoDto("
+            + "g.id, g.nombre, g.activo, COALESCE(c.alumnosActivos, 0L)) FROM GrupoEntity g "
+            + "LEFT JOIN ContadorGrupoEntity c ON c.grupoId = g.id ORDER BY g.id")
+    List<OcupacionGrupoDto> obtenerOcupacionDesdeContador();
+
+    @Query("SELECT new mx.edu.uteq.idgs12.microservicio_alumno.dto.OcupacionGrupoDto("
+            + "g.id, g.nombre, g.activo, COUNT(a)) FROM GrupoEntity g "
+            + "LEFT JOIN AlumnoEntity a ON a.grupoId = g.id AND a.activo = true "
+            + "GROUP BY g.id, g.nombre, g.activo ORDER BY g.id")
+    List<OcupacionGrupoDto> contarOcupacion();
+
+    // Roster: encabezado del grupo y una página de sus alumnos activos en una sola consulta.
+    // Sin alumnos en la página se obtiene una sola fila con las columnas del alumno en null.
+    @Query("SELECT new mx.edu.uteq.idgs12.microservicio_alumno.dto.FilaRosterGrupoDto("
+            + "g.id, g.nombre, g.programaEducativoId, g.profesorId, g.activo, COALESCE(c.alumnosActivos, 0L), "
+            + "a.id, a.nombre, a.apellido, a.matricula, a.correo, a.telefono, a.programaEducativoId) "
+            + "FROM GrupoEntity g "
+            + "LEFT JOIN ContadorGrupoEntity c ON c.grupoId = g.id "
+            + "LEFT JOIN AlumnoEntity a ON a.grupoId = g.id AND a.activo = true AND a.id > :despuesDe "
+            + "WHERE g.id = :grupoId ORDER BY a.id")
+    List<FilaRosterGrupoDto> obtenerRoster(@Param("grupoId") Long grupoId,
+            @Param("despuesDe") long despuesDe, Limit limit);
+}
@@ -0,0 +1,355 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.AlumnoRepository;
+
+/**
+ * Índice en memoria de prefijos de palabra sobre nombre, apellido y matrícula.
+ * Los tokens se guardan normalizados (minúsculas y sin acentos), así que "martinez"
+ * encuentra "Martínez". Cada término de la búsqueda debe ser prefijo de alguna palabra
+ * del alumno; las coincidencias exactas de palabra puntúan más que las de prefijo.
+ * Dentro de una transacción los cambios se aplican al confirmarse: un rollback no deja
+ * tokens de datos que nunca se guardaron. Cada alumno.busqueda.reconstruccion se reconstruye
+ * desde la base para recoger escrituras hechas fuera del servicio. La lectura corre sin
+ * bloquear a los escritores: los cambios aplicados mientras tanto se anotan y se repiten sobre
+ * los mapas nuevos antes de publicarlos. Cada cambio deja los tokens de un alumno en su valor
+ * final, así que repetir uno que la lectura ya incluía no altera el resultado.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AlumnoSearchIndex {
+
+    // Candidatos evaluados como máximo por búsqueda; acota la latencia de prefijos muy comunes
+    private static final int MAX_CANDIDATOS = 5000;
+
+    private final AlumnoRepository alumnoRepository;
+
+    private volatile Mapas mapas = new Mapas(new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>());
+    // Serializa los cambios con la publicación de mapas nuevos para que ninguno se pierda
+    private final ReentrantLock escritura = new ReentrantLock();
+    private final ReentrantLock reconstruccion = new ReentrantLock();
+    // Cambios aplicados durante una reconstrucción en curso; null si no hay ninguna
+    private List<Consumer<Mapas>> aplicadosDuranteConstruccion;
+    private volatile boolean listo;
+
+    public boolean isListo() {
+        return listo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${alumno.busqueda.reconstruccion:15m}",
+            initialDelayString = "${alumno.busqueda.reconstruccion:15m}")
+    @Transactional(readOnly = true)
+    public void construir() {
+        long inicio = System.nanoTime();
+        reconstruccion.lock();
+        try {
+            escritura.lock();
+            try {
+                aplicadosDuranteConstruccion = new ArrayList<>();
+            } finally {
+                escritura.unlock();
+            }
+
+            Map<String, ListaIds> listas = new HashMap<>();
+            ConcurrentHashMap<Long, String[]> tokensPorAlumno = new ConcurrentHashMap<>();
+            try (Stream<AlumnoTextoBusqueda> alumnos = alumnoRepository.streamTextoBusqueda()) {
+                // Los alumnos llegan ordenados por id, así cada lista queda ordenada
+                alumnos.forEach(alumno -> {
+                    String[] tokens = tokensDe(alumno);
+                    for (int i = 0; i < tokens.length; i++) {
+                        ListaIds lista = listas.computeIfAbsent(tokens[i], ListaIds::new);
+                        lista.agregar(alumno.id());
+                        tokens[i] = lista.token;
+                    }
+                    tokensPorAlumno.put(alumno.id(), tokens);
+                });
+            }
+            ConcurrentSkipListMap<String, long[]> indice = new ConcurrentSkipListMap<>();
+            listas.values().forEach(lista -> indice.put(lista.token, lista.comoArreglo()));
+            Mapas nuevos = new Mapas(indice, tokensPorAlumno);
+
+            int repetidos;
+            escritura.lock();
+            try {
+                repetidos = aplicadosDuranteConstruccion.size();
+                aplicadosDuranteConstruccion.forEach(cambio -> cambio.accept(nuevos));
+                mapas = nuevos;
+                listo = true;
+            } finally {
+                aplicadosDuranteConstruccion = null;
+                escritura.unlock();
+            }
+            log.info("Índice de búsqueda construido: {} alumnos, {} tokens en {} ms ({} cambios concurrentes)",
+                    tokensPorAlumno.size(), indice.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio), repetidos);
+        } finally {
+            reconstruccion.unlock();
+        }
+    }
+
+    public void indexar(AlumnoTextoBusqueda alumno) {
+        long id = alumno.id();
+        String[] nuevos = tokensDe(alumno);
+        alConfirmar(destino -> destino.reemplazarTokens(id, nuevos));
+    }
+
+    // Alta de alumnos nuevos en bloque (importación): cada lista de ids se copia una sola vez
+    public void indexarNuevos(List<AlumnoTextoBusqueda> alumnos) {
+        Map<String, ListaIds> listas = new HashMap<>();
+        Map<Long, String[]> tokens = new HashMap<>();
+        alumnos.stream()
+                .sorted((a, b) -> Long.compare(a.id(), b.id()))
+                .forEach(alumno -> {
+                    String[] propios = tokensDe(alumno);
+                    for (String token : propios) {
+                        listas.computeIfAbsent(token, ListaIds::new).agregar(alumno.id());
+                    }
+                    tokens.put(alumno.id(), propios);
+                });
+        Map<String, long[]> ids = new HashMap<>();
+        listas.values().forEach(lista -> ids.put(lista.token, lista.comoArreglo()));
+
+        alConfirmar(destino -> {
+            destino.tokensPorAlumno.putAll(tokens);
+            ids.forEach(destino::fusionar);
+        });
+    }
+
+    // Devuelve los ids de los alumnos que coinciden, del más relevante al menos relevante
+    public List<Long> buscar(String termino, int limite) {
+        String[] terminos = TextoNormalizado.tokens(termino);
+        if (terminos.length == 0) {
+            return List.of();
+        }
+        Mapas actuales = mapas;
+
+        // Se recorren los candidatos del término con menos coincidencias (contando hasta MAX_CANDIDATOS)
+        ConcurrentNavigableMap<String, long[]> pivote = null;
+        long menorTotal = Long.MAX_VALUE;
+        for (String t : terminos) {
+            ConcurrentNavigableMap<String, long[]> coincidencias = actuales.conPrefijo(t);
+            long total = 0;
+            for (long[] ids : coincidencias.values()) {
+                total += ids.length;
+                if (total >= menorTotal || total >= MAX_CANDIDATOS) {
+                    break;
+                }
+            }
+            if (total < menorTotal) {
+                menorTotal = total;
+                pivote = coincidencias;
+            }
+        }
+        if (menorTotal == 0) {
+            return List.of();
+        }
+
+        // En orden lexicográfico la palabra exacta es la primera del rango de prefijo
+        Map<Long, Integer> puntajes = new HashMap<>();
+        Set<Long> evaluados = new HashSet<>();
+        recorrido:
+        for (Map.Entry<String, long[]> entrada : pivote.entrySet()) {
+            for (long id : entrada.getValue()) {
+                if (!evaluados.add(id)) {
+                    continue;
+                }
+                String[] tokens = actuales.tokensPorAlumno.get(id);
+                int puntaje = tokens != null ? puntuar(terminos, tokens) : 0;
+                if (puntaje > 0) {
+                    puntajes.put(id, puntaje);
+                }
+                if (evaluados.size() >= MAX_CANDIDATOS) {
+                    break recorrido;
+                }
+            }
+        }
+
+        return puntajes.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limite)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private void alConfirmar(Consumer<Mapas> cambio) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar(cambio);
+                }
+            });
+        } else {
+            aplicar(cambio);
+        }
+    }
+
+    private void aplicar(Consumer<Mapas> cambio) {
+        escritura.lock();
+        try {
+            cambio.accept(mapas);
+            if (aplicadosDuranteConstruccion != null) {
+                aplicadosDuranteConstruccion.add(cambio);
+            }
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    // 2 puntos por palabra exacta, 1 por prefijo; 0 si algún término no coincide
+    private static int puntuar(String[] terminos, String[] tokens) {
+        int total = 0;
+        for (String termino : terminos) {
+            int mejor = 0;
+            for (String token : tokens) {
+                if (token.equals(termino)) {
+                    mejor = 2;
+                    break;
+                }
+                if (token.startsWith(termino)) {
+                    mejor = 1;
+                }
+            }
+            if (mejor == 0) {
+                return 0;
+            }
+            total += mejor;
+        }
+        return total;
+    }
+
+    private static String[] tokensDe(AlumnoTextoBusqueda alumno) {
+        return Stream.of(alumno.matricula(), alumno.nombre(), alumno.apellido())
+                .flatMap(texto -> Arrays.stream(TextoNormalizado.tokens(texto)))
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    // token -> ids de alumnos ordenados; los arreglos no se modifican, se reemplazan.
+    // Solo se modifican con el candado de escritura tomado
+    private record Mapas(ConcurrentSkipListMap<String, long[]> indice,
+                         ConcurrentHashMap<Long, String[]> tokensPorAlumno) {
+
+        ConcurrentNavigableMap<String, long[]> conPrefijo(String prefijo) {
+            return indice.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false);
+        }
+
+        void reemplazarTokens(long id, String[] nuevos) {
+            String[] anteriores = tokensPorAlumno.put(id, nuevos);
+            if (anteriores != null) {
+                Set<String> vigentes = Set.of(nuevos);
+                for (String token : anteriores) {
+                    if (!vigentes.contains(token)) {
+                        quitar(token, id);
+                    }
+                }
+            }
+            for (String token : nuevos) {
+                agregar(token, id);
+            }
+        }
+
+        private void agregar(String token, long id) {
+            long[] ids = indice.getOrDefault(token, new long[0]);
+            int posicion = Arrays.binarySearch(ids, id);
+            if (posicion >= 0) {
+                return;
+            }
+            int insercion = -posicion - 1;
+            long[] nuevos = new long[ids.length + 1];
+            System.arraycopy(ids, 0, nuevos, 0, insercion);
+            nuevos[insercion] = id;
+            System.arraycopy(ids, insercion, nuevos, insercion + 1, ids.length - insercion);
+            indice.put(token, nuevos);
+        }
+
+        void fusionar(String token, long[] nuevos) {
+            long[] ids = indice.get(token);
+            if (ids == null) {
+                indice.put(token, nuevos);
+                return;
+            }
+            long[] fusion = new long[ids.length + nuevos.length];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < ids.length || j < nuevos.length) {
+                long siguiente = j == nuevos.length || (i < ids.length && ids[i] <= nuevos[j]) ? ids[i++] : nuevos[j++];
+                if (k == 0 || fusion[k - 1] != siguiente) {
+                    fusion[k++] = siguiente;
+                }
+            }
+            indice.put(token, k == fusion.length ? fusion : Arrays.copyOf(fusion, k));
+        }
+
+        private void quitar(String token, long id) {
+            long[] ids = indice.get(token);
+            if (ids == null) {
+                return;
+            }
+            int posicion = Arrays.binarySearch(ids, id);
+            if (posicion < 0) {
+                return;
+            }
+            if (ids.length == 1) {
+                indice.remove(token);
+                return;
+            }
+            long[] nuevos = new long[ids.length - 1];
+            System.arraycopy(ids, 0, nuevos, 0, posicion);
+            System.arraycopy(ids, posicion + 1, nuevos, posicion, ids.length - posicion - 1);
+            indice.put(token, nuevos);
+        }
+    }
+
+    private static class ListaIds {
+        private final String token;
+        private long[] ids = new long[4];
+        private int tamanio;
+
+        ListaIds(String token) {
+            this.token = token;
+        }
+
+        void agregar(long id) {
+            if (tamanio > 0 && ids[tamanio - 1] == id) {
+                return;
+            }
+            if (tamanio == ids.length) {
+                ids = Arrays.copyOf(ids, tamanio * 2);
+            }
+            ids[tamanio++] = id;
+        }
+
+        long[] comoArreglo() {
+            return Arrays.copyOf(ids, tamanio);
+        }
+    }
+}
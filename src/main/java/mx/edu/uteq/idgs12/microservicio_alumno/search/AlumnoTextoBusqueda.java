@@ -0,0 +1,10 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.search;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.AlumnoEntity;
+
+public record AlumnoTextoBusqueda(Long id, String nombre, String apellido, String matricula) {
+
+    public static AlumnoTextoBusqueda de(AlumnoEntity alumno) {
+        return new AlumnoTextoBusqueda(alumno.getId(), alumno.getNombre(), alumno.getApellido(), alumno.getMatricula());
+    }
+}
@@ -0,0 +1,26 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public final class TextoNormalizado {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{Alnum}]+");
+
+    private TextoNormalizado() {
+    }
+
+    // "Martínez-López" -> ["martinez", "lopez"]
+    public static String[] tokens(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return new String[0];
+        }
+        String sinAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(SEPARADORES.split(sinAcentos.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,379 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import mx.edu.uteq.idgs12.microservicio_alumno.cache.CatalogoProgramas;
+import mx.edu.uteq.idgs12.microservicio_alumno.config.ImportacionProperties;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ImportacionResultadoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ResultadoFilaImportacionDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.AlumnoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.GrupoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.evento.RegistroEventos;
+import mx.edu.uteq.idgs12.microservicio_alumno.evento.TipoEvento;
+import mx.edu.uteq.idgs12.microservicio_alumno.exception.BusinessRuleException;
+import mx.edu.uteq.idgs12.microservicio_alumno.exception.ExternalServiceException;
+import mx.edu.uteq.idgs12.microservicio_alumno.estadistica.EstadisticasAlumnos;
+import mx.edu.uteq.idgs12.microservicio_alumno.indice.IndiceMembresia;
+import mx.edu.uteq.idgs12.microservicio_alumno.indice.MembresiaAlumno;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.AlumnoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.ContadorGrupoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.GrupoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.search.AlumnoSearchIndex;
+import mx.edu.uteq.idgs12.microservicio_alumno.search.AlumnoTextoBusqueda;
+
+/**
+ * Alta masiva de alumnos. Las filas se procesan por lotes: cada lote consulta los duplicados
+ * con una sola consulta por llave, valida cada grupo y programa distinto una sola vez y se
+ * inserta con lotes JDBC en su propia transacción. Una fila inválida no detiene la importación;
+ * su motivo queda en el reporte.
+ */
+@Service
+@Slf4j
+public class AlumnoImportacionService {
+
+    private final AlumnoRepository alumnoRepository;
+    private final GrupoRepository grupoRepository;
+    private final ContadorGrupoRepository contadorGrupoRepository;
+    private final CatalogoProgramas catalogoProgramas;
+    private final AlumnoSearchIndex alumnoSearchIndex;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ImportacionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final RegistroEventos registroEventos;
+    private final IndiceMembresia indiceMembresia;
+    private final EstadisticasAlumnos estadisticasAlumnos;
+
+    public AlumnoImportacionService(AlumnoRepository alumnoRepository,
+                                    GrupoRepository grupoRepository,
+                                    ContadorGrupoRepository contadorGrupoRepository,
+                                    CatalogoProgramas catalogoProgramas,
+                                    AlumnoSearchIndex alumnoSearchIndex,
+                                    EntityManager entityManager,
+                                    ObjectMapper objectMapper,
+                                    Validator validator,
+                                    ImportacionProperties properties,
+                                    PlatformTransactionManager transactionManager,
+                                    RegistroEventos registroEventos,
+                                    IndiceMembresia indiceMembresia,
+                                    EstadisticasAlumnos estadisticasAlumnos) {
+        this.alumnoRepository = alumnoRepository;
+        this.grupoRepository = grupoRepository;
+        this.contadorGrupoRepository = contadorGrupoRepository;
+        this.catalogoProgramas = catalogoProgramas;
+        this.alumnoSearchIndex = alumnoSearchIndex;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.registroEventos = registroEventos;
+        this.indiceMembresia = indiceMembresia;
+        this.estadisticasAlumnos = estadisticasAlumnos;
+    }
+
+    public ImportacionResultadoDto importarJson(InputStream entrada) throws IOException {
+        try (MappingIterator<AlumnoDto> alumnos = objectMapper.readerFor(AlumnoDto.class).readValues(entrada)) {
+            return importar(new LectorJson(alumnos));
+        } catch (JsonProcessingException e) {
+            throw new BusinessRuleException("El cuerpo debe ser un arreglo JSON de alumnos");
+        }
+    }
+
+    public ImportacionResultadoDto importarCsv(InputStream entrada) throws IOException {
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            return importar(new LectorCsvAlumnos(lector));
+        }
+    }
+
+    private ImportacionResultadoDto importar(Iterator<FilaImportacion> filas) {
+        long inicio = System.nanoTime();
+        ImportacionResultadoDto resultado = new ImportacionResultadoDto();
+        EstadoImportacion estado = new EstadoImportacion();
+        List<FilaImportacion> lote = new ArrayList<>(properties.getTamanioLote());
+
+        int leidas = 0;
+        while (filas.hasNext()) {
+            if (leidas == properties.getFilasMaximas()) {
+                resultado.getFilas().add(new ResultadoFilaImportacionDto(leidas + 1, null, false, null,
+                        "Se alcanzó el máximo de " + properties.getFilasMaximas()
+                                + " filas por importación; el resto no se procesó"));
+                break;
+            }
+            lote.add(filas.next());
+            leidas++;
+            if (lote.size() == properties.getTamanioLote()) {
+                resultado.getFilas().addAll(procesarLote(lote, estado));
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            resultado.getFilas().addAll(procesarLote(lote, estado));
+        }
+
+        resultado.setTotal(leidas);
+        resultado.setImportados((int) resultado.getFilas().stream().filter(ResultadoFilaImportacionDto::isImportado).count());
+        resultado.setRechazados(leidas - resultado.getImportados());
+        resultado.setDuracionMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        log.info("Importación de alumnos: {} filas, {} importadas, {} rechazadas en {} ms", resultado.getTotal(),
+                resultado.getImportados(), resultado.getRechazados(), resultado.getDuracionMs());
+        return resultado;
+    }
+
+    private List<ResultadoFilaImportacionDto> procesarLote(List<FilaImportacion> lote, EstadoImportacion estado) {
+        String[] errores = new String[lote.size()];
+        for (int i = 0; i < lote.size(); i++) {
+            errores[i] = validarFila(lote.get(i), estado);
+        }
+
+        // Los programas se validan fuera de la transacción: son consultas remotas (con cache)
+        validarProgramas(lote, errores, estado);
+
+        List<AlumnoEntity> guardados;
+        try {
+            guardados = transactionTemplate.execute(status -> guardarLote(lote, errores, estado));
+        } catch (DataIntegrityViolationException e) {
+            // Otra petición insertó una matrícula del lote entre la verificación y el INSERT
+            log.warn("Lote de importación rechazado por conflicto de datos: {}", e.getMostSpecificCause().getMessage());
+            for (int i = 0; i < errores.length; i++) {
+                if (errores[i] == null) {
+                    errores[i] = "Conflicto al guardar el lote; reintente la fila";
+                }
+            }
+            guardados = List.of();
+        }
+
+        alumnoSearchIndex.indexarNuevos(guardados.stream().map(AlumnoTextoBusqueda::de).toList());
+
+        Iterator<AlumnoEntity> ids = guardados.iterator();
+        List<ResultadoFilaImportacionDto> resultados = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            FilaImportacion fila = lote.get(i);
+            String matricula = fila.alumno() != null ? fila.alumno().getMatricula() : null;
+            if (errores[i] == null) {
+                resultados.add(new ResultadoFilaImportacionDto(fila.numero(), matricula, true, ids.next().getId(), null));
+            } else {
+                resultados.add(new ResultadoFilaImportacionDto(fila.numero(), matricula, false, null, errores[i]));
+            }
+        }
+        return resultados;
+    }
+
+    // Validaciones que no consultan la base de datos ni otros servicios
+    private String validarFila(FilaImportacion fila, EstadoImportacion estado) {
+        if (fila.error() != null) {
+            return fila.error();
+        }
+        AlumnoDto alumno = fila.alumno();
+        Set<ConstraintViolation<AlumnoDto>> violaciones = validator.validate(alumno);
+        if (!violaciones.isEmpty()) {
+            return violaciones.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!estado.matriculas.add(alumno.getMatricula())) {
+            return "Matrícula repetida en la importación: " + alumno.getMatricula();
+        }
+        if (alumno.getCorreo() != null && !estado.correos.add(alumno.getCorreo())) {
+            return "Correo repetido en la importación: " + alumno.getCorreo();
+        }
+        return null;
+    }
+
+    private void validarProgramas(List<FilaImportacion> lote, String[] errores, EstadoImportacion estado) {
+        for (int i = 0; i < lote.size(); i++) {
+            if (errores[i] == null) {
+                String error = estado.programas.computeIfAbsent(lote.get(i).alumno().getProgramaEducativoId(),
+                        this::validarProgramaEducativo);
+                errores[i] = error.isEmpty() ? null : error;
+            }
+        }
+    }
+
+    private String validarProgramaEducativo(Long programaEducativoId) {
+        try {
+            return catalogoProgramas.obtenerPrograma(programaEducativoId)
+                    .map(programa -> programa.isActivo() ? "" : "El programa educativo no está disponible")
+                    .orElse("Programa Educativo no encontrado con id: " + programaEducativoId);
+        } catch (ExternalServiceException e) {
+            log.error("Error al validar programa educativo {}: {}", programaEducativoId, e.getMessage());
+            return "No se pudo validar el programa educativo";
+        }
+    }
+
+    private List<AlumnoEntity> guardarLote(List<FilaImportacion> lote, String[] errores, EstadoImportacion estado) {
+        // Una consulta por llave para todo el lote
+        Set<String> matriculas = new HashSet<>();
+        Set<String> correos = new HashSet<>();
+        Set<Long> gruposPendientes = new HashSet<>();
+        for (int i = 0; i < lote.size(); i++) {
+            if (errores[i] == null) {
+                AlumnoDto alumno = lote.get(i).alumno();
+                matriculas.add(alumno.getMatricula());
+                if (alumno.getCorreo() != null) {
+                    correos.add(alumno.getCorreo());
+                }
+                if (alumno.getGrupoId() != null && !estado.grupos.containsKey(alumno.getGrupoId())) {
+                    gruposPendientes.add(alumno.getGrupoId());
+                }
+            }
+        }
+        Set<String> matriculasExistentes = matriculas.isEmpty()
+                ? Set.of() : new HashSet<>(alumnoRepository.findMatriculasExistentes(matriculas));
+        Set<String> correosExistentes = correos.isEmpty()
+                ? Set.of() : new HashSet<>(alumnoRepository.findCorreosExistentes(correos));
+        if (!gruposPendientes.isEmpty()) {
+            Map<Long, GrupoEntity> grupos = grupoRepository.findAllById(gruposPendientes)
+                    .stream()
+                    .collect(Collectors.toMap(GrupoEntity::getId, grupo -> grupo));
+            for (Long grupoId : gruposPendientes) {
+                GrupoEntity grupo = grupos.get(grupoId);
+                estado.grupos.put(grupoId, grupo == null ? "Grupo no encontrado con id: " + grupoId
+                        : grupo.isActivo() ? "" : "El grupo seleccionado no está activo");
+            }
+        }
+
+        List<AlumnoEntity> nuevos = new ArrayList<>();
+        Map<Long, Long> altasPorGrupo = new HashMap<>();
+        for (int i = 0; i < lote.size(); i++) {
+            if (errores[i] != null) {
+                continue;
+            }
+            AlumnoDto alumno = lote.get(i).alumno();
+            if (matriculasExistentes.contains(alumno.getMatricula())) {
+                errores[i] = "Ya existe un alumno con matrícula: " + alumno.getMatricula();
+            } else if (alumno.getCorreo() != null && correosExistentes.contains(alumno.getCorreo())) {
+                errores[i] = "Ya existe un alumno con correo: " + alumno.getCorreo();
+            } else if (alumno.getGrupoId() != null && !estado.grupos.get(alumno.getGrupoId()).isEmpty()) {
+                errores[i] = estado.grupos.get(alumno.getGrupoId());
+            } else {
+                nuevos.add(convertirAEntidad(alumno));
+                if (alumno.getGrupoId() != null) {
+                    altasPorGrupo.merge(alumno.getGrupoId(), 1L, Long::sum);
+                }
+            }
+        }
+
+        // Las altas masivas no se copian a la cache de segundo nivel
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        // Con la secuencia pooled y hibernate.jdbc.batch_size los INSERT se envían en lotes. El flush va
+        // por el repositorio para que una matrícula duplicada llegue como DataIntegrityViolationException
+        List<AlumnoEntity> guardados = alumnoRepository.saveAllAndFlush(nuevos);
+        altasPorGrupo.forEach(contadorGrupoRepository::ajustarAlumnosActivos);
+        List<MembresiaAlumno> membresias = guardados.stream().map(MembresiaAlumno::de).toList();
+        indiceMembresia.alumnosCreados(membresias);
+        estadisticasAlumnos.registrarCambios(List.of(), membresias);
+        // Un solo evento por lote con los ids dados de alta, no uno por alumno
+        if (!guardados.isEmpty()) {
+            registroEventos.registrar(TipoEvento.ALUMNOS_IMPORTADOS, "alumno", null,
+                    Map.of("ids", guardados.stream().map(AlumnoEntity::getId).toList()));
+        }
+        alumnoRepository.flush();
+        entityManager.clear();
+        return guardados;
+    }
+
+    private AlumnoEntity convertirAEntidad(AlumnoDto dto) {
+        AlumnoEntity entity = new AlumnoEntity();
+        entity.setNombre(dto.getNombre());
+        entity.setApellido(dto.getApellido());
+        entity.setMatricula(dto.getMatricula());
+        entity.setCorreo(dto.getCorreo());
+        entity.setTelefono(dto.getTelefono());
+        entity.setProgramaEducativoId(dto.getProgramaEducativoId());
+        entity.setGrupoId(dto.getGrupoId());
+        entity.setActivo(true);
+        return entity;
+    }
+
+    // Resultados ya conocidos durante una importación ("" significa válido)
+    private static class EstadoImportacion {
+        private final Set<String> matriculas = new HashSet<>();
+        private final Set<String> correos = new HashSet<>();
+        private final Map<Long, String> grupos = new HashMap<>();
+        private final Map<Long, String> programas = new HashMap<>();
+    }
+
+    // Recorre el arreglo JSON elemento por elemento; un elemento mal formado detiene la lectura
+    private static class LectorJson implements Iterator<FilaImportacion> {
+
+        private final MappingIterator<AlumnoDto> alumnos;
+        private FilaImportacion siguiente;
+        private int numero;
+        private boolean terminado;
+
+        LectorJson(MappingIterator<AlumnoDto> alumnos) {
+            this.alumnos = alumnos;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (siguiente == null && !terminado) {
+                siguiente = leer();
+            }
+            return siguiente != null;
+        }
+
+        @Override
+        public FilaImportacion next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            FilaImportacion fila = siguiente;
+            siguiente = null;
+            return fila;
+        }
+
+        private FilaImportacion leer() {
+            try {
+                if (!alumnos.hasNextValue()) {
+                    terminado = true;
+                    return null;
+                }
+                numero++;
+                AlumnoDto alumno = alumnos.nextValue();
+                return alumno != null
+                        ? FilaImportacion.valida(numero, alumno)
+                        : FilaImportacion.invalida(numero, "La fila no contiene un alumno");
+            } catch (IOException e) {
+                if (numero == 0) {
+                    throw new BusinessRuleException("El cuerpo debe ser un arreglo JSON de alumnos");
+                }
+                terminado = true;
+                return FilaImportacion.invalida(numero, "JSON inválido; la importación se detuvo en esta fila");
+            }
+        }
+    }
+}
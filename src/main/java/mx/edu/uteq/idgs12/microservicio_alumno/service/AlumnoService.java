@@ -1,50 +1,140 @@
 package mx.edu.uteq.idgs12.microservicio_alumno.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import feign.FeignException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import mx.edu.uteq.idgs12.microservicio_alumno.client.ProgramaEducativoClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.cache.CatalogoProgramas;
 import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoUpdateDto;
 import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoViewDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.PaginaCursorDto;
 import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProgramaEducativoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.VersionColeccionDto;
 import mx.edu.uteq.idgs12.microservicio_alumno.entity.AlumnoEntity;
 import mx.edu.uteq.idgs12.microservicio_alumno.entity.GrupoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.evento.RegistroEventos;
+import mx.edu.uteq.idgs12.microservicio_alumno.evento.TipoEvento;
 import mx.edu.uteq.idgs12.microservicio_alumno.exception.BusinessRuleException;
 import mx.edu.uteq.idgs12.microservicio_alumno.exception.DuplicateResourceException;
 import mx.edu.uteq.idgs12.microservicio_alumno.exception.ExternalServiceException;
 import mx.edu.uteq.idgs12.microservicio_alumno.exception.ResourceNotFoundException;
+import mx.edu.uteq.idgs12.microservicio_alumno.estadistica.EstadisticasAlumnos;
+import mx.edu.uteq.idgs12.microservicio_alumno.indice.IndiceMembresia;
+import mx.edu.uteq.idgs12.microservicio_alumno.indice.MembresiaAlumno;
 import mx.edu.uteq.idgs12.microservicio_alumno.repository.AlumnoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.ContadorGrupoRepository;
 import mx.edu.uteq.idgs12.microservicio_alumno.repository.GrupoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.search.AlumnoSearchIndex;
+import mx.edu.uteq.idgs12.microservicio_alumno.search.AlumnoTextoBusqueda;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AlumnoService {
 
+    public static final int TAMANIO_PAGINA_MAXIMO = 500;
+    public static final int LIMITE_BUSQUEDA_MAXIMO = 100;
+
     private final AlumnoRepository alumnoRepository;
     private final GrupoRepository grupoRepository;
-    private final ProgramaEducativoClient programaEducativoClient;
+    private final ContadorGrupoRepository contadorGrupoRepository;
+    private final CatalogoProgramas catalogoProgramas;
+    private final ObjectMapper objectMapper;
+    private final AlumnoSearchIndex alumnoSearchIndex;
+    private final RegistroEventos registroEventos;
+    private final IndiceMembresia indiceMembresia;
+    private final EstadisticasAlumnos estadisticasAlumnos;
 
     @Transactional(readOnly = true)
     public List<AlumnoDto> obtenerTodos() {
-        return alumnoRepository.findAll()
-                .stream()
-                .map(this::convertirADto)
-                .collect(Collectors.toList());
+        return alumnoRepository.listarTodos();
     }
 
     @Transactional(readOnly = true)
     public List<AlumnoDto> obtenerActivos() {
-        return alumnoRepository.findByActivoTrue()
-                .stream()
-                .map(this::convertirADto)
-                .collect(Collectors.toList());
+        return alumnoRepository.listarActivos();
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaCursorDto<AlumnoDto> obtenerPagina(Long despuesDe, int tamanio, boolean soloActivos) {
+        if (tamanio < 1 || tamanio > TAMANIO_PAGINA_MAXIMO) {
+            throw new BusinessRuleException("El tamaño de página debe estar entre 1 y " + TAMANIO_PAGINA_MAXIMO);
+        }
+
+        long cursor = despuesDe != null ? despuesDe : 0L;
+        // Se pide un registro extra para saber si existe una página siguiente
+        Limit limite = Limit.of(tamanio + 1);
+        List<AlumnoDto> alumnos = soloActivos
+                ? alumnoRepository.listarActivosDespuesDe(cursor, limite)
+                : alumnoRepository.listarDespuesDe(cursor, limite);
+
+        boolean hayMas = alumnos.size() > tamanio;
+        List<AlumnoDto> contenido = hayMas ? alumnos.subList(0, tamanio) : alumnos;
+
+        PaginaCursorDto<AlumnoDto> pagina = new PaginaCursorDto<>();
+        pagina.setContenido(contenido);
+        pagina.setTamanio(contenido.size());
+        pagina.setHayMas(hayMas);
+        pagina.setSiguienteCursor(hayMas ? contenido.get(contenido.size() - 1).getId() : null);
+        return pagina;
+    }
+
+    @Transactional(readOnly = true)
+    public void escribirNdjson(boolean soloActivos, OutputStream salida) throws IOException {
+        // La proyección no registra entidades en el contexto de persistencia: la memoria se mantiene plana
+        try (Stream<AlumnoDto> alumnos = soloActivos
+                ? alumnoRepository.streamActivos()
+                : alumnoRepository.streamTodos()) {
+            Iterator<AlumnoDto> iterador = alumnos.iterator();
+            while (iterador.hasNext()) {
+                salida.write(objectMapper.writeValueAsBytes(iterador.next()));
+                salida.write('\n');
+            }
+            salida.flush();
+        }
+    }
+
+    // Se valida antes de empezar a escribir: una vez enviados los encabezados ya no se puede responder 400
+    public String nombreExportacion(Long programaEducativoId, Long grupoId, FormatoExportacion formato) {
+        if ((programaEducativoId == null) == (grupoId == null)) {
+            throw new BusinessRuleException("Indique programaEducativoId o grupoId para exportar, no ambos");
+        }
+        return (grupoId != null ? "alumnos-grupo-" + grupoId : "alumnos-programa-" + programaEducativoId)
+                + "." + formato.getExtension();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportar(Long programaEducativoId, Long grupoId, FormatoExportacion formato, OutputStream salida)
+            throws IOException {
+        // Cursor JDBC y proyección a DTO, fila por fila: la memoria no depende del número de alumnos
+        try (Stream<AlumnoDto> alumnos = grupoId != null
+                ? alumnoRepository.streamPorGrupo(grupoId)
+                : alumnoRepository.streamPorProgramaEducativo(programaEducativoId);
+             EscritorAlumnos escritor = formato.crearEscritor(salida)) {
+            Iterator<AlumnoDto> iterador = alumnos.iterator();
+            while (iterador.hasNext()) {
+                escritor.escribir(iterador.next());
+            }
+        }
+        salida.flush();
     }
 
     @Transactional(readOnly = true)
@@ -66,31 +156,84 @@ public class AlumnoService {
         AlumnoEntity alumno = alumnoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Alumno", "id", id));
 
-        return convertirAViewDto(alumno);
+        String grupo = alumno.getGrupoId() != null
+                ? grupoRepository.findById(alumno.getGrupoId()).map(GrupoEntity::getNombre).orElse(null)
+                : null;
+        return convertirAViewDto(alumno, obtenerNombrePrograma(alumno.getProgramaEducativoId()), grupo);
     }
 
     @Transactional(readOnly = true)
-    public List<AlumnoDto> obtenerPorGrupo(Long grupoId) {
-        return alumnoRepository.findByGrupoIdAndActivoTrue(grupoId)
+    public List<AlumnoViewDto> obtenerAlumnosConDetalles(List<Long> ids) {
+        Map<Long, AlumnoEntity> alumnos = alumnoRepository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(AlumnoEntity::getId, Function.identity()));
+
+        Set<Long> grupoIds = alumnos.values().stream()
+                .map(AlumnoEntity::getGrupoId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, String> nombresGrupo = grupoRepository.findAllById(grupoIds)
                 .stream()
-                .map(this::convertirADto)
+                .collect(Collectors.toMap(GrupoEntity::getId, GrupoEntity::getNombre));
+
+        // Cada programa distinto se resuelve una sola vez contra el catálogo local
+        Map<Long, String> nombresPrograma = new HashMap<>();
+        for (AlumnoEntity alumno : alumnos.values()) {
+            nombresPrograma.computeIfAbsent(alumno.getProgramaEducativoId(), this::obtenerNombrePrograma);
+        }
+
+        return ids.stream()
+                .distinct()
+                .map(alumnos::get)
+                .filter(Objects::nonNull)
+                .map(alumno -> convertirAViewDto(alumno,
+                        nombresPrograma.get(alumno.getProgramaEducativoId()),
+                        alumno.getGrupoId() != null ? nombresGrupo.get(alumno.getGrupoId()) : null))
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public List<AlumnoDto> obtenerPorGrupo(Long grupoId) {
+        // Las filas salen de la proyección (índice idx_alumnos_grupo_activo)
+        return alumnoRepository.listarActivosPorGrupo(grupoId);
+    }
+
+    @Transactional(readOnly = true)
+    public VersionColeccionDto obtenerVersionPorGrupo(Long grupoId) {
+        VersionColeccionDto version = alumnoRepository.obtenerVersionActivosPorGrupo(grupoId);
+        // Un alumno que sale del grupo no modifica a los que quedan; el contador registra la salida
+        contadorGrupoRepository.obtenerActualizadoEn(grupoId).ifPresent(version::considerarModificacion);
+        return version;
+    }
+
     @Transactional(readOnly = true)
     public List<AlumnoDto> obtenerPorProgramaEducativo(Long programaEducativoId) {
-        return alumnoRepository.findByProgramaEducativoId(programaEducativoId)
-                .stream()
-                .map(this::convertirADto)
-                .collect(Collectors.toList());
+        return alumnoRepository.listarPorProgramaEducativo(programaEducativoId);
     }
 
     @Transactional(readOnly = true)
-    public List<AlumnoDto> buscarPorNombreOApellido(String termino) {
-        return alumnoRepository.findByNombreContainingIgnoreCaseOrApellidoContainingIgnoreCase(
-                termino, termino)
+    public List<AlumnoDto> buscarPorNombreOApellido(String termino, int limite) {
+        if (limite < 1 || limite > LIMITE_BUSQUEDA_MAXIMO) {
+            throw new BusinessRuleException("El límite de resultados debe estar entre 1 y " + LIMITE_BUSQUEDA_MAXIMO);
+        }
+
+        // Mientras el índice se construye al arrancar se usa la consulta LIKE
+        if (!alumnoSearchIndex.isListo()) {
+            return alumnoRepository.findByNombreContainingIgnoreCaseOrApellidoContainingIgnoreCase(
+                    termino, termino)
+                    .stream()
+                    .limit(limite)
+                    .map(this::convertirADto)
+                    .collect(Collectors.toList());
+        }
+
+        List<Long> ids = alumnoSearchIndex.buscar(termino, limite);
+        Map<Long, AlumnoDto> alumnos = alumnoRepository.listarPorIds(ids)
                 .stream()
-                .map(this::convertirADto)
+                .collect(Collectors.toMap(AlumnoDto::getId, Function.identity()));
+        return ids.stream()
+                .map(alumnos::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
@@ -115,13 +258,19 @@ public class AlumnoService {
         alumno.setActivo(true);
 
         AlumnoEntity guardado = alumnoRepository.save(alumno);
-        return convertirADto(guardado);
+        ajustarContadorGrupo(guardado.getGrupoId(), 1);
+        MembresiaAlumno membresia = MembresiaAlumno.de(guardado);
+        indiceMembresia.alumnoCreado(membresia);
+        estadisticasAlumnos.registrarCambio(null, membresia);
+        alumnoSearchIndex.indexar(AlumnoTextoBusqueda.de(guardado));
+        return registrarEvento(TipoEvento.ALUMNO_CREADO, guardado);
     }
 
     @Transactional
     public AlumnoDto actualizar(Long id, AlumnoDto alumnoDto) {
         AlumnoEntity alumno = alumnoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Alumno", "id", id));
+        MembresiaAlumno antes = MembresiaAlumno.de(alumno);
 
         if (alumnoDto.getCorreo() != null &&
             !alumnoDto.getCorreo().equals(alumno.getCorreo()) &&
@@ -134,6 +283,10 @@ public class AlumnoService {
             validarGrupo(alumnoDto.getGrupoId());
         }
 
+        if (alumno.isActivo()) {
+            moverContadorGrupo(alumno.getId(), alumno.getGrupoId(), alumnoDto.getGrupoId());
+        }
+
         alumno.setNombre(alumnoDto.getNombre());
         alumno.setApellido(alumnoDto.getApellido());
         alumno.setCorreo(alumnoDto.getCorreo());
@@ -141,43 +294,117 @@ public class AlumnoService {
         alumno.setGrupoId(alumnoDto.getGrupoId());
 
         AlumnoEntity actualizado = alumnoRepository.save(alumno);
-        return convertirADto(actualizado);
+        estadisticasAlumnos.registrarCambio(antes, MembresiaAlumno.de(actualizado));
+        alumnoSearchIndex.indexar(AlumnoTextoBusqueda.de(actualizado));
+        return registrarEvento(TipoEvento.ALUMNO_ACTUALIZADO, actualizado);
+    }
+
+    // Solo aplica los campos enviados; las validaciones con consulta se omiten si el valor no cambia
+    @Transactional
+    public AlumnoDto actualizarParcial(Long id, AlumnoUpdateDto cambios) {
+        AlumnoEntity alumno = alumnoRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Alumno", "id", id));
+        MembresiaAlumno antes = MembresiaAlumno.de(alumno);
+
+        boolean correoCambia = cambios.getCorreo() != null && !cambios.getCorreo().equals(alumno.getCorreo());
+        if (correoCambia && alumnoRepository.existsByCorreo(cambios.getCorreo())) {
+            throw new DuplicateResourceException("alumno", "correo", cambios.getCorreo());
+        }
+
+        boolean grupoCambia = cambios.getGrupoId() != null && !cambios.getGrupoId().equals(alumno.getGrupoId());
+        if (grupoCambia) {
+            validarGrupo(cambios.getGrupoId());
+            if (alumno.isActivo()) {
+                moverContadorGrupo(alumno.getId(), alumno.getGrupoId(), cambios.getGrupoId());
+            }
+            alumno.setGrupoId(cambios.getGrupoId());
+        }
+
+        boolean textoCambia = cambiar(cambios.getNombre(), alumno.getNombre(), alumno::setNombre)
+                | cambiar(cambios.getApellido(), alumno.getApellido(), alumno::setApellido);
+        boolean telefonoCambia = cambiar(cambios.getTelefono(), alumno.getTelefono(), alumno::setTelefono);
+        if (correoCambia) {
+            alumno.setCorreo(cambios.getCorreo());
+        }
+
+        if (!(correoCambia || grupoCambia || textoCambia || telefonoCambia)) {
+            return convertirADto(alumno);
+        }
+        AlumnoEntity actualizado = alumnoRepository.save(alumno);
+        estadisticasAlumnos.registrarCambio(antes, MembresiaAlumno.de(actualizado));
+        if (textoCambia) {
+            alumnoSearchIndex.indexar(AlumnoTextoBusqueda.de(actualizado));
+        }
+        return registrarEvento(TipoEvento.ALUMNO_ACTUALIZADO, actualizado);
     }
 
     @Transactional
     public AlumnoDto cambiarGrupo(Long alumnoId, Long nuevoGrupoId) {
         AlumnoEntity alumno = alumnoRepository.findById(alumnoId)
                 .orElseThrow(() -> new ResourceNotFoundException("Alumno", "id", alumnoId));
+        MembresiaAlumno antes = MembresiaAlumno.de(alumno);
 
         validarGrupo(nuevoGrupoId);
 
+        if (alumno.isActivo()) {
+            moverContadorGrupo(alumno.getId(), alumno.getGrupoId(), nuevoGrupoId);
+        }
+
         alumno.setGrupoId(nuevoGrupoId);
 
         AlumnoEntity actualizado = alumnoRepository.save(alumno);
-        return convertirADto(actualizado);
+        estadisticasAlumnos.registrarCambio(antes, MembresiaAlumno.de(actualizado));
+        return registrarEvento(TipoEvento.ALUMNO_GRUPO_CAMBIADO, actualizado);
     }
 
     @Transactional
     public void eliminar(Long id) {
         AlumnoEntity alumno = alumnoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Alumno", "id", id));
+        MembresiaAlumno antes = MembresiaAlumno.de(alumno);
+
+        if (alumno.isActivo()) {
+            ajustarContadorGrupo(alumno.getGrupoId(), -1);
+            indiceMembresia.alumnoActivoCambiado(alumno.getId(), alumno.getGrupoId(), false);
+        }
 
         alumno.setActivo(false);
-        alumnoRepository.save(alumno);
+        AlumnoEntity eliminado = alumnoRepository.save(alumno);
+        estadisticasAlumnos.registrarCambio(antes, MembresiaAlumno.de(eliminado));
+        registrarEvento(TipoEvento.ALUMNO_ELIMINADO, eliminado);
     }
 
     @Transactional
     public AlumnoDto toggleActivo(Long id) {
         AlumnoEntity alumno = alumnoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Alumno", "id", id));
+        MembresiaAlumno antes = MembresiaAlumno.de(alumno);
 
         alumno.setActivo(!alumno.isActivo());
+        ajustarContadorGrupo(alumno.getGrupoId(), alumno.isActivo() ? 1 : -1);
+        indiceMembresia.alumnoActivoCambiado(alumno.getId(), alumno.getGrupoId(), alumno.isActivo());
 
         AlumnoEntity actualizado = alumnoRepository.save(alumno);
-        return convertirADto(actualizado);
+        estadisticasAlumnos.registrarCambio(antes, MembresiaAlumno.de(actualizado));
+        return registrarEvento(TipoEvento.ALUMNO_ACTIVO_CAMBIADO, actualizado);
     }
 
     // Métodos auxiliares
+    // El evento va al outbox en la misma transacción que el cambio
+    private AlumnoDto registrarEvento(TipoEvento tipo, AlumnoEntity alumno) {
+        AlumnoDto dto = convertirADto(alumno);
+        registroEventos.registrar(tipo, "alumno", dto.getId(), dto);
+        return dto;
+    }
+
+    private static boolean cambiar(String nuevo, String actual, Consumer<String> asignar) {
+        if (nuevo == null || nuevo.equals(actual)) {
+            return false;
+        }
+        asignar.accept(nuevo);
+        return true;
+    }
+
     private void validarGrupo(Long grupoId) {
         GrupoEntity grupo = grupoRepository.findById(grupoId)
                 .orElseThrow(() -> new ResourceNotFoundException("Grupo", "id", grupoId));
@@ -187,17 +414,32 @@ public class AlumnoService {
         }
     }
 
+    // Mantiene el contador de alumnos activos del grupo; solo debe llamarse para alumnos activos
+    private void ajustarContadorGrupo(Long grupoId, long delta) {
+        if (grupoId != null) {
+            contadorGrupoRepository.ajustarAlumnosActivos(grupoId, delta);
+        }
+    }
+
+    // Contador y membresía en el índice; solo para alumnos activos
+    private void moverContadorGrupo(Long alumnoId, Long grupoAnteriorId, Long grupoNuevoId) {
+        if (!Objects.equals(grupoAnteriorId, grupoNuevoId)) {
+            ajustarContadorGrupo(grupoAnteriorId, -1);
+            ajustarContadorGrupo(grupoNuevoId, 1);
+            indiceMembresia.alumnoMovido(alumnoId, grupoAnteriorId, grupoNuevoId);
+        }
+    }
+
     private void validarProgramaEducativo(Long programaEducativoId) {
         try {
-            ProgramaEducativoDto programa = programaEducativoClient.obtenerProgramaPorId(programaEducativoId);
-            if (programa == null || !programa.isActivo()) {
+            ProgramaEducativoDto programa = catalogoProgramas.obtenerPrograma(programaEducativoId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Programa Educativo", "id", programaEducativoId));
+            if (!programa.isActivo()) {
                 throw new BusinessRuleException("El programa educativo no está disponible");
             }
-        } catch (FeignException.NotFound e) {
-            throw new ResourceNotFoundException("Programa Educativo", "id", programaEducativoId);
-        } catch (FeignException e) {
+        } catch (ExternalServiceException e) {
             log.error("Error al validar programa educativo: {}", e.getMessage());
-            throw new ExternalServiceException("microservicio-division", "No se pudo validar el programa educativo");
+            throw new ExternalServiceException("microservicio-division", "No se pudo validar el programa educativo", e);
         }
     }
 
@@ -229,7 +471,19 @@ public class AlumnoService {
         return entity;
     }
 
-    private AlumnoViewDto convertirAViewDto(AlumnoEntity alumno) {
+    private String obtenerNombrePrograma(Long programaEducativoId) {
+        // Nombre del programa educativo desde el catálogo local
+        try {
+            return catalogoProgramas.obtenerPrograma(programaEducativoId)
+                    .map(ProgramaEducativoDto::getNombre)
+                    .orElse("Programa no disponible");
+        } catch (ExternalServiceException e) {
+            log.warn("No se pudo obtener programa educativo con id {}: {}", programaEducativoId, e.getMessage());
+            return "Programa " + programaEducativoId;
+        }
+    }
+
+    private AlumnoViewDto convertirAViewDto(AlumnoEntity alumno, String programaEducativo, String grupo) {
         AlumnoViewDto viewDto = new AlumnoViewDto();
         viewDto.setId(alumno.getId());
         viewDto.setNombre(alumno.getNombre());
@@ -237,19 +491,10 @@ public class AlumnoService {
         viewDto.setMatricula(alumno.getMatricula());
         viewDto.setCorreo(alumno.getCorreo());
         viewDto.setTelefono(alumno.getTelefono());
-
-        // Obtener nombre real del programa educativo usando Feign
-        try {
-            ProgramaEducativoDto programa = programaEducativoClient.obtenerProgramaPorId(alumno.getProgramaEducativoId());
-            viewDto.setProgramaEducativo(programa != null ? programa.getNombre() : "Programa no disponible");
-        } catch (FeignException e) {
-            log.warn("No se pudo obtener programa educativo con id {}: {}", alumno.getProgramaEducativoId(), e.getMessage());
-            viewDto.setProgramaEducativo("Programa " + alumno.getProgramaEducativoId());
-        }
+        viewDto.setProgramaEducativo(programaEducativo);
 
         if (alumno.getGrupoId() != null) {
-            GrupoEntity grupo = grupoRepository.findById(alumno.getGrupoId()).orElse(null);
-            viewDto.setGrupo(grupo != null ? grupo.getNombre() : "Grupo no encontrado");
+            viewDto.setGrupo(grupo != null ? grupo : "Grupo no encontrado");
         } else {
             viewDto.setGrupo("Sin grupo asignado");
         }
@@ -0,0 +1,52 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+import mx.edu.uteq.idgs12.microservicio_alumno.config.ConsultasRemotasConfig;
+import mx.edu.uteq.idgs12.microservicio_alumno.config.ConsultasRemotasProperties;
+
+/**
+ * Lanza consultas remotas independientes en paralelo, cada una en el ejecutor de su
+ * dependencia. Todas comparten el mismo plazo: si una no responde a tiempo, falla o su
+ * ejecutor no tiene cupo se usa su valor de respaldo, de modo que la latencia de una vista
+ * de detalle es la de la dependencia más lenta y no la suma.
+ */
+@Component
+@Slf4j
+public class ConsultasRemotasParalelas {
+
+    private final Map<String, Executor> ejecutores;
+    private final ConsultasRemotasProperties properties;
+
+    public ConsultasRemotasParalelas(@Qualifier(ConsultasRemotasConfig.EJECUTOR_DIVISION) Executor division,
+            @Qualifier(ConsultasRemotasConfig.EJECUTOR_PROFESOR) Executor profesor,
+            ConsultasRemotasProperties properties) {
+        this.ejecutores = Map.of("microservicio-division", division, "microservicio-profesor", profesor);
+        this.properties = properties;
+    }
+
+    public <T> CompletableFuture<T> iniciar(String dependencia, Supplier<T> consulta, T respaldo) {
+        CompletableFuture<T> futuro;
+        try {
+            futuro = CompletableFuture.supplyAsync(consulta, ejecutores.get(dependencia));
+        } catch (RejectedExecutionException e) {
+            log.warn("Sin cupo en el ejecutor de {}, se usa valor de respaldo", dependencia);
+            return CompletableFuture.completedFuture(respaldo);
+        }
+        return futuro
+                .completeOnTimeout(respaldo, properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.warn("Consulta remota fallida, se usa valor de respaldo: {}", e.getMessage());
+                    return respaldo;
+                });
+    }
+}
@@ -0,0 +1,20 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+
+/**
+ * Escribe alumnos en el formato de exportación conforme se leen, sin acumularlos.
+ * {@link #close()} termina el archivo pero no cierra la salida.
+ */
+interface EscritorAlumnos extends Closeable {
+
+    // Los nombres coinciden con los del CSV de importación; id y activo se ignoran al importar
+    List<String> COLUMNAS = List.of("id", "matricula", "nombre", "apellido", "correo", "telefono",
+            "programaEducativoId", "grupoId", "activo");
+
+    void escribir(AlumnoDto alumno) throws IOException;
+}
@@ -0,0 +1,81 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+
+/**
+ * CSV UTF-8 con BOM (Excel reconoce los acentos) y encabezado. Los campos con coma, comillas o
+ * saltos de línea van entre comillas dobles, con "" para una comilla; el mismo formato que lee
+ * {@link LectorCsvAlumnos}. Un valor que empieza con =, +, -, @, tabulador o retorno de carro
+ * Excel lo evaluaría como fórmula: se escribe entre comillas con un apóstrofo al inicio, que el
+ * lector quita al importar.
+ */
+class EscritorCsvAlumnos implements EscritorAlumnos {
+
+    private static final int BUFER = 64 * 1024;
+
+    private final Writer salida;
+
+    EscritorCsvAlumnos(OutputStream salida) throws IOException {
+        this.salida = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), BUFER);
+        this.salida.write('\uFEFF');
+        this.salida.write(String.join(",", COLUMNAS));
+        this.salida.write("\r\n");
+    }
+
+    @Override
+    public void escribir(AlumnoDto alumno) throws IOException {
+        salida.write(String.valueOf(alumno.getId()));
+        salida.write(',');
+        campo(alumno.getMatricula());
+        campo(alumno.getNombre());
+        campo(alumno.getApellido());
+        campo(alumno.getCorreo());
+        campo(alumno.getTelefono());
+        numero(alumno.getProgramaEducativoId());
+        numero(alumno.getGrupoId());
+        salida.write(alumno.isActivo() ? "true" : "false");
+        salida.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        salida.flush();
+    }
+
+    static boolean iniciaFormula(char c) {
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    private void campo(String valor) throws IOException {
+        if (valor != null) {
+            boolean formula = !valor.isEmpty() && iniciaFormula(valor.charAt(0));
+            boolean comillas = formula || valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0
+                    || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0;
+            if (comillas) {
+                salida.write('"');
+                if (formula) {
+                    salida.write('\'');
+                }
+                salida.write(valor.replace("\"", "\"\""));
+                salida.write('"');
+            } else {
+                salida.write(valor);
+            }
+        }
+        salida.write(',');
+    }
+
+    private void numero(Long valor) throws IOException {
+        if (valor != null) {
+            salida.write(valor.toString());
+        }
+        salida.write(',');
+    }
+}
@@ -0,0 +1,56 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.dhatim.fastexcel.Workbook;
+import org.dhatim.fastexcel.Worksheet;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+
+/**
+ * Hoja XLSX escrita en streaming con fastexcel: las filas se vuelcan a la salida cada
+ * {@link #FILAS_POR_VOLCADO} y los textos van en línea, no en la tabla de cadenas compartidas
+ * (que se mantiene en memoria), así que la memoria no crece con el número de alumnos.
+ */
+class EscritorXlsxAlumnos implements EscritorAlumnos {
+
+    private static final int FILAS_POR_VOLCADO = 1000;
+
+    private final Workbook libro;
+    private final Worksheet hoja;
+    private int fila;
+
+    EscritorXlsxAlumnos(OutputStream salida) {
+        this.libro = new Workbook(salida, "microservicio-alumno", "1.0");
+        this.hoja = libro.newWorksheet("Alumnos");
+        for (int columna = 0; columna < COLUMNAS.size(); columna++) {
+            hoja.value(0, columna, COLUMNAS.get(columna));
+        }
+        hoja.range(0, 0, 0, COLUMNAS.size() - 1).style().bold().set();
+        hoja.freezePane(0, 1);
+        fila = 1;
+    }
+
+    @Override
+    public void escribir(AlumnoDto alumno) throws IOException {
+        hoja.value(fila, 0, alumno.getId());
+        hoja.inlineString(fila, 1, alumno.getMatricula());
+        hoja.inlineString(fila, 2, alumno.getNombre());
+        hoja.inlineString(fila, 3, alumno.getApellido());
+        hoja.inlineString(fila, 4, alumno.getCorreo());
+        hoja.inlineString(fila, 5, alumno.getTelefono());
+        hoja.value(fila, 6, alumno.getProgramaEducativoId());
+        hoja.value(fila, 7, alumno.getGrupoId());
+        hoja.value(fila, 8, alumno.isActivo());
+        fila++;
+        if (fila % FILAS_POR_VOLCADO == 0) {
+            hoja.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        libro.finish();
+    }
+}
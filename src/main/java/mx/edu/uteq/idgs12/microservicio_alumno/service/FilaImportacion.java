@@ -0,0 +1,15 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.service;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+
+// Fila leída del archivo de importación; error indica que no se pudo interpretar
+record FilaImportacion(int numero, AlumnoDto alumno, String error) {
+
+    static FilaImportacion valida(int numero, AlumnoDto alumno) {
+        return new FilaImportacion(numero, alumno, null);
+    }
+
+    static FilaImportacion invalida(int numero, String error) {
+        return new FilaImportacion(numero, null, error);
+    }
+}
@@ -0,0 +1,40 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.exception.BusinessRuleException;
+
+public enum FormatoExportacion {
+    CSV("text/csv;charset=UTF-8", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String tipoContenido;
+    private final String extension;
+
+    FormatoExportacion(String tipoContenido, String extension) {
+        this.tipoContenido = tipoContenido;
+        this.extension = extension;
+    }
+
+    public static FormatoExportacion de(String nombre) {
+        try {
+            return valueOf(nombre.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessRuleException("Formato de exportación no soportado: " + nombre + " (csv o xlsx)");
+        }
+    }
+
+    public String getTipoContenido() {
+        return tipoContenido;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    EscritorAlumnos crearEscritor(OutputStream salida) throws IOException {
+        return this == CSV ? new EscritorCsvAlumnos(salida) : new EscritorXlsxAlumnos(salida);
+    }
+}
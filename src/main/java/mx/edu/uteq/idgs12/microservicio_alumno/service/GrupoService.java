@@ -1,26 +1,39 @@
 package mx.edu.uteq.idgs12.microservicio_alumno.service;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import mx.edu.uteq.idgs12.microservicio_alumno.client.ProfesorClient;
-import mx.edu.uteq.idgs12.microservicio_alumno.client.ProgramaEducativoClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.cache.CatalogoProgramas;
+import mx.edu.uteq.idgs12.microservicio_alumno.cache.ProfesorCache;
+import mx.edu.uteq.idgs12.microservicio_alumno.config.GrupoProperties;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.FilaRosterGrupoDto;
 import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoUpdateDto;
 import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoViewDto;
-import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProfesorDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.OcupacionGrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.PaginaCursorDto;
 import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProgramaEducativoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.RosterGrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.VersionColeccionDto;
 import mx.edu.uteq.idgs12.microservicio_alumno.entity.GrupoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.evento.RegistroEventos;
+import mx.edu.uteq.idgs12.microservicio_alumno.evento.TipoEvento;
 import mx.edu.uteq.idgs12.microservicio_alumno.exception.BusinessRuleException;
 import mx.edu.uteq.idgs12.microservicio_alumno.exception.DuplicateResourceException;
 import mx.edu.uteq.idgs12.microservicio_alumno.exception.ExternalServiceException;
 import mx.edu.uteq.idgs12.microservicio_alumno.exception.ResourceNotFoundException;
+import mx.edu.uteq.idgs12.microservicio_alumno.indice.IndiceMembresia;
 import mx.edu.uteq.idgs12.microservicio_alumno.repository.AlumnoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.ContadorGrupoRepository;
 import mx.edu.uteq.idgs12.microservicio_alumno.repository.GrupoRepository;
 
 @Service
@@ -30,23 +43,28 @@ public class GrupoService {
 
     private final GrupoRepository grupoRepository;
     private final AlumnoRepository alumnoRepository;
-    private final ProgramaEducativoClient programaEducativoClient;
-    private final ProfesorClient profesorClient;
+    private final ContadorGrupoRepository contadorGrupoRepository;
+    private final CatalogoProgramas catalogoProgramas;
+    private final ProfesorCache profesorCache;
+    private final GrupoProperties grupoProperties;
+    private final ConsultasRemotasParalelas consultasRemotas;
+    private final LecturasAsincronas lecturasAsincronas;
+    private final RegistroEventos registroEventos;
+    private final IndiceMembresia indiceMembresia;
 
     @Transactional(readOnly = true)
     public List<GrupoDto> obtenerTodos() {
-        return grupoRepository.findAll()
-                .stream()
-                .map(this::convertirADto)
-                .collect(Collectors.toList());
+        return grupoRepository.listarTodos();
     }
 
     @Transactional(readOnly = true)
     public List<GrupoDto> obtenerActivos() {
-        return grupoRepository.findByActivoTrue()
-                .stream()
-                .map(this::convertirADto)
-                .collect(Collectors.toList());
+        return grupoRepository.listarActivos();
+    }
+
+    @Transactional(readOnly = true)
+    public VersionColeccionDto obtenerVersionActivos() {
+        return grupoRepository.obtenerVersionActivos();
     }
 
     @Transactional(readOnly = true)
@@ -61,25 +79,106 @@ public class GrupoService {
         GrupoEntity grupo = grupoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Grupo", "id", id));
 
-        long totalAlumnos = alumnoRepository.findByGrupoIdAndActivoTrue(id).size();
+        // El profesor se consulta en paralelo mientras el programa se lee del catálogo local
+        CompletableFuture<String> profesor = obtenerNombreProfesorAsync(grupo.getProfesorId());
+        return convertirAViewDto(grupo, contarAlumnosActivos(grupo),
+                obtenerNombrePrograma(grupo.getProgramaEducativoId()), profesor.join());
+    }
+
+    /**
+     * Variante de obtenerGrupoConDetalles para los endpoints /async: el grupo se lee en el
+     * ejecutor de la base de datos; después programa y profesor se resuelven en paralelo en el
+     * ejecutor de su dependencia. Ningún paso ocupa el hilo de la petición.
+     */
+    public CompletableFuture<GrupoViewDto> obtenerGrupoConDetallesAsync(Long id) {
+        return lecturasAsincronas.leer(() -> {
+                    GrupoEntity grupo = grupoRepository.findById(id)
+                            .orElseThrow(() -> new ResourceNotFoundException("Grupo", "id", id));
+                    return new GrupoLeido(grupo, contarAlumnosActivos(grupo));
+                })
+                .thenCompose(leido -> obtenerNombreProgramaAsync(leido.grupo().getProgramaEducativoId())
+                        .thenCombine(obtenerNombreProfesorAsync(leido.grupo().getProfesorId()),
+                                (programa, profesor) -> convertirAViewDto(leido.grupo(), leido.totalAlumnos(),
+                                        programa, profesor)));
+    }
+
+    @Transactional(readOnly = true)
+    public RosterGrupoDto obtenerRoster(Long id, Long despuesDe, int tamanio) {
+        RosterLeido leido = leerRoster(id, despuesDe, tamanio);
+        // Programa del catálogo local y profesor de la cache: sin llamadas remotas en el caso normal
+        leido.roster().setProgramaEducativo(obtenerNombrePrograma(leido.programaEducativoId()));
+        leido.roster().setProfesor(leido.profesorId() != null
+                ? obtenerNombreProfesor(leido.profesorId())
+                : "Sin profesor asignado");
+        return leido.roster();
+    }
+
+    // Variante de obtenerRoster para los endpoints /async; programa y profesor como en obtenerGrupoConDetallesAsync
+    public CompletableFuture<RosterGrupoDto> obtenerRosterAsync(Long id, Long despuesDe, int tamanio) {
+        return lecturasAsincronas.leer(() -> leerRoster(id, despuesDe, tamanio))
+                .thenCompose(leido -> obtenerNombreProgramaAsync(leido.programaEducativoId())
+                        .thenCombine(obtenerNombreProfesorAsync(leido.profesorId()), (programa, profesor) -> {
+                            leido.roster().setProgramaEducativo(programa);
+                            leido.roster().setProfesor(profesor);
+                            return leido.roster();
+                        }));
+    }
+
+    private RosterLeido leerRoster(Long id, Long despuesDe, int tamanio) {
+        if (tamanio < 1 || tamanio > AlumnoService.TAMANIO_PAGINA_MAXIMO) {
+            throw new BusinessRuleException("El tamaño de página debe estar entre 1 y "
+                    + AlumnoService.TAMANIO_PAGINA_MAXIMO);
+        }
+
+        // Se pide un alumno extra para saber si existe una página siguiente
+        List<FilaRosterGrupoDto> filas = grupoRepository.obtenerRoster(
+                id, despuesDe != null ? despuesDe : 0L, Limit.of(tamanio + 1));
+        if (filas.isEmpty()) {
+            throw new ResourceNotFoundException("Grupo", "id", id);
+        }
+
+        FilaRosterGrupoDto encabezado = filas.get(0);
+        List<AlumnoDto> alumnos = filas.stream()
+                .filter(fila -> fila.getAlumnoId() != null)
+                .map(fila -> new AlumnoDto(fila.getAlumnoId(), fila.getNombre(), fila.getApellido(),
+                        fila.getMatricula(), fila.getCorreo(), fila.getTelefono(),
+                        fila.getAlumnoProgramaEducativoId(), fila.getGrupoId(), true))
+                .toList();
+        boolean hayMas = alumnos.size() > tamanio;
+        List<AlumnoDto> contenido = hayMas ? alumnos.subList(0, tamanio) : alumnos;
+
+        PaginaCursorDto<AlumnoDto> pagina = new PaginaCursorDto<>();
+        pagina.setContenido(contenido);
+        pagina.setTamanio(contenido.size());
+        pagina.setHayMas(hayMas);
+        pagina.setSiguienteCursor(hayMas ? contenido.get(contenido.size() - 1).getId() : null);
+
+        RosterGrupoDto roster = new RosterGrupoDto();
+        roster.setId(encabezado.getGrupoId());
+        roster.setNombre(encabezado.getGrupoNombre());
+        roster.setActivo(encabezado.isGrupoActivo());
+        roster.setTotalAlumnos(grupoProperties.isUsarContadorAlumnos()
+                ? encabezado.getAlumnosActivos()
+                : contarAlumnosActivos(id));
+        roster.setAlumnos(pagina);
+        return new RosterLeido(roster, encabezado.getProgramaEducativoId(), encabezado.getProfesorId());
+    }
 
-        return convertirAViewDto(grupo, totalAlumnos);
+    @Transactional(readOnly = true)
+    public List<OcupacionGrupoDto> obtenerOcupacion() {
+        return grupoProperties.isUsarContadorAlumnos()
+                ? grupoRepository.obtenerOcupacionDesdeContador()
+                : grupoRepository.contarOcupacion();
     }
 
     @Transactional(readOnly = true)
     public List<GrupoDto> obtenerPorProgramaEducativo(Long programaEducativoId) {
-        return grupoRepository.findByProgramaEducativoIdAndActivoTrue(programaEducativoId)
-                .stream()
-                .map(this::convertirADto)
-                .collect(Collectors.toList());
+        return grupoRepository.listarActivosPorProgramaEducativo(programaEducativoId);
     }
 
     @Transactional(readOnly = true)
     public List<GrupoDto> obtenerPorProfesor(Long profesorId) {
-        return grupoRepository.findByProfesorId(profesorId)
-                .stream()
-                .map(this::convertirADto)
-                .collect(Collectors.toList());
+        return grupoRepository.listarPorProfesor(profesorId);
     }
 
     @Transactional
@@ -100,7 +199,7 @@ public class GrupoService {
         grupo.setActivo(true);
 
         GrupoEntity guardado = grupoRepository.save(grupo);
-        return convertirADto(guardado);
+        return registrarEvento(TipoEvento.GRUPO_CREADO, guardado);
     }
 
     @Transactional
@@ -123,7 +222,40 @@ public class GrupoService {
         grupo.setProfesorId(grupoDto.getProfesorId());
 
         GrupoEntity actualizado = grupoRepository.save(grupo);
-        return convertirADto(actualizado);
+        return registrarEvento(TipoEvento.GRUPO_ACTUALIZADO, actualizado);
+    }
+
+    // Solo aplica los campos enviados; las validaciones con consulta se omiten si el valor no cambia
+    @Transactional
+    public GrupoDto actualizarParcial(Long id, GrupoUpdateDto cambios) {
+        GrupoEntity grupo = grupoRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Grupo", "id", id));
+
+        boolean nombreCambia = cambios.getNombre() != null && !cambios.getNombre().equals(grupo.getNombre());
+        if (nombreCambia && grupoRepository.existsByNombreAndProgramaEducativoId(
+                cambios.getNombre(), grupo.getProgramaEducativoId())) {
+            throw new DuplicateResourceException("Ya existe un grupo con el nombre '" +
+                cambios.getNombre() + "' en este programa educativo");
+        }
+
+        boolean profesorCambia = cambios.getProfesorId() != null
+                && !cambios.getProfesorId().equals(grupo.getProfesorId());
+        if (profesorCambia) {
+            validarProfesor(cambios.getProfesorId());
+        }
+
+        if (!nombreCambia && !profesorCambia) {
+            return convertirADto(grupo);
+        }
+        if (nombreCambia) {
+            grupo.setNombre(cambios.getNombre());
+        }
+        if (profesorCambia) {
+            grupo.setProfesorId(cambios.getProfesorId());
+        }
+
+        GrupoEntity actualizado = grupoRepository.save(grupo);
+        return registrarEvento(TipoEvento.GRUPO_ACTUALIZADO, actualizado);
     }
 
     @Transactional
@@ -136,7 +268,7 @@ public class GrupoService {
         grupo.setProfesorId(profesorId);
 
         GrupoEntity actualizado = grupoRepository.save(grupo);
-        return convertirADto(actualizado);
+        return registrarEvento(TipoEvento.GRUPO_PROFESOR_ASIGNADO, actualizado);
     }
 
     @Transactional
@@ -144,14 +276,14 @@ public class GrupoService {
         GrupoEntity grupo = grupoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Grupo", "id", id));
 
-        long alumnosActivos = alumnoRepository.findByGrupoIdAndActivoTrue(id).size();
+        long alumnosActivos = alumnoRepository.countByGrupoIdAndActivoTrue(id);
         if (alumnosActivos > 0) {
             throw new BusinessRuleException("No se puede eliminar el grupo porque tiene " +
                 alumnosActivos + " alumnos asignados");
         }
 
         grupo.setActivo(false);
-        grupoRepository.save(grupo);
+        registrarEvento(TipoEvento.GRUPO_ELIMINADO, grupoRepository.save(grupo));
     }
 
     @Transactional
@@ -162,35 +294,46 @@ public class GrupoService {
         grupo.setActivo(!grupo.isActivo());
 
         GrupoEntity actualizado = grupoRepository.save(grupo);
-        return convertirADto(actualizado);
+        return registrarEvento(TipoEvento.GRUPO_ACTIVO_CAMBIADO, actualizado);
+    }
+
+    // Sincroniza el contador desnormalizado con los alumnos existentes al arrancar
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void recalcularContadoresAlumnos() {
+        int grupos = contadorGrupoRepository.recalcularAlumnosActivos();
+        log.info("Contador de alumnos activos recalculado para {} grupos", grupos);
     }
 
     // Métodos auxiliares
+    // El evento va al outbox en la misma transacción que el cambio
+    private GrupoDto registrarEvento(TipoEvento tipo, GrupoEntity grupo) {
+        GrupoDto dto = convertirADto(grupo);
+        registroEventos.registrar(tipo, "grupo", dto.getId(), dto);
+        return dto;
+    }
+
     private void validarProgramaEducativo(Long programaEducativoId) {
         try {
-            ProgramaEducativoDto programa = programaEducativoClient.obtenerProgramaPorId(programaEducativoId);
-            if (programa == null || !programa.isActivo()) {
+            ProgramaEducativoDto programa = catalogoProgramas.obtenerPrograma(programaEducativoId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Programa Educativo", "id", programaEducativoId));
+            if (!programa.isActivo()) {
                 throw new BusinessRuleException("El programa educativo no está disponible");
             }
-        } catch (FeignException.NotFound e) {
-            throw new ResourceNotFoundException("Programa Educativo", "id", programaEducativoId);
-        } catch (FeignException e) {
+        } catch (ExternalServiceException e) {
             log.error("Error al validar programa educativo: {}", e.getMessage());
-            throw new ExternalServiceException("microservicio-division", "No se pudo validar el programa educativo");
+            throw new ExternalServiceException("microservicio-division", "No se pudo validar el programa educativo", e);
         }
     }
 
     private void validarProfesor(Long profesorId) {
         try {
-            ProfesorDto profesor = profesorClient.obtenerProfesorPorId(profesorId);
-            if (profesor == null) {
+            if (profesorCache.obtener(profesorId).isEmpty()) {
                 throw new ResourceNotFoundException("Profesor", "id", profesorId);
             }
-        } catch (FeignException.NotFound e) {
-            throw new ResourceNotFoundException("Profesor", "id", profesorId);
-        } catch (FeignException e) {
+        } catch (ExternalServiceException e) {
             log.error("Error al validar profesor: {}", e.getMessage());
-            throw new ExternalServiceException("microservicio-profesor", "No se pudo validar el profesor");
+            throw new ExternalServiceException("microservicio-profesor", "No se pudo validar el profesor", e);
         }
     }
 
@@ -214,39 +357,69 @@ public class GrupoService {
         return entity;
     }
 
-    private GrupoViewDto convertirAViewDto(GrupoEntity grupo, long totalAlumnos) {
+    private long contarAlumnosActivos(GrupoEntity grupo) {
+        return grupoProperties.isUsarContadorAlumnos()
+                ? contadorGrupoRepository.obtenerAlumnosActivos(grupo.getId()).orElse(0L)
+                : contarAlumnosActivos(grupo.getId());
+    }
+
+    private long contarAlumnosActivos(Long grupoId) {
+        return indiceMembresia.isListo()
+                ? indiceMembresia.contarAlumnosActivos(grupoId)
+                : alumnoRepository.countByGrupoIdAndActivoTrue(grupoId);
+    }
+
+    private GrupoViewDto convertirAViewDto(GrupoEntity grupo, long totalAlumnos, String programaEducativo,
+            String profesor) {
         GrupoViewDto viewDto = new GrupoViewDto();
         viewDto.setId(grupo.getId());
         viewDto.setNombre(grupo.getNombre());
         viewDto.setTotalAlumnos((int) totalAlumnos);
         viewDto.setActivo(grupo.isActivo());
+        viewDto.setProgramaEducativo(programaEducativo);
+        viewDto.setProfesor(profesor);
+        return viewDto;
+    }
+
+    private CompletableFuture<String> obtenerNombreProgramaAsync(Long programaEducativoId) {
+        return consultasRemotas.iniciar("microservicio-division",
+                () -> obtenerNombrePrograma(programaEducativoId), "Programa " + programaEducativoId);
+    }
 
-        // Obtener nombre real del programa educativo usando Feign
+    private CompletableFuture<String> obtenerNombreProfesorAsync(Long profesorId) {
+        return profesorId != null
+                ? consultasRemotas.iniciar("microservicio-profesor",
+                        () -> obtenerNombreProfesor(profesorId), "Profesor " + profesorId)
+                : CompletableFuture.completedFuture("Sin profesor asignado");
+    }
+
+    private String obtenerNombrePrograma(Long programaEducativoId) {
+        // Nombre del programa educativo desde el catálogo local
         try {
-            ProgramaEducativoDto programa = programaEducativoClient.obtenerProgramaPorId(grupo.getProgramaEducativoId());
-            viewDto.setProgramaEducativo(programa != null ? programa.getNombre() : "Programa no disponible");
-        } catch (FeignException e) {
-            log.warn("No se pudo obtener programa educativo con id {}: {}", grupo.getProgramaEducativoId(), e.getMessage());
-            viewDto.setProgramaEducativo("Programa " + grupo.getProgramaEducativoId());
-        }
-
-        // Obtener datos del profesor usando Feign
-        if (grupo.getProfesorId() != null) {
-            try {
-                ProfesorDto profesor = profesorClient.obtenerProfesorPorId(grupo.getProfesorId());
-                if (profesor != null) {
-                    viewDto.setProfesor(profesor.getNombre() + " " + profesor.getApellido());
-                } else {
-                    viewDto.setProfesor("Profesor no disponible");
-                }
-            } catch (FeignException e) {
-                log.warn("No se pudo obtener profesor con id {}: {}", grupo.getProfesorId(), e.getMessage());
-                viewDto.setProfesor("Profesor " + grupo.getProfesorId());
-            }
-        } else {
-            viewDto.setProfesor("Sin profesor asignado");
+            return catalogoProgramas.obtenerPrograma(programaEducativoId)
+                    .map(ProgramaEducativoDto::getNombre)
+                    .orElse("Programa no disponible");
+        } catch (ExternalServiceException e) {
+            log.warn("No se pudo obtener programa educativo con id {}: {}", programaEducativoId, e.getMessage());
+            return "Programa " + programaEducativoId;
+        }
+    }
+
+    private String obtenerNombreProfesor(Long profesorId) {
+        // Obtener datos del profesor (cache local delante de Feign)
+        try {
+            return profesorCache.obtener(profesorId)
+                    .map(profesor -> profesor.getNombre() + " " + profesor.getApellido())
+                    .orElse("Profesor no disponible");
+        } catch (ExternalServiceException e) {
+            log.warn("No se pudo obtener profesor con id {}: {}", profesorId, e.getMessage());
+            return "Profesor " + profesorId;
         }
+    }
 
-        return viewDto;
+    private record GrupoLeido(GrupoEntity grupo, long totalAlumnos) {
+    }
+
+    private record RosterLeido(RosterGrupoDto roster, Long programaEducativoId, Long profesorId) {
     }
 }
@@ -0,0 +1,140 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.exception.BusinessRuleException;
+
+/**
+ * Lee alumnos de un CSV con encabezado, una fila por línea. Los campos pueden ir entre
+ * comillas dobles ("" escapa una comilla); no se admiten saltos de línea dentro de un campo.
+ * Se quita el apóstrofo con el que {@link EscritorCsvAlumnos} neutraliza las fórmulas.
+ */
+class LectorCsvAlumnos implements Iterator<FilaImportacion> {
+
+    private static final List<String> COLUMNAS_OBLIGATORIAS =
+            List.of("nombre", "apellido", "matricula", "programaeducativoid");
+
+    private final BufferedReader lector;
+    private final Map<String, Integer> columnas = new HashMap<>();
+    private String siguienteLinea;
+    private int numero;
+
+    LectorCsvAlumnos(BufferedReader lector) {
+        this.lector = lector;
+        String encabezado = leerLinea();
+        if (encabezado == null) {
+            throw new BusinessRuleException("El archivo CSV está vacío");
+        }
+        List<String> nombres = separar(quitarBom(encabezado));
+        for (int i = 0; i < nombres.size(); i++) {
+            columnas.put(nombres.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String columna : COLUMNAS_OBLIGATORIAS) {
+            if (!columnas.containsKey(columna)) {
+                throw new BusinessRuleException("Falta la columna obligatoria '" + columna + "' en el encabezado CSV");
+            }
+        }
+        avanzar();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return siguienteLinea != null;
+    }
+
+    @Override
+    public FilaImportacion next() {
+        if (siguienteLinea == null) {
+            throw new NoSuchElementException();
+        }
+        List<String> campos = separar(siguienteLinea);
+        numero++;
+        avanzar();
+
+        AlumnoDto alumno = new AlumnoDto();
+        alumno.setNombre(campo(campos, "nombre"));
+        alumno.setApellido(campo(campos, "apellido"));
+        alumno.setMatricula(campo(campos, "matricula"));
+        alumno.setCorreo(campo(campos, "correo"));
+        alumno.setTelefono(campo(campos, "telefono"));
+        try {
+            alumno.setProgramaEducativoId(numeroLargo(campo(campos, "programaeducativoid")));
+            alumno.setGrupoId(numeroLargo(campo(campos, "grupoid")));
+        } catch (NumberFormatException e) {
+            return FilaImportacion.invalida(numero, "Identificador numérico inválido: " + e.getMessage());
+        }
+        return FilaImportacion.valida(numero, alumno);
+    }
+
+    private void avanzar() {
+        do {
+            siguienteLinea = leerLinea();
+        } while (siguienteLinea != null && siguienteLinea.isBlank());
+    }
+
+    private String leerLinea() {
+        try {
+            return lector.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String campo(List<String> campos, String columna) {
+        Integer indice = columnas.get(columna);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        if (valor.length() > 1 && valor.charAt(0) == '\'' && EscritorCsvAlumnos.iniciaFormula(valor.charAt(1))) {
+            valor = valor.substring(1);
+        }
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static Long numeroLargo(String valor) {
+        return valor != null ? Long.valueOf(valor) : null;
+    }
+
+    private static String quitarBom(String linea) {
+        return linea.startsWith("\uFEFF") ? linea.substring(1) : linea;
+    }
+
+    static List<String> separar(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,55 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.config.ConsultasRemotasConfig;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.VersionColeccionDto;
+
+/**
+ * Ejecuta las lecturas de los endpoints /async en el ejecutor de la base de datos, de modo
+ * que el hilo del servlet queda libre mientras corre la consulta. Si el ejecutor y su cola
+ * están llenos el futuro falla con RejectedExecutionException (503) sin esperar.
+ */
+@Component
+public class LecturasAsincronas {
+
+    private final Executor executor;
+
+    public LecturasAsincronas(@Qualifier(ConsultasRemotasConfig.EJECUTOR_BASE_DATOS) Executor executor) {
+        this.executor = executor;
+    }
+
+    public <T> CompletableFuture<T> leer(Supplier<T> lectura) {
+        try {
+            return CompletableFuture.supplyAsync(lectura, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Lectura de una colección con ETag y Last-Modified. Si If-None-Match coincide con la
+     * versión actual las filas no se leen; Spring responde 304 a partir de los encabezados.
+     */
+    public <T> CompletableFuture<ResponseEntity<T>> leerCondicional(String ifNoneMatch,
+            Supplier<VersionColeccionDto> version, Supplier<T> lectura) {
+        return leer(() -> {
+            VersionColeccionDto actual = version.get();
+            ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok().eTag(actual.getEtag());
+            if (actual.getUltimaModificacionMillis() >= 0) {
+                respuesta.lastModified(actual.getUltimaModificacionMillis());
+            }
+            if (actual.getEtag().equals(ifNoneMatch)) {
+                return respuesta.build();
+            }
+            return respuesta.body(lectura.get());
+        });
+    }
+}
@@ -0,0 +1,290 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+import mx.edu.uteq.idgs12.microservicio_alumno.config.ConsultasRemotasConfig;
+import mx.edu.uteq.idgs12.microservicio_alumno.config.ReasignacionProperties;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ReasignacionEstadoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ReasignacionGrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.UbicacionAlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.GrupoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.evento.RegistroEventos;
+import mx.edu.uteq.idgs12.microservicio_alumno.evento.TipoEvento;
+import mx.edu.uteq.idgs12.microservicio_alumno.exception.BusinessRuleException;
+import mx.edu.uteq.idgs12.microservicio_alumno.exception.ResourceNotFoundException;
+import mx.edu.uteq.idgs12.microservicio_alumno.estadistica.EstadisticasAlumnos;
+import mx.edu.uteq.idgs12.microservicio_alumno.indice.IndiceMembresia;
+import mx.edu.uteq.idgs12.microservicio_alumno.indice.MembresiaAlumno;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.AlumnoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.ContadorGrupoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.GrupoRepository;
+
+/**
+ * Reasignación masiva de grupo (cambio de cuatrimestre). El grupo destino se valida una sola vez
+ * y los alumnos se mueven en segundo plano por lotes: cada lote bloquea solo sus filas, las
+ * actualiza con un UPDATE, ajusta los contadores de los grupos y registra un evento, todo en su
+ * propia transacción. Si un lote falla, los anteriores quedan confirmados y el estado lo indica.
+ * El UPDATE masivo invalida la región de alumnos de la cache de segundo nivel.
+ */
+@Service
+@Slf4j
+public class ReasignacionGrupoService {
+
+    private final AlumnoRepository alumnoRepository;
+    private final GrupoRepository grupoRepository;
+    private final ContadorGrupoRepository contadorGrupoRepository;
+    private final RegistroEventos registroEventos;
+    private final IndiceMembresia indiceMembresia;
+    private final EstadisticasAlumnos estadisticasAlumnos;
+    private final ReasignacionProperties properties;
+    private final ExecutorService executor;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, Reasignacion> reasignaciones;
+
+    public ReasignacionGrupoService(AlumnoRepository alumnoRepository,
+                                    GrupoRepository grupoRepository,
+                                    ContadorGrupoRepository contadorGrupoRepository,
+                                    RegistroEventos registroEventos,
+                                    IndiceMembresia indiceMembresia,
+                                    EstadisticasAlumnos estadisticasAlumnos,
+                                    ReasignacionProperties properties,
+                                    @Qualifier(ConsultasRemotasConfig.EJECUTOR_REASIGNACIONES) ExecutorService executor,
+                                    PlatformTransactionManager transactionManager) {
+        this.alumnoRepository = alumnoRepository;
+        this.grupoRepository = grupoRepository;
+        this.contadorGrupoRepository = contadorGrupoRepository;
+        this.registroEventos = registroEventos;
+        this.indiceMembresia = indiceMembresia;
+        this.estadisticasAlumnos = estadisticasAlumnos;
+        this.properties = properties;
+        this.executor = executor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reasignaciones = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getRetencion())
+                .build();
+    }
+
+    public ReasignacionEstadoDto iniciar(ReasignacionGrupoDto solicitud) {
+        boolean porIds = solicitud.getAlumnoIds() != null;
+        if (porIds == (solicitud.getGrupoOrigenId() != null)) {
+            throw new BusinessRuleException("Indique la lista de alumnos o el grupo de origen, no ambos");
+        }
+        Long destino = solicitud.getGrupoDestinoId();
+        validarGrupoDestino(destino);
+
+        long total;
+        if (porIds) {
+            total = solicitud.getAlumnoIds().stream().distinct().count();
+        } else {
+            if (Objects.equals(solicitud.getGrupoOrigenId(), destino)) {
+                throw new BusinessRuleException("El grupo de origen y el destino son el mismo");
+            }
+            if (!grupoRepository.existsById(solicitud.getGrupoOrigenId())) {
+                throw new ResourceNotFoundException("Grupo", "id", solicitud.getGrupoOrigenId());
+            }
+            total = indiceMembresia.isListo()
+                    ? indiceMembresia.contarAlumnosActivos(solicitud.getGrupoOrigenId())
+                    : alumnoRepository.countByGrupoIdAndActivoTrue(solicitud.getGrupoOrigenId());
+        }
+
+        Reasignacion reasignacion = new Reasignacion(UUID.randomUUID().toString(), solicitud.getGrupoOrigenId(),
+                destino, total);
+        reasignaciones.put(reasignacion.id, reasignacion);
+        try {
+            List<Long> ids = porIds ? solicitud.getAlumnoIds().stream().distinct().sorted().toList() : null;
+            executor.execute(() -> ejecutar(reasignacion, ids));
+        } catch (RuntimeException e) {
+            reasignaciones.invalidate(reasignacion.id);
+            throw e;
+        }
+        return reasignacion.estado();
+    }
+
+    public ReasignacionEstadoDto obtenerEstado(String id) {
+        Reasignacion reasignacion = reasignaciones.getIfPresent(id);
+        if (reasignacion == null) {
+            throw new ResourceNotFoundException("Reasignación no encontrada con id: " + id);
+        }
+        return reasignacion.estado();
+    }
+
+    private void validarGrupoDestino(Long grupoId) {
+        GrupoEntity grupo = grupoRepository.findById(grupoId)
+                .orElseThrow(() -> new ResourceNotFoundException("Grupo", "id", grupoId));
+
+        if (!grupo.isActivo()) {
+            throw new BusinessRuleException("El grupo seleccionado no está activo");
+        }
+    }
+
+    private void ejecutar(Reasignacion reasignacion, List<Long> ids) {
+        int tamanioLote = properties.getTamanioLote();
+        try {
+            if (ids != null) {
+                for (int inicio = 0; inicio < ids.size(); inicio += tamanioLote) {
+                    List<Long> lote = ids.subList(inicio, Math.min(inicio + tamanioLote, ids.size()));
+                    transactionTemplate.executeWithoutResult(estado -> reasignarLote(reasignacion, lote));
+                }
+            } else {
+                // Keyset sobre id: los alumnos ya movidos dejan de aparecer en el grupo de origen
+                long ultimo = 0;
+                List<Long> lote;
+                do {
+                    lote = alumnoRepository.listarIdsActivosPorGrupo(reasignacion.grupoOrigenId, ultimo,
+                            Limit.of(tamanioLote));
+                    if (!lote.isEmpty()) {
+                        List<Long> actual = lote;
+                        transactionTemplate.executeWithoutResult(estado -> reasignarLote(reasignacion, actual));
+                        ultimo = lote.get(lote.size() - 1);
+                    }
+                } while (lote.size() == tamanioLote);
+            }
+            reasignacion.terminar("COMPLETADA", null);
+            log.info("Reasignación {} al grupo {}: {} alumnos reasignados de {} en {} lotes, {} ms", reasignacion.id,
+                    reasignacion.grupoDestinoId, reasignacion.reasignados, reasignacion.procesados,
+                    reasignacion.lotes, reasignacion.duracion().toMillis());
+        } catch (RuntimeException e) {
+            reasignacion.terminar("FALLIDA", "Lote " + (reasignacion.lotes + 1) + ": " + e.getMessage());
+            log.error("Reasignación {} fallida tras {} alumnos reasignados", reasignacion.id,
+                    reasignacion.reasignados, e);
+        }
+    }
+
+    private void reasignarLote(Reasignacion reasignacion, List<Long> ids) {
+        Long destino = reasignacion.grupoDestinoId;
+        List<UbicacionAlumnoDto> ubicaciones = alumnoRepository.bloquearUbicaciones(ids);
+
+        List<UbicacionAlumnoDto> movidas = new ArrayList<>(ubicaciones.size());
+        List<Long> mover = new ArrayList<>(ubicaciones.size());
+        Map<Long, Long> salidasPorGrupo = new HashMap<>();
+        long sinCambio = 0;
+        long entradas = 0;
+        for (UbicacionAlumnoDto ubicacion : ubicaciones) {
+            if (Objects.equals(ubicacion.getGrupoId(), destino)) {
+                sinCambio++;
+                continue;
+            }
+            // Con grupo de origen, el alumno pudo cambiar de grupo o desactivarse desde que se leyó el lote
+            if (reasignacion.grupoOrigenId != null
+                    && (!ubicacion.isActivo() || !reasignacion.grupoOrigenId.equals(ubicacion.getGrupoId()))) {
+                continue;
+            }
+            movidas.add(ubicacion);
+            mover.add(ubicacion.getId());
+            if (ubicacion.isActivo()) {
+                entradas++;
+                if (ubicacion.getGrupoId() != null) {
+                    salidasPorGrupo.merge(ubicacion.getGrupoId(), 1L, Long::sum);
+                }
+            }
+        }
+
+        if (!mover.isEmpty()) {
+            alumnoRepository.reasignarGrupo(mover, destino, LocalDateTime.now());
+            salidasPorGrupo.forEach((grupoId, cantidad) -> contadorGrupoRepository.ajustarAlumnosActivos(grupoId, -cantidad));
+            if (entradas > 0) {
+                contadorGrupoRepository.ajustarAlumnosActivos(destino, entradas);
+            }
+            indiceMembresia.alumnosReasignados(movidas, destino);
+            estadisticasAlumnos.registrarCambios(
+                    movidas.stream().map(ubicacion -> membresia(ubicacion, ubicacion.getGrupoId())).toList(),
+                    movidas.stream().map(ubicacion -> membresia(ubicacion, destino)).toList());
+            // Un evento por lote con los ids movidos, no uno por alumno
+            registroEventos.registrar(TipoEvento.ALUMNOS_REASIGNADOS, "alumno", null,
+                    Map.of("grupoDestinoId", destino, "ids", mover));
+        }
+
+        reasignacion.avanzar(ids.size(), mover.size(), sinCambio,
+                reasignacion.grupoOrigenId == null ? ids.size() - ubicaciones.size() : 0);
+    }
+
+    private static MembresiaAlumno membresia(UbicacionAlumnoDto ubicacion, Long grupoId) {
+        return new MembresiaAlumno(ubicacion.getId(), ubicacion.getProgramaEducativoId(), grupoId,
+                ubicacion.isActivo());
+    }
+
+    // Estado en memoria de una reasignación; solo el hilo del ejecutor lo modifica
+    private static class Reasignacion {
+        private final String id;
+        private final Long grupoOrigenId;
+        private final Long grupoDestinoId;
+        private final long total;
+        private final LocalDateTime iniciadaEn = LocalDateTime.now();
+        private final long inicio = System.nanoTime();
+        private volatile String estado = "EN_PROCESO";
+        private volatile long procesados;
+        private volatile long reasignados;
+        private volatile long sinCambio;
+        private volatile long noEncontrados;
+        private volatile int lotes;
+        private volatile LocalDateTime terminadaEn;
+        private volatile long fin;
+        private volatile String error;
+
+        Reasignacion(String id, Long grupoOrigenId, Long grupoDestinoId, long total) {
+            this.id = id;
+            this.grupoOrigenId = grupoOrigenId;
+            this.grupoDestinoId = grupoDestinoId;
+            this.total = total;
+        }
+
+        void avanzar(long procesadosLote, long reasignadosLote, long sinCambioLote, long noEncontradosLote) {
+            procesados += procesadosLote;
+            reasignados += reasignadosLote;
+            sinCambio += sinCambioLote;
+            noEncontrados += noEncontradosLote;
+            lotes++;
+        }
+
+        void terminar(String estadoFinal, String mensaje) {
+            fin = System.nanoTime();
+            terminadaEn = LocalDateTime.now();
+            error = mensaje;
+            estado = estadoFinal;
+        }
+
+        Duration duracion() {
+            long hasta = terminadaEn != null ? fin : System.nanoTime();
+            return Duration.ofNanos(hasta - inicio);
+        }
+
+        ReasignacionEstadoDto estado() {
+            ReasignacionEstadoDto dto = new ReasignacionEstadoDto();
+            dto.setId(id);
+            dto.setEstado(estado);
+            dto.setGrupoOrigenId(grupoOrigenId);
+            dto.setGrupoDestinoId(grupoDestinoId);
+            // Con grupo de origen el total es una estimación: pueden entrar o salir alumnos durante el proceso
+            dto.setTotal(Math.max(total, procesados));
+            dto.setProcesados(procesados);
+            dto.setReasignados(reasignados);
+            dto.setSinCambio(sinCambio);
+            dto.setNoEncontrados(noEncontrados);
+            dto.setLotes(lotes);
+            dto.setIniciadaEn(iniciadaEn);
+            dto.setTerminadaEn(terminadaEn);
+            dto.setDuracionMs(TimeUnit.NANOSECONDS.toMillis(duracion().toNanos()));
+            dto.setError(error);
+            return dto;
+        }
+    }
+}
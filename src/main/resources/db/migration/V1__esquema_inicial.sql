@@ -0,0 +1,30 @@
+-- Esquema base. Usa IF NOT EXISTS para adoptar las bases creadas antes por ddl-auto=update
+-- (spring.flyway.baseline-on-migrate con baseline-version=0).
+
+CREATE TABLE IF NOT EXISTS grupos (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre VARCHAR(255),
+    programa_educativo_id BIGINT,
+    profesor_id BIGINT,
+    activo BOOLEAN NOT NULL,
+    alumnos_activos BIGINT DEFAULT 0 NOT NULL
+);
+
+-- Bases anteriores al contador desnormalizado de alumnos activos
+ALTER TABLE grupos ADD COLUMN IF NOT EXISTS alumnos_activos BIGINT DEFAULT 0 NOT NULL;
+
+-- Ids de alumnos: secuencia con bloques de 50 (AlumnoEntity.IDS_POR_ASIGNACION)
+CREATE SEQUENCE IF NOT EXISTS alumnos_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS alumnos (
+    id BIGINT PRIMARY KEY,
+    nombre VARCHAR(255),
+    apellido VARCHAR(255),
+    matricula VARCHAR(255) NOT NULL,
+    correo VARCHAR(255),
+    telefono VARCHAR(255),
+    programa_educativo_id BIGINT,
+    grupo_id BIGINT,
+    activo BOOLEAN NOT NULL,
+    CONSTRAINT uk_alumnos_matricula UNIQUE (matricula)
+);
@@ -0,0 +1,27 @@
+-- Índices para las consultas de AlumnoRepository y GrupoRepository.
+-- matricula ya tiene índice por su restricción UNIQUE (findByMatricula, existsByMatricula).
+
+-- findByGrupoId, findByGrupoIdAndActivoTrue, countByGrupoIdAndActivoTrue,
+-- recálculo del contador y ocupación por grupo (el conteo se resuelve solo con el índice)
+CREATE INDEX IF NOT EXISTS idx_alumnos_grupo_activo ON alumnos (grupo_id, activo);
+
+-- findByProgramaEducativoId
+CREATE INDEX IF NOT EXISTS idx_alumnos_programa ON alumnos (programa_educativo_id);
+
+-- findByActivoTrue, paginación por cursor y streaming de activos (filtro + orden por id)
+CREATE INDEX IF NOT EXISTS idx_alumnos_activo_id ON alumnos (activo, id);
+
+-- existsByCorreo y verificación de correos en la importación masiva
+CREATE INDEX IF NOT EXISTS idx_alumnos_correo ON alumnos (correo);
+
+-- findByProgramaEducativoId, findByProgramaEducativoIdAndActivoTrue
+CREATE INDEX IF NOT EXISTS idx_grupos_programa_activo ON grupos (programa_educativo_id, activo);
+
+-- findByProfesorId
+CREATE INDEX IF NOT EXISTS idx_grupos_profesor ON grupos (profesor_id);
+
+-- findByActivoTrue
+CREATE INDEX IF NOT EXISTS idx_grupos_activo ON grupos (activo);
+
+-- existsByNombreAndProgramaEducativoId
+CREATE INDEX IF NOT EXISTS idx_grupos_nombre_programa ON grupos (nombre, programa_educativo_id);
@@ -0,0 +1,8 @@
+-- Columnas de versión por fila para bloqueo optimista (@Version) y GET condicional.
+-- Las filas existentes quedan en versión 0 con la fecha de esta migración.
+
+ALTER TABLE alumnos ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE alumnos ADD COLUMN IF NOT EXISTS actualizado_en TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+ALTER TABLE grupos ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE grupos ADD COLUMN IF NOT EXISTS actualizado_en TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL;
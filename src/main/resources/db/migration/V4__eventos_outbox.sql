@@ -0,0 +1,15 @@
+-- Outbox transaccional: cada mutación de alumnos y grupos inserta su evento en la misma
+-- transacción; DespachadorEventos los publica en orden de id y marca publicado_en.
+
+CREATE TABLE IF NOT EXISTS eventos_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tipo VARCHAR(40) NOT NULL,
+    agregado VARCHAR(20) NOT NULL,
+    agregado_id BIGINT,
+    carga CLOB NOT NULL,
+    creado_en TIMESTAMP(6) NOT NULL,
+    publicado_en TIMESTAMP(6)
+);
+
+-- Pendientes por publicar (publicado_en IS NULL) en orden de id y purga por antigüedad
+CREATE INDEX IF NOT EXISTS idx_eventos_publicado_id ON eventos_outbox (publicado_en, id);
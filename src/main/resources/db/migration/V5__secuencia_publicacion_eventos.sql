@@ -0,0 +1,14 @@
+-- Secuencia de publicación: el id IDENTITY se asigna al insertar, no al confirmar, así que una
+-- transacción lenta puede publicarse después de eventos con id mayor. DespachadorEventos asigna
+-- la secuencia al marcar publicado; es el id SSE y el orden del reenvío (Last-Event-ID).
+
+ALTER TABLE eventos_outbox ADD COLUMN IF NOT EXISTS secuencia BIGINT;
+
+-- Los ya publicados conservan su id como secuencia, así un Last-Event-ID anterior sigue sirviendo
+UPDATE eventos_outbox SET secuencia = id WHERE publicado_en IS NOT NULL AND secuencia IS NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_eventos_secuencia ON eventos_outbox (secuencia);
+
+CREATE SEQUENCE IF NOT EXISTS eventos_secuencia_publicacion;
+ALTER SEQUENCE eventos_secuencia_publicacion
+    RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM eventos_outbox);
@@ -0,0 +1,14 @@
+-- Contador de alumnos activos por grupo en su propia tabla. En grupos, cada ajuste era un UPDATE
+-- masivo sobre una entidad en la cache de segundo nivel: vaciaba la región grupos y las
+-- consultas cacheadas de la tabla en cada alta, cambio de grupo o baja de un alumno.
+
+CREATE TABLE IF NOT EXISTS contadores_grupo (
+    grupo_id BIGINT PRIMARY KEY,
+    alumnos_activos BIGINT DEFAULT 0 NOT NULL
+);
+
+INSERT INTO contadores_grupo (grupo_id, alumnos_activos)
+SELECT g.id, g.alumnos_activos FROM grupos g
+WHERE NOT EXISTS (SELECT 1 FROM contadores_grupo c WHERE c.grupo_id = g.id);
+
+ALTER TABLE grupos DROP COLUMN IF EXISTS alumnos_activos;
@@ -0,0 +1,5 @@
+-- Momento del último cambio en el conjunto de alumnos activos de cada grupo. Cuando un alumno
+-- sale del grupo ninguna fila restante cambia, así que el Last-Modified del listado condicional
+-- (máximo de actualizado_en de sus alumnos) podía retroceder y responder 304 con datos viejos.
+
+ALTER TABLE contadores_grupo ADD COLUMN IF NOT EXISTS actualizado_en TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL;
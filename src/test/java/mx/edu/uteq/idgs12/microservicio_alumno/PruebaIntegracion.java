@@ -0,0 +1,35 @@
+package mx.edu.uteq.idgs12.microservicio_alumno;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.client.DivisionClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.ProfesorClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.ProgramaEducativoClient;
+
+/**
+ * Contexto completo sin servidor web (los controladores se prueban con MockMvc), con H2 en
+ * memoria (migraciones Flyway, sin datos de ejemplo), sin Eureka y con los Feign Clients
+ * simulados. Las clases con la misma configuración comparten el contexto y la base: cada prueba
+ * crea sus propios datos.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid};DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.sql.init.mode=never",
+        // Fuera del jar de Spring Boot Hibernate no resuelve el prefijo classpath:
+        "spring.jpa.properties.hibernate.javax.cache.uri=hibernate-cache.conf",
+        "alumno.catalogo.habilitado=false"
+})
+@AutoConfigureMockMvc
+@MockitoBean(types = {ProgramaEducativoClient.class, DivisionClient.class, ProfesorClient.class})
+public @interface PruebaIntegracion {
+}
@@ -0,0 +1,93 @@
+package mx.edu.uteq.idgs12.microservicio_alumno;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.context.ApplicationContext;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.AlumnoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.GrupoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.estadistica.EstadisticasAlumnos;
+import mx.edu.uteq.idgs12.microservicio_alumno.indice.IndiceMembresia;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.AlumnoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.GrupoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.search.AlumnoSearchIndex;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.GrupoService;
+
+/**
+ * Siembra H2 con {@code alumnos} alumnos en grupos de 30 y datos parecidos a los reales
+ * (nombres con acentos, 10% inactivos). La comparten los benchmarks (perfil benchmarks) y la
+ * prueba de carga (perfil loadtest). La matrícula y el correo del alumno i se derivan de i, de
+ * modo que las operaciones pueden construirlos sin consultar.
+ */
+public final class SiembraAlumnos {
+
+    public static final int ALUMNOS_POR_GRUPO = 30;
+    // Ids que responden las dependencias simuladas de cada arnés
+    public static final int PROGRAMAS = 20;
+    public static final int PROFESORES = 50;
+    public static final String[] NOMBRES = {"María", "José", "Juan", "Ana", "Luis", "Sofía", "Ángel", "Lucía"};
+    public static final String[] APELLIDOS = {"Martínez", "López", "Hernández", "González", "Pérez", "Ramírez",
+            "Núñez", "Ibáñez"};
+
+    private SiembraAlumnos() {
+    }
+
+    public static int grupos(int alumnos) {
+        return Math.max(1, alumnos / ALUMNOS_POR_GRUPO);
+    }
+
+    public static String matricula(long i) {
+        return String.format("M%08d", i);
+    }
+
+    public static String correo(long i) {
+        return "alumno" + i + "@uteq.edu.mx";
+    }
+
+    public static long programa(long i) {
+        return i % PROGRAMAS + 1;
+    }
+
+    public static void sembrar(ApplicationContext contexto, int alumnos) {
+        GrupoRepository grupoRepository = contexto.getBean(GrupoRepository.class);
+        AlumnoRepository alumnoRepository = contexto.getBean(AlumnoRepository.class);
+
+        int grupos = grupos(alumnos);
+        List<GrupoEntity> nuevosGrupos = new ArrayList<>();
+        for (int i = 1; i <= grupos; i++) {
+            GrupoEntity grupo = new GrupoEntity();
+            grupo.setNombre("G-" + i);
+            grupo.setProgramaEducativoId(programa(i));
+            grupo.setProfesorId((long) (i % PROFESORES) + 1);
+            grupo.setActivo(true);
+            nuevosGrupos.add(grupo);
+        }
+        grupoRepository.saveAll(nuevosGrupos);
+
+        List<AlumnoEntity> lote = new ArrayList<>();
+        for (int i = 1; i <= alumnos; i++) {
+            AlumnoEntity alumno = new AlumnoEntity();
+            alumno.setNombre(NOMBRES[i % NOMBRES.length]);
+            alumno.setApellido(APELLIDOS[i % APELLIDOS.length] + " " + APELLIDOS[(i / 8) % APELLIDOS.length]);
+            alumno.setMatricula(matricula(i));
+            alumno.setCorreo(correo(i));
+            alumno.setTelefono("4420000000");
+            alumno.setProgramaEducativoId(programa(i));
+            alumno.setGrupoId((long) (i % grupos) + 1);
+            alumno.setActivo(i % 10 != 0);
+            lote.add(alumno);
+            if (lote.size() == 1000) {
+                alumnoRepository.saveAll(lote);
+                lote.clear();
+            }
+        }
+        alumnoRepository.saveAll(lote);
+
+        // Los índices en memoria se construyen al arrancar, antes de sembrar
+        contexto.getBean(AlumnoSearchIndex.class).construir();
+        contexto.getBean(IndiceMembresia.class).construir();
+        contexto.getBean(EstadisticasAlumnos.class).reconciliar();
+        contexto.getBean(GrupoService.class).recalcularContadoresAlumnos();
+    }
+}
@@ -0,0 +1,197 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import feign.Client;
+import feign.Feign;
+import feign.Response;
+import feign.Retryer;
+import feign.Target;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.edu.uteq.idgs12.microservicio_alumno.cache.ClienteCacheProperties;
+import mx.edu.uteq.idgs12.microservicio_alumno.cache.ProgramaEducativoCache;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProgramaEducativoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.exception.ExternalServiceException;
+
+// Feign real sobre un cliente HTTP simulado que responde, falla o se queda colgado
+class ProteccionDependenciasCapabilityTest {
+
+    private static final String DEPENDENCIA = "microservicio-division";
+    private static final long RESPUESTA_RAPIDA_MS = 500;
+
+    private enum Modo { RESPONDE, ERROR_500, TIMEOUT, COLGADO }
+
+    private volatile Modo modo = Modo.RESPONDE;
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final AtomicInteger llamadasHttp = new AtomicInteger();
+
+    private CircuitBreakerRegistry circuitBreakers;
+    private ProgramaEducativoClient client;
+    private ProgramaEducativoCache cache;
+
+    @BeforeEach
+    void preparar() {
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        ProteccionDependenciasCapability proteccion = new ProteccionDependenciasCapability(circuitBreakers, bulkheads);
+
+        client = Feign.builder()
+                .contract(new SpringMvcContract())
+                .client(clienteHttp())
+                .addCapability(proteccion)
+                .retryer(Retryer.NEVER_RETRY)
+                .decoder((respuesta, tipo) -> programa(respuesta))
+                .target(new Target.HardCodedTarget<>(ProgramaEducativoClient.class, DEPENDENCIA,
+                        "http://" + DEPENDENCIA));
+
+        ClienteCacheProperties properties = new ClienteCacheProperties();
+        cache = new ProgramaEducativoCache(client, properties, Runnable::run, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void liberarColgados() {
+        liberar.countDown();
+    }
+
+    @Test
+    void lasRespuestas5xxAbrenElCircuito() {
+        modo = Modo.ERROR_500;
+        for (long id = 1; id <= 4; id++) {
+            long programaId = id;
+            assertThatThrownBy(() -> client.obtenerProgramaPorId(programaId))
+                    .isInstanceOf(feign.FeignException.InternalServerError.class);
+        }
+
+        assertThat(circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        int antes = llamadasHttp.get();
+        assertThatThrownBy(() -> client.obtenerProgramaPorId(5L))
+                .isInstanceOf(io.github.resilience4j.circuitbreaker.CallNotPermittedException.class);
+        assertThat(llamadasHttp.get()).isEqualTo(antes);
+    }
+
+    @Test
+    void losTimeoutsAbrenElCircuito() {
+        modo = Modo.TIMEOUT;
+        for (long id = 1; id <= 4; id++) {
+            long programaId = id;
+            assertThatThrownBy(() -> client.obtenerProgramaPorId(programaId))
+                    .isInstanceOf(feign.RetryableException.class);
+        }
+
+        assertThat(circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void conElCircuitoAbiertoLaCacheRespondeEnMilisegundos() {
+        assertThat(cache.obtener(1L)).map(ProgramaEducativoDto::getNombre).contains("Programa remoto 1");
+        modo = Modo.ERROR_500;
+        for (long id = 10; id < 14; id++) {
+            long programaId = id;
+            assertThatThrownBy(() -> cache.obtener(programaId)).isInstanceOf(ExternalServiceException.class);
+        }
+        assertThat(circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // Aunque el servicio se quede colgado, no se espera al readTimeout
+        modo = Modo.COLGADO;
+        cache.invalidar(1L);
+        long inicio = System.nanoTime();
+        assertThat(cache.obtener(1L)).map(ProgramaEducativoDto::getNombre).contains("Programa remoto 1");
+        assertThatThrownBy(() -> cache.obtener(99L)).isInstanceOf(ExternalServiceException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).isLessThan(RESPUESTA_RAPIDA_MS);
+    }
+
+    @Test
+    void elBulkheadLlenoRechazaSinEsperar() throws Exception {
+        modo = Modo.COLGADO;
+        CompletableFuture<ProgramaEducativoDto> ocupada = CompletableFuture.supplyAsync(
+                () -> client.obtenerProgramaPorId(1L));
+        esperarLlamadas(1);
+
+        long inicio = System.nanoTime();
+        assertThatThrownBy(() -> client.obtenerProgramaPorId(2L)).isInstanceOf(BulkheadFullException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).isLessThan(RESPUESTA_RAPIDA_MS);
+        assertThat(llamadasHttp.get()).isEqualTo(1);
+        // El rechazo no cuenta como falla de la dependencia
+        assertThat(circuitBreaker().getMetrics().getNumberOfFailedCalls()).isZero();
+
+        modo = Modo.RESPONDE;
+        liberar.countDown();
+        assertThat(ocupada.get(5, TimeUnit.SECONDS).getId()).isEqualTo(1L);
+        assertThat(client.obtenerProgramaPorId(2L).getId()).isEqualTo(2L);
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        return circuitBreakers.circuitBreaker(DEPENDENCIA);
+    }
+
+    private void esperarLlamadas(int llamadas) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (llamadasHttp.get() < llamadas && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        assertThat(llamadasHttp.get()).isEqualTo(llamadas);
+    }
+
+    private Client clienteHttp() {
+        return (request, options) -> {
+            llamadasHttp.incrementAndGet();
+            Modo actual = modo;
+            if (actual == Modo.COLGADO) {
+                try {
+                    liberar.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                actual = modo;
+            }
+            if (actual == Modo.TIMEOUT) {
+                throw new SocketTimeoutException("Read timed out");
+            }
+            String id = request.url().substring(request.url().lastIndexOf('/') + 1);
+            return Response.builder()
+                    .request(request)
+                    .status(actual == Modo.ERROR_500 ? 500 : 200)
+                    .headers(Map.of())
+                    .body(id, StandardCharsets.UTF_8)
+                    .build();
+        };
+    }
+
+    private static ProgramaEducativoDto programa(Response respuesta) throws java.io.IOException {
+        long id = Long.parseLong(new String(respuesta.body().asInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        ProgramaEducativoDto dto = new ProgramaEducativoDto();
+        dto.setId(id);
+        dto.setNombre("Programa remoto " + id);
+        dto.setActivo(true);
+        return dto;
+    }
+}
@@ -0,0 +1,158 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.PruebaIntegracion;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.ProgramaEducativoClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProgramaEducativoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ReasignacionEstadoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ReasignacionGrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.AlumnoService;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.GrupoService;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.ReasignacionGrupoService;
+
+// GET condicional de /alumnos/grupo/{id}: el ETag debe cambiar con cada escritura que altera el listado
+@PruebaIntegracion
+class AlumnoControllerTest {
+
+    private static final AtomicInteger SECUENCIA = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlumnoService alumnoService;
+
+    @Autowired
+    private GrupoService grupoService;
+
+    @Autowired
+    private ReasignacionGrupoService reasignacionService;
+
+    @Autowired
+    private ProgramaEducativoClient programaEducativoClient;
+
+    private String prefijo;
+    private long programa;
+    private Long grupo;
+    private Long otroGrupo;
+
+    @BeforeEach
+    void preparar() {
+        int secuencia = SECUENCIA.incrementAndGet();
+        prefijo = "CTL" + secuencia + "-";
+        programa = 8000 + secuencia;
+        when(programaEducativoClient.obtenerProgramaPorId(anyLong())).thenAnswer(invocacion -> {
+            ProgramaEducativoDto dto = new ProgramaEducativoDto();
+            dto.setId(invocacion.getArgument(0));
+            dto.setActivo(true);
+            return dto;
+        });
+        grupo = grupoService.crear(grupo("A")).getId();
+        otroGrupo = grupoService.crear(grupo("B")).getId();
+    }
+
+    @Test
+    void conElEtagVigenteResponde304SinCuerpo() throws Exception {
+        alumnoService.crear(alumno("1", grupo));
+        String etag = etag("/alumnos/grupo/" + grupo);
+
+        mockMvc.perform(get("/alumnos/grupo/" + grupo).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void elEtagCambiaConCadaEscrituraQueAlteraElListado() throws Exception {
+        Long id = alumnoService.crear(alumno("1", grupo)).getId();
+        alumnoService.crear(alumno("2", otroGrupo));
+        String inicial = etag("/alumnos/grupo/" + grupo);
+
+        alumnoService.toggleActivo(id);
+        String desactivado = etagCambiado("/alumnos/grupo/" + grupo, inicial);
+        mockMvc.perform(get("/alumnos/grupo/" + grupo)).andExpect(jsonPath("$.length()").value(0));
+
+        alumnoService.toggleActivo(id);
+        String reactivado = etagCambiado("/alumnos/grupo/" + grupo, desactivado);
+
+        alumnoService.cambiarGrupo(id, otroGrupo);
+        String cambiado = etagCambiado("/alumnos/grupo/" + grupo, reactivado);
+        String destino = etag("/alumnos/grupo/" + otroGrupo);
+
+        // UPDATE masivo: no pasa por la entidad, pero incrementa version y actualizado_en
+        ReasignacionGrupoDto solicitud = new ReasignacionGrupoDto();
+        solicitud.setGrupoOrigenId(otroGrupo);
+        solicitud.setGrupoDestinoId(grupo);
+        assertThat(esperarReasignacion(reasignacionService.iniciar(solicitud).getId()).getReasignados())
+                .isEqualTo(2);
+        etagCambiado("/alumnos/grupo/" + grupo, cambiado);
+        etagCambiado("/alumnos/grupo/" + otroGrupo, destino);
+        mockMvc.perform(get("/alumnos/grupo/" + grupo)).andExpect(jsonPath("$.length()").value(2));
+    }
+
+    private String etag(String ruta) throws Exception {
+        String etag = mockMvc.perform(get(ruta))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+
+    // Con el ETag anterior ya no responde 304
+    private String etagCambiado(String ruta, String anterior) throws Exception {
+        String actual = mockMvc.perform(get(ruta).header(HttpHeaders.IF_NONE_MATCH, anterior))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(actual).isNotEqualTo(anterior);
+        return actual;
+    }
+
+    private ReasignacionEstadoDto esperarReasignacion(String id) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < limite) {
+            ReasignacionEstadoDto estado = reasignacionService.obtenerEstado(id);
+            if (!"EN_PROCESO".equals(estado.getEstado())) {
+                assertThat(estado.getEstado()).isEqualTo("COMPLETADA");
+                return estado;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("La reasignación " + id + " no terminó");
+    }
+
+    private GrupoDto grupo(String nombre) {
+        GrupoDto grupo = new GrupoDto();
+        grupo.setNombre(prefijo + nombre);
+        grupo.setProgramaEducativoId(programa);
+        return grupo;
+    }
+
+    private AlumnoDto alumno(String sufijo, Long grupoId) {
+        AlumnoDto alumno = new AlumnoDto();
+        alumno.setNombre("Alumno");
+        alumno.setApellido("Condicional");
+        alumno.setMatricula(prefijo + sufijo);
+        alumno.setProgramaEducativoId(programa);
+        alumno.setGrupoId(grupoId);
+        return alumno;
+    }
+}
@@ -0,0 +1,145 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.PruebaIntegracion;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.ProgramaEducativoClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProgramaEducativoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.AlumnoService;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.GrupoService;
+
+@PruebaIntegracion
+class GrupoControllerTest {
+
+    private static final AtomicInteger SECUENCIA = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlumnoService alumnoService;
+
+    @Autowired
+    private GrupoService grupoService;
+
+    @Autowired
+    private ProgramaEducativoClient programaEducativoClient;
+
+    private String prefijo;
+    private long programa;
+
+    @BeforeEach
+    void preparar() {
+        int secuencia = SECUENCIA.incrementAndGet();
+        prefijo = "GCT" + secuencia + "-";
+        programa = 8500 + secuencia;
+        when(programaEducativoClient.obtenerProgramaPorId(anyLong())).thenAnswer(invocacion -> {
+            ProgramaEducativoDto dto = new ProgramaEducativoDto();
+            dto.setId(invocacion.getArgument(0));
+            dto.setActivo(true);
+            return dto;
+        });
+    }
+
+    @Test
+    void losAlumnosDelGrupoResponden304HastaQueUnoSale() throws Exception {
+        Long grupo = grupoService.crear(grupo("A")).getId();
+        Long otroGrupo = grupoService.crear(grupo("B")).getId();
+        alumnoService.crear(alumno("1", grupo));
+        Long saliente = alumnoService.crear(alumno("2", grupo)).getId();
+        MockHttpServletResponse antes = obtener("/grupos/" + grupo + "/alumnos");
+        String etag = antes.getHeader(HttpHeaders.ETAG);
+        String ultimaModificacion = antes.getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/grupos/" + grupo + "/alumnos").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/grupos/" + grupo + "/alumnos")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, ultimaModificacion))
+                .andExpect(status().isNotModified());
+
+        // Last-Modified tiene resolución de segundos
+        esperarSiguienteSegundo();
+        alumnoService.cambiarGrupo(saliente, otroGrupo);
+
+        // El alumno que queda no cambió: el ETag y Last-Modified avanzan por la salida
+        MockHttpServletResponse despues = mockMvc.perform(get("/grupos/" + grupo + "/alumnos")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(despues.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        mockMvc.perform(get("/grupos/" + grupo + "/alumnos")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, ultimaModificacion))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void losGruposActivosCambianCuandoUnoSeDesactiva() throws Exception {
+        grupoService.crear(grupo("A"));
+        Long desactivado = grupoService.crear(grupo("B")).getId();
+        MockHttpServletResponse antes = obtener("/grupos/activos");
+        String etag = antes.getHeader(HttpHeaders.ETAG);
+        String ultimaModificacion = antes.getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/grupos/activos").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        esperarSiguienteSegundo();
+        grupoService.toggleActivo(desactivado);
+
+        MockHttpServletResponse despues = mockMvc.perform(get("/grupos/activos")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(despues.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        mockMvc.perform(get("/grupos/activos").header(HttpHeaders.IF_MODIFIED_SINCE, ultimaModificacion))
+                .andExpect(status().isOk());
+    }
+
+    private MockHttpServletResponse obtener(String ruta) throws Exception {
+        MockHttpServletResponse respuesta = mockMvc.perform(get(ruta))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(respuesta.getHeader(HttpHeaders.ETAG)).isNotBlank();
+        assertThat(respuesta.getHeader(HttpHeaders.LAST_MODIFIED)).isNotBlank();
+        return respuesta;
+    }
+
+    private static void esperarSiguienteSegundo() throws InterruptedException {
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 50);
+    }
+
+    private GrupoDto grupo(String nombre) {
+        GrupoDto grupo = new GrupoDto();
+        grupo.setNombre(prefijo + nombre);
+        grupo.setProgramaEducativoId(programa);
+        return grupo;
+    }
+
+    private AlumnoDto alumno(String sufijo, Long grupoId) {
+        AlumnoDto alumno = new AlumnoDto();
+        alumno.setNombre("Alumno");
+        alumno.setApellido("Grupo");
+        alumno.setMatricula(prefijo + sufijo);
+        alumno.setProgramaEducativoId(programa);
+        alumno.setGrupoId(grupoId);
+        return alumno;
+    }
+}
@@ -0,0 +1,88 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.controller;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.PruebaIntegracion;
+import mx.edu.uteq.idgs12.microservicio_alumno.config.ConsultasRemotasConfig;
+
+// Con el ejecutor de lecturas lleno los endpoints /async responden 503 sin esperar
+@PruebaIntegracion
+@TestPropertySource(properties = {
+        "alumno.lecturas-asincronas.hilos-maximos=1",
+        "alumno.lecturas-asincronas.cola=1"
+})
+class LecturasAsincronasSaturadasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier(ConsultasRemotasConfig.EJECUTOR_BASE_DATOS)
+    private ExecutorService ejecutor;
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    @BeforeEach
+    void llenarEjecutor() {
+        // Una lectura ocupa el único hilo y otra la única posición de la cola
+        ejecutor.execute(this::esperar);
+        ejecutor.execute(this::esperar);
+        assertThatThrownBy(() -> ejecutor.execute(this::esperar)).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @AfterEach
+    void liberarEjecutor() {
+        liberar.countDown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/async/alumnos",
+            "/async/alumnos/1",
+            "/async/alumnos/grupo/1",
+            "/async/grupos/activos",
+            "/async/grupos/1/detalles",
+            "/async/grupos/1/roster"
+    })
+    void respondeServicioNoDisponible(String ruta) throws Exception {
+        resolver(ruta)
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("Servicio saturado"));
+    }
+
+    private ResultActions resolver(String ruta) throws Exception {
+        ResultActions acciones = mockMvc.perform(get(ruta));
+        MvcResult resultado = acciones.andReturn();
+        return resultado.getRequest().isAsyncStarted()
+                ? mockMvc.perform(asyncDispatch(resultado))
+                : acciones;
+    }
+
+    private void esperar() {
+        try {
+            liberar.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
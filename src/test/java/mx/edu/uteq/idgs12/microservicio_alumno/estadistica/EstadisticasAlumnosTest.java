@@ -0,0 +1,178 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.estadistica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.EstadisticaGrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.EstadisticasDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.indice.MembresiaAlumno;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.AlumnoRepository;
+
+class EstadisticasAlumnosTest {
+
+    private static final MembresiaAlumno NUEVO_EN_GRUPO_10 = new MembresiaAlumno(99L, 1L, 10L, true);
+
+    private AlumnoRepository repository;
+    private EstadisticasAlumnos estadisticas;
+
+    @BeforeEach
+    void reconciliar() {
+        repository = mock(AlumnoRepository.class);
+        when(repository.contarPorSegmento()).thenReturn(base(0));
+        estadisticas = new EstadisticasAlumnos(repository);
+        estadisticas.reconciliar();
+    }
+
+    @AfterEach
+    void limpiarTransaccion() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void calculaLosConteosDesdeLaBase() {
+        EstadisticasDto resultado = estadisticas.obtener();
+
+        assertThat(resultado.getUltimaReconciliacion()).isNotNull();
+        assertThat(resultado.getActivos()).isEqualTo(8);
+        assertThat(resultado.getInactivos()).isEqualTo(2);
+        assertThat(resultado.getSinGrupo()).isEqualTo(1);
+        assertThat(activosDelGrupo(10)).isEqualTo(5);
+        assertThat(activosDelGrupo(20)).isEqualTo(2);
+    }
+
+    @Test
+    void soloAplicaLasDiferenciasConfirmadas() {
+        TransactionSynchronizationManager.initSynchronization();
+        estadisticas.registrarCambio(null, NUEVO_EN_GRUPO_10);
+        TransactionSynchronization confirmada = ultimaSincronizacion();
+        estadisticas.registrarCambio(new MembresiaAlumno(1L, 1L, 20L, true), new MembresiaAlumno(1L, 1L, 20L, false));
+        TransactionSynchronization revertida = ultimaSincronizacion();
+
+        assertThat(activosDelGrupo(10)).isEqualTo(5);
+        confirmada.beforeCommit(false);
+        confirmada.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        revertida.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(activosDelGrupo(10)).isEqualTo(6);
+        assertThat(activosDelGrupo(20)).isEqualTo(2);
+    }
+
+    @Test
+    void corrigeLasDiferenciasConLaBase() {
+        when(repository.contarPorSegmento()).thenReturn(List.of(
+                new ConteoSegmento(1L, 10L, true, 4),
+                new ConteoSegmento(1L, null, true, 1)));
+
+        estadisticas.reconciliar();
+
+        assertThat(activosDelGrupo(10)).isEqualTo(4);
+        assertThat(estadisticas.obtener().getPorGrupo()).extracting(EstadisticaGrupoDto::getGrupoId)
+                .containsExactly(10L);
+    }
+
+    @Test
+    void unCambioQueLaConsultaYaIncluyeNoSeCuentaDosVeces() {
+        // Confirma y se aplica mientras corre la consulta, que ya lo ve
+        when(repository.contarPorSegmento())
+                .thenAnswer(invocacion -> {
+                    estadisticas.registrarCambio(null, NUEVO_EN_GRUPO_10);
+                    return base(1);
+                })
+                .thenReturn(base(1));
+
+        estadisticas.reconciliar();
+
+        assertThat(activosDelGrupo(10)).isEqualTo(6);
+        assertThat(activosDelGrupo(20)).isEqualTo(2);
+        verify(repository, times(3)).contarPorSegmento();
+    }
+
+    @Test
+    void unCambioQueLaConsultaNoVeNoSePierde() {
+        // Cada ronda ve la base anterior a la escritura que ocurre mientras corre
+        int[] escritos = {0};
+        when(repository.contarPorSegmento()).thenAnswer(invocacion -> {
+            List<ConteoSegmento> anterior = base(escritos[0]);
+            estadisticas.registrarCambio(null, new MembresiaAlumno(100L + escritos[0], 1L, 10L, true));
+            escritos[0]++;
+            return anterior;
+        });
+
+        estadisticas.reconciliar();
+
+        assertThat(activosDelGrupo(10)).isEqualTo(8);
+        verify(repository, times(4)).contarPorSegmento();
+    }
+
+    @Test
+    void unaTransaccionConfirmandoseDuranteLaConsultaSeAplicaUnaVez() {
+        TransactionSynchronizationManager.initSynchronization();
+        estadisticas.registrarCambio(null, NUEVO_EN_GRUPO_10);
+        TransactionSynchronization transaccion = ultimaSincronizacion();
+        // Confirma en la base antes de que la consulta la lea y se aplica después de la reconciliación
+        when(repository.contarPorSegmento()).thenAnswer(invocacion -> {
+            transaccion.beforeCommit(false);
+            return base(1);
+        });
+
+        estadisticas.reconciliar();
+        assertThat(activosDelGrupo(10)).isEqualTo(5);
+        assertThat(activosDelGrupo(20)).isEqualTo(2);
+
+        transaccion.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(activosDelGrupo(10)).isEqualTo(6);
+    }
+
+    @Test
+    void laPrimeraReconciliacionNoTerminaConSegmentosSinBase() {
+        AlumnoRepository otroRepository = mock(AlumnoRepository.class);
+        EstadisticasAlumnos nuevas = new EstadisticasAlumnos(otroRepository);
+        when(otroRepository.contarPorSegmento()).thenAnswer(invocacion -> {
+            nuevas.registrarCambio(null, NUEVO_EN_GRUPO_10);
+            return base(0);
+        });
+
+        nuevas.reconciliar();
+        assertThat(nuevas.obtener().getUltimaReconciliacion()).isNull();
+
+        when(otroRepository.contarPorSegmento()).thenReturn(base(3));
+        nuevas.reconciliar();
+        assertThat(nuevas.obtener().getUltimaReconciliacion()).isNotNull();
+        assertThat(nuevas.obtener().getActivos()).isEqualTo(11);
+    }
+
+    // Grupo 10: 5 activos y 2 inactivos (más los nuevos); grupo 20: 2 activos; 1 activo sin grupo
+    private static List<ConteoSegmento> base(int nuevosEnGrupo10) {
+        return List.of(
+                new ConteoSegmento(1L, 10L, true, 5 + nuevosEnGrupo10),
+                new ConteoSegmento(1L, 10L, false, 2),
+                new ConteoSegmento(1L, 20L, true, 2),
+                new ConteoSegmento(1L, null, true, 1));
+    }
+
+    private long activosDelGrupo(long grupoId) {
+        return estadisticas.obtener().getPorGrupo().stream()
+                .filter(grupo -> grupo.getGrupoId() == grupoId)
+                .mapToLong(EstadisticaGrupoDto::getActivos)
+                .findFirst()
+                .orElse(0);
+    }
+
+    private static TransactionSynchronization ultimaSincronizacion() {
+        List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+        return sincronizaciones.get(sincronizaciones.size() - 1);
+    }
+}
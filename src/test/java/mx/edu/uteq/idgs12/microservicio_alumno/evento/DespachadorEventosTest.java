@@ -0,0 +1,87 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.evento;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.PruebaIntegracion;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.EventoOutboxEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.EventoOutboxRepository;
+
+// El despachador programado (alumno.eventos.intervalo) publica los eventos de estas pruebas
+@PruebaIntegracion
+class DespachadorEventosTest {
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void transaccionQueConfirmaTardeSeReenviaDespuesDeLaUltimaSecuenciaVista() throws Exception {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        CountDownLatch insertado = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+
+        // Toma un id menor y confirma después de que se publique un evento con id mayor
+        CompletableFuture<Long> lento = CompletableFuture.supplyAsync(() -> transaccion.execute(estado -> {
+            Long id = eventoOutboxRepository.saveAndFlush(evento()).getId();
+            insertado.countDown();
+            esperar(confirmar);
+            return id;
+        }));
+        assertThat(insertado.await(10, TimeUnit.SECONDS)).isTrue();
+        Long rapido = eventoOutboxRepository.save(evento()).getId();
+
+        Long secuenciaRapido = esperarPublicado(rapido).getSecuencia();
+        confirmar.countDown();
+        Long idLento = lento.get(10, TimeUnit.SECONDS);
+        EventoOutboxEntity publicadoLento = esperarPublicado(idLento);
+
+        assertThat(idLento).isLessThan(rapido);
+        assertThat(publicadoLento.getSecuencia()).isGreaterThan(secuenciaRapido);
+        assertThat(eventoOutboxRepository.findBySecuenciaGreaterThanOrderBySecuenciaAsc(secuenciaRapido,
+                Limit.of(1000))).extracting(EventoOutboxEntity::getId).contains(idLento);
+    }
+
+    private EventoOutboxEntity esperarPublicado(Long id) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < limite) {
+            EventoOutboxEntity evento = eventoOutboxRepository.findById(id).orElseThrow();
+            if (evento.getSecuencia() != null) {
+                assertThat(evento.getPublicadoEn()).isNotNull();
+                return evento;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("El evento " + id + " no se publicó");
+    }
+
+    private static EventoOutboxEntity evento() {
+        EventoOutboxEntity evento = new EventoOutboxEntity();
+        evento.setTipo(TipoEvento.ALUMNO_ACTUALIZADO);
+        evento.setAgregado("alumno");
+        evento.setAgregadoId(1L);
+        evento.setCarga("{}");
+        evento.setCreadoEn(LocalDateTime.now());
+        return evento;
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.evento;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mx.edu.uteq.idgs12.microservicio_alumno.PruebaIntegracion;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.EventoOutboxEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.EventoOutboxRepository;
+
+@PruebaIntegracion
+class DifusorEventosSseTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private EventosProperties properties;
+
+    @Test
+    void reenviaLosEventosPosterioresALaUltimaSecuenciaVista() throws Exception {
+        List<Long> secuencias = publicar(3);
+
+        String cuerpo = esperarCuerpo(secuencias.get(0), "id:" + secuencias.get(2));
+
+        assertThat(cuerpo).doesNotContain("id:" + secuencias.get(0) + "\n")
+                .contains("id:" + secuencias.get(1) + "\n")
+                .doesNotContain(DifusorEventosSse.RESINCRONIZAR);
+    }
+
+    @Test
+    void unHuecoMayorQueElReenvioPideResincronizar() throws Exception {
+        List<Long> secuencias = publicar(properties.getReenvioMaximo() + 1);
+        long ultima = secuencias.get(secuencias.size() - 1);
+
+        String cuerpo = esperarCuerpo(secuencias.get(0) - 1, "event:" + DifusorEventosSse.RESINCRONIZAR);
+
+        // Otras pruebas del contexto compartido pueden publicar después: se pide la máxima vigente
+        Matcher resincronizacion = Pattern.compile("^id:(\\d+)\nevent:" + DifusorEventosSse.RESINCRONIZAR
+                + "\ndata:\\{\"secuencia\":(\\d+)}\n").matcher(cuerpo);
+        assertThat(resincronizacion.find()).as(cuerpo).isTrue();
+        assertThat(Long.parseLong(resincronizacion.group(1))).isGreaterThanOrEqualTo(ultima)
+                .isEqualTo(Long.parseLong(resincronizacion.group(2)));
+        assertThat(cuerpo).doesNotContain("id:" + secuencias.get(0) + "\n");
+    }
+
+    @Test
+    void rechazaSuscriptoresPorEncimaDelMaximo() {
+        EventosProperties limitadas = new EventosProperties();
+        limitadas.setSuscriptoresMaximos(1);
+        DifusorEventosSse difusor = new DifusorEventosSse(eventoOutboxRepository, limitadas, Runnable::run,
+                new SimpleMeterRegistry());
+
+        difusor.suscribir(null);
+
+        assertThatThrownBy(() -> difusor.suscribir(null)).isInstanceOf(RejectedExecutionException.class);
+    }
+
+    private String esperarCuerpo(long ultimaSecuencia, String esperado) throws Exception {
+        MockHttpServletResponse respuesta = mockMvc.perform(get("/eventos/stream")
+                        .header("Last-Event-ID", ultimaSecuencia))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < limite) {
+            String cuerpo = respuesta.getContentAsString();
+            // Un evento SSE termina con una línea vacía
+            if (cuerpo.contains(esperado) && cuerpo.endsWith("\n\n")) {
+                return cuerpo;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("El stream no recibió " + esperado + ": " + respuesta.getContentAsString());
+    }
+
+    // Eventos ya publicados, con secuencias consecutivas
+    private List<Long> publicar(int cantidad) {
+        List<Long> secuencias = eventoOutboxRepository.siguientesSecuencias(cantidad);
+        List<EventoOutboxEntity> eventos = new ArrayList<>();
+        for (Long secuencia : secuencias) {
+            EventoOutboxEntity evento = new EventoOutboxEntity();
+            evento.setTipo(TipoEvento.ALUMNO_ACTUALIZADO);
+            evento.setAgregado("alumno");
+            evento.setAgregadoId(1L);
+            evento.setCarga("{}");
+            evento.setCreadoEn(LocalDateTime.now());
+            evento.setPublicadoEn(LocalDateTime.now());
+            evento.setSecuencia(secuencia);
+            eventos.add(evento);
+        }
+        eventoOutboxRepository.saveAll(eventos);
+        return secuencias;
+    }
+}
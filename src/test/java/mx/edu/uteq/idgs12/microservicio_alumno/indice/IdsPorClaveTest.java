@@ -0,0 +1,204 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.indice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class IdsPorClaveTest {
+
+    @Test
+    void agregarUneLosIdsOrdenados() {
+        IdsPorClave mapa = new IdsPorClave();
+        mapa.agregar(7, new long[] {3, 9});
+        mapa.agregar(7, new long[] {1, 5, 9});
+
+        assertThat(mapa.obtener(7)).containsExactly(1, 3, 5, 9);
+        assertThat(mapa.obtener(8)).isSameAs(IdsPorClave.VACIO);
+        assertThat(mapa.claves()).isEqualTo(1);
+    }
+
+    @Test
+    void agregarRepetidosNoReemplazaElArreglo() {
+        IdsPorClave mapa = new IdsPorClave();
+        mapa.agregar(7, new long[] {1, 2, 3});
+        long[] antes = mapa.obtener(7);
+
+        mapa.agregar(7, new long[] {2, 3});
+
+        assertThat(mapa.obtener(7)).isSameAs(antes).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void agregarCopiaElArregloRecibido() {
+        IdsPorClave mapa = new IdsPorClave();
+        long[] ids = {1, 2};
+        mapa.agregar(7, ids);
+        ids[0] = 99;
+
+        assertThat(mapa.obtener(7)).containsExactly(1, 2);
+    }
+
+    @Test
+    void quitarConservaLaClaveConArregloVacio() {
+        IdsPorClave mapa = new IdsPorClave();
+        mapa.agregar(7, new long[] {1, 2, 3});
+
+        mapa.quitar(7, new long[] {2, 4});
+        assertThat(mapa.obtener(7)).containsExactly(1, 3);
+
+        long[] antes = mapa.obtener(7);
+        mapa.quitar(7, new long[] {5});
+        assertThat(mapa.obtener(7)).isSameAs(antes);
+
+        mapa.quitar(7, new long[] {1, 3});
+        assertThat(mapa.obtener(7)).isEmpty();
+        assertThat(mapa.claves()).isEqualTo(1);
+
+        mapa.quitar(8, new long[] {1});
+        assertThat(mapa.claves()).isEqualTo(1);
+    }
+
+    @Test
+    void rechazaClavesNoPositivas() {
+        IdsPorClave mapa = new IdsPorClave();
+
+        assertThatThrownBy(() -> mapa.agregar(0, new long[] {1})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> mapa.agregar(-3, new long[] {1})).isInstanceOf(IllegalArgumentException.class);
+        assertThat(mapa.obtener(0)).isEmpty();
+        assertThat(mapa.obtener(-3)).isEmpty();
+        mapa.quitar(-3, new long[] {1});
+    }
+
+    @Test
+    void creceAlSuperarLaMitadDeLaCapacidad() {
+        IdsPorClave mapa = new IdsPorClave();
+        for (long clave = 1; clave <= 8; clave++) {
+            mapa.agregar(clave, new long[] {clave * 10});
+        }
+        assertThat(mapa.capacidad()).isEqualTo(16);
+
+        mapa.agregar(9, new long[] {90});
+
+        assertThat(mapa.capacidad()).isEqualTo(32);
+        for (long clave = 1; clave <= 9; clave++) {
+            assertThat(mapa.obtener(clave)).containsExactly(clave * 10);
+        }
+    }
+
+    @Test
+    void conservaTodasLasClavesTrasVariosCrecimientos() {
+        IdsPorClave mapa = new IdsPorClave();
+        for (long clave = 1; clave <= 5000; clave++) {
+            mapa.agregar(clave * 7919, new long[] {clave});
+        }
+
+        assertThat(mapa.claves()).isEqualTo(5000);
+        assertThat(mapa.capacidad()).isEqualTo(16384);
+        for (long clave = 1; clave <= 5000; clave++) {
+            assertThat(mapa.obtener(clave * 7919)).containsExactly(clave);
+        }
+    }
+
+    @Test
+    void sondeaLasClavesQueCaenEnLaMismaCelda() {
+        List<Long> colisiones = clavesEnLaMismaCelda(3, 16);
+        IdsPorClave mapa = new IdsPorClave();
+        for (long clave : colisiones) {
+            mapa.agregar(clave, new long[] {clave});
+        }
+        long ausente = clavesEnLaMismaCelda(4, 16).get(3);
+
+        for (long clave : colisiones) {
+            assertThat(mapa.obtener(clave)).containsExactly(clave);
+        }
+        assertThat(mapa.obtener(ausente)).isEmpty();
+
+        mapa.quitar(colisiones.get(0), new long[] {colisiones.get(0)});
+        assertThat(mapa.obtener(colisiones.get(1))).containsExactly(colisiones.get(1));
+        assertThat(mapa.obtener(colisiones.get(2))).containsExactly(colisiones.get(2));
+    }
+
+    @Test
+    void agregarYQuitarTodos() {
+        IdsPorClave mapa = new IdsPorClave();
+        mapa.agregar(1, new long[] {1, 2});
+        mapa.agregar(2, new long[] {3});
+        IdsPorClave cambios = new IdsPorClave();
+        cambios.agregar(1, new long[] {5});
+        cambios.agregar(3, new long[] {6});
+
+        mapa.agregarTodos(cambios);
+        assertThat(mapa.obtener(1)).containsExactly(1, 2, 5);
+        assertThat(mapa.obtener(3)).containsExactly(6);
+
+        mapa.quitarTodos(cambios);
+        assertThat(mapa.obtener(1)).containsExactly(1, 2);
+        assertThat(mapa.obtener(2)).containsExactly(3);
+        assertThat(mapa.obtener(3)).isEmpty();
+    }
+
+    @Test
+    void constructorIgnoraRepetidosConsecutivosYCrece() {
+        IdsPorClave.Constructor constructor = new IdsPorClave.Constructor();
+        for (long clave = 1; clave <= 100; clave++) {
+            for (long id = 1; id <= 10; id++) {
+                constructor.anexar(clave, id);
+                constructor.anexar(clave, id);
+            }
+        }
+
+        IdsPorClave mapa = constructor.construir();
+
+        assertThat(constructor.total()).isEqualTo(1000);
+        assertThat(mapa.claves()).isEqualTo(100);
+        assertThat(mapa.capacidad()).isEqualTo(256);
+        assertThat(mapa.obtener(57)).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        mapa.agregar(101, new long[] {1});
+        assertThat(mapa.obtener(101)).containsExactly(1);
+    }
+
+    @Test
+    void lecturasConcurrentesVenCadaClaveCompleta() throws InterruptedException {
+        IdsPorClave mapa = new IdsPorClave();
+        mapa.agregar(1, new long[] {1, 2, 3});
+        int claves = 20_000;
+        Thread escritor = new Thread(() -> {
+            for (long clave = 2; clave <= claves; clave++) {
+                mapa.agregar(clave, new long[] {clave, clave + 1});
+            }
+        });
+        escritor.start();
+
+        List<String> errores = new ArrayList<>();
+        while (escritor.isAlive()) {
+            // La clave 1 sobrevive a cada redimensionamiento; las nuevas se ven completas o no se ven
+            if (mapa.obtener(1).length != 3) {
+                errores.add("clave 1 perdida");
+            }
+            long[] ids = mapa.obtener(claves / 2);
+            if (ids.length != 0 && ids.length != 2) {
+                errores.add("clave a medias: " + ids.length);
+            }
+        }
+        escritor.join();
+
+        assertThat(errores).isEmpty();
+        assertThat(mapa.obtener(claves)).containsExactly(claves, claves + 1);
+    }
+
+    // Claves cuyo dispersado cae en la misma celda de una tabla con la capacidad dada
+    private static List<Long> clavesEnLaMismaCelda(int cantidad, int capacidad) {
+        int celda = IdsPorClave.dispersar(1) & (capacidad - 1);
+        List<Long> claves = new ArrayList<>();
+        for (long clave = 1; claves.size() < cantidad; clave++) {
+            if ((IdsPorClave.dispersar(clave) & (capacidad - 1)) == celda) {
+                claves.add(clave);
+            }
+        }
+        return claves;
+    }
+}
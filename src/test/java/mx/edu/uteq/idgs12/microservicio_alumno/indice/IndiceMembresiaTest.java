@@ -0,0 +1,265 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.indice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.PruebaIntegracion;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.ProfesorClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.ProgramaEducativoClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoUpdateDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProfesorDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProgramaEducativoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ReasignacionEstadoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ReasignacionGrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.AlumnoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.GrupoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.AlumnoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.GrupoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.AlumnoImportacionService;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.AlumnoService;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.GrupoService;
+import mx.edu.uteq.idgs12.microservicio_alumno.service.ReasignacionGrupoService;
+
+// Cada prueba usa su propio programa y profesor; otras clases escriben grupos fuera de los
+// servicios, así que el índice se reconstruye antes de cada una
+@PruebaIntegracion
+class IndiceMembresiaTest {
+
+    private static final AtomicInteger SECUENCIA = new AtomicInteger();
+
+    @Autowired
+    private IndiceMembresia indiceMembresia;
+
+    @Autowired
+    private AlumnoService alumnoService;
+
+    @Autowired
+    private GrupoService grupoService;
+
+    @Autowired
+    private AlumnoImportacionService importacionService;
+
+    @Autowired
+    private ReasignacionGrupoService reasignacionService;
+
+    @Autowired
+    private AlumnoRepository alumnoRepository;
+
+    @Autowired
+    private GrupoRepository grupoRepository;
+
+    @Autowired
+    private ProgramaEducativoClient programaEducativoClient;
+
+    @Autowired
+    private ProfesorClient profesorClient;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String prefijo;
+    private long programa;
+    private long profesor1;
+    private Long grupo1;
+    private Long grupo2;
+
+    @BeforeEach
+    void preparar() {
+        int secuencia = SECUENCIA.incrementAndGet();
+        prefijo = "IDX" + secuencia + "-";
+        programa = 9000 + secuencia;
+        profesor1 = 9000 + secuencia;
+        when(programaEducativoClient.obtenerProgramaPorId(anyLong())).thenAnswer(invocacion -> {
+            ProgramaEducativoDto dto = new ProgramaEducativoDto();
+            dto.setId(invocacion.getArgument(0));
+            dto.setActivo(true);
+            return dto;
+        });
+        when(profesorClient.obtenerProfesorPorId(anyLong())).thenAnswer(invocacion -> {
+            ProfesorDto dto = new ProfesorDto();
+            dto.setId(invocacion.getArgument(0));
+            return dto;
+        });
+        indiceMembresia.construir();
+
+        grupo1 = grupoService.crear(grupo("A", profesor1)).getId();
+        grupo2 = grupoService.crear(grupo("B", null)).getId();
+        verificar();
+    }
+
+    @Test
+    void cadaEscrituraDelServicioDejaElIndiceIgualQueLaBase() throws Exception {
+        AlumnoDto a = alumnoService.crear(alumno("1", grupo1));
+        AlumnoDto b = alumnoService.crear(alumno("2", grupo1));
+        AlumnoDto c = alumnoService.crear(alumno("3", null));
+        verificar();
+
+        AlumnoDto cambios = alumno("1", grupo2);
+        alumnoService.actualizar(a.getId(), cambios);
+        verificar();
+
+        AlumnoUpdateDto parcial = new AlumnoUpdateDto();
+        parcial.setGrupoId(grupo2);
+        alumnoService.actualizarParcial(b.getId(), parcial);
+        verificar();
+
+        alumnoService.cambiarGrupo(c.getId(), grupo1);
+        verificar();
+
+        alumnoService.toggleActivo(a.getId());
+        verificar();
+        alumnoService.toggleActivo(a.getId());
+        verificar();
+
+        alumnoService.eliminar(b.getId());
+        verificar();
+
+        importacionService.importarCsv(new ByteArrayInputStream(String.join("\n",
+                "nombre,apellido,matricula,correo,programaEducativoId,grupoId",
+                "Ana,Ruiz," + prefijo + "4,," + programa + "," + grupo1,
+                "Eva,Rey," + prefijo + "5,," + programa + ",").getBytes(StandardCharsets.UTF_8)));
+        verificar();
+
+        ReasignacionGrupoDto solicitud = new ReasignacionGrupoDto();
+        solicitud.setGrupoOrigenId(grupo1);
+        solicitud.setGrupoDestinoId(grupo2);
+        ReasignacionEstadoDto estado = esperarReasignacion(reasignacionService.iniciar(solicitud).getId());
+        assertThat(estado.getReasignados()).isEqualTo(2);
+        verificar();
+    }
+
+    @Test
+    void unaEscrituraRevertidaNoCambiaElIndice() {
+        AlumnoDto a = alumnoService.crear(alumno("1", grupo1));
+        long[] antes = indiceMembresia.alumnosActivosDeGrupo(grupo1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            alumnoService.cambiarGrupo(a.getId(), grupo2);
+            alumnoService.crear(alumno("2", grupo1));
+            estado.setRollbackOnly();
+        });
+
+        assertThat(indiceMembresia.alumnosActivosDeGrupo(grupo1)).isSameAs(antes).containsExactly(a.getId());
+        verificar();
+    }
+
+    @Test
+    void losListadosVenEscriturasFueraDelServicioAntesDeReconstruir() {
+        GrupoEntity grupo = new GrupoEntity();
+        grupo.setNombre(prefijo + "Directo");
+        grupo.setProgramaEducativoId(programa);
+        grupo.setProfesorId(profesor1);
+        grupo.setActivo(true);
+        Long grupoId = grupoRepository.save(grupo).getId();
+
+        assertThat(grupoService.obtenerPorProfesor(profesor1)).extracting(GrupoDto::getId)
+                .containsExactlyInAnyOrder(grupo1, grupoId);
+    }
+
+    @Test
+    void laReconstruccionRecogeEscriturasFueraDelServicio() {
+        AlumnoEntity externo = new AlumnoEntity();
+        externo.setNombre("Externo");
+        externo.setApellido("Directo");
+        externo.setMatricula(prefijo + "X");
+        externo.setProgramaEducativoId(programa);
+        externo.setGrupoId(grupo1);
+        externo.setActivo(true);
+        Long id = alumnoRepository.save(externo).getId();
+
+        assertThat(indiceMembresia.alumnosActivosDeGrupo(grupo1)).doesNotContain(id);
+        // Los listados se leen de la base; solo el conteo espera a la reconstrucción
+        assertThat(indiceMembresia.contarAlumnosActivos(grupo1)).isZero();
+        assertThat(alumnoService.obtenerPorGrupo(grupo1)).extracting(AlumnoDto::getId).containsExactly(id);
+        assertThat(alumnoService.obtenerPorProgramaEducativo(programa)).extracting(AlumnoDto::getId)
+                .containsExactly(id);
+
+        indiceMembresia.construir();
+        verificar();
+    }
+
+    @Test
+    void losCambiosDuranteUnaReconstruccionNoSePierden() throws Exception {
+        List<Long> alumnos = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            alumnos.add(alumnoService.crear(alumno(String.valueOf(i), i % 2 == 0 ? grupo1 : grupo2)).getId());
+        }
+
+        CompletableFuture<Void> escrituras = CompletableFuture.runAsync(() -> {
+            for (int vuelta = 0; vuelta < 3; vuelta++) {
+                for (Long id : alumnos) {
+                    alumnoService.cambiarGrupo(id, vuelta % 2 == 0 ? grupo2 : grupo1);
+                    alumnoService.toggleActivo(id);
+                }
+            }
+        });
+        while (!escrituras.isDone()) {
+            indiceMembresia.construir();
+        }
+        escrituras.get(30, TimeUnit.SECONDS);
+
+        verificar();
+    }
+
+    private void verificar() {
+        for (Long grupo : List.of(grupo1, grupo2)) {
+            assertThat(indiceMembresia.alumnosActivosDeGrupo(grupo)).as("alumnos activos del grupo %d", grupo)
+                    .containsExactly(ids(alumnoRepository.findByGrupoIdAndActivoTrue(grupo).stream()
+                            .map(AlumnoEntity::getId).toList()));
+            assertThat(indiceMembresia.contarAlumnosActivos(grupo))
+                    .isEqualTo(alumnoRepository.countByGrupoIdAndActivoTrue(grupo));
+        }
+    }
+
+    private ReasignacionEstadoDto esperarReasignacion(String id) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < limite) {
+            ReasignacionEstadoDto estado = reasignacionService.obtenerEstado(id);
+            if (!"EN_PROCESO".equals(estado.getEstado())) {
+                assertThat(estado.getEstado()).isEqualTo("COMPLETADA");
+                return estado;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("La reasignación " + id + " no terminó");
+    }
+
+    private static long[] ids(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    private GrupoDto grupo(String nombre, Long profesorId) {
+        GrupoDto grupo = new GrupoDto();
+        grupo.setNombre(prefijo + nombre);
+        grupo.setProgramaEducativoId(programa);
+        grupo.setProfesorId(profesorId);
+        return grupo;
+    }
+
+    private AlumnoDto alumno(String sufijo, Long grupoId) {
+        AlumnoDto alumno = new AlumnoDto();
+        alumno.setNombre("Alumno");
+        alumno.setApellido("Índice");
+        alumno.setMatricula(prefijo + sufijo);
+        alumno.setProgramaEducativoId(programa);
+        alumno.setGrupoId(grupoId);
+        return alumno;
+    }
+}
@@ -0,0 +1,38 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.metrics;
+
+import java.util.List;
+
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.test.system.CapturedOutput;
+
+/**
+ * Sentencias SQL de una acción en el hilo actual. Las cuenta el mismo inspector que las métricas
+ * por petición; el texto sale del logger org.hibernate.SQL, activo solo mientras dura la acción.
+ */
+public record SentenciasSql(long total, List<String> sql) {
+
+    private static final String LOGGER = "org.hibernate.SQL";
+
+    public static SentenciasSql ejecutar(LoggingSystem logging, CapturedOutput salida, Runnable accion) {
+        int inicio = salida.getOut().length();
+        logging.setLogLevel(LOGGER, LogLevel.DEBUG);
+        ActividadPeticion.iniciar();
+        ActividadPeticion actividad;
+        try {
+            accion.run();
+        } finally {
+            actividad = ActividadPeticion.finalizar();
+            logging.setLogLevel(LOGGER, null);
+        }
+        List<String> sql = salida.getOut().substring(inicio).lines()
+                .filter(linea -> linea.contains(LOGGER + " "))
+                .map(linea -> linea.substring(linea.indexOf(" : ", linea.indexOf(LOGGER)) + 3).trim())
+                .toList();
+        return new SentenciasSql(actividad.getConsultas(), sql);
+    }
+
+    public List<String> actualizaciones(String tabla) {
+        return sql.stream().filter(sentencia -> sentencia.startsWith("update " + tabla + " ")).toList();
+    }
+}
@@ -0,0 +1,68 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+import mx.edu.uteq.idgs12.microservicio_alumno.PruebaIntegracion;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.GrupoEntity;
+
+@PruebaIntegracion
+class ContadorGrupoRepositoryTest {
+
+    @Autowired
+    private ContadorGrupoRepository contadorGrupoRepository;
+
+    @Autowired
+    private GrupoRepository grupoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void ajustarCreaLaFilaYAcumula() {
+        Long grupoId = grupo().getId();
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+
+        assertThat(contadorGrupoRepository.obtenerAlumnosActivos(grupoId)).isEmpty();
+        transaccion.executeWithoutResult(estado -> contadorGrupoRepository.ajustarAlumnosActivos(grupoId, 3));
+        transaccion.executeWithoutResult(estado -> contadorGrupoRepository.ajustarAlumnosActivos(grupoId, -1));
+        assertThat(contadorGrupoRepository.obtenerAlumnosActivos(grupoId)).contains(2L);
+
+        transaccion.executeWithoutResult(estado -> contadorGrupoRepository.recalcularAlumnosActivos());
+        assertThat(contadorGrupoRepository.obtenerAlumnosActivos(grupoId)).contains(0L);
+    }
+
+    @Test
+    void ajustarNoInvalidaLaCacheDeGrupos() {
+        Long grupoId = grupo().getId();
+        grupoRepository.findById(grupoId);
+        grupoRepository.listarActivos();
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long consultasAntes = estadisticas.getQueryCacheHitCount();
+
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(estado -> contadorGrupoRepository.ajustarAlumnosActivos(grupoId, 1));
+
+        assertThat(entityManagerFactory.getCache().contains(GrupoEntity.class, grupoId)).isTrue();
+        grupoRepository.listarActivos();
+        assertThat(estadisticas.getQueryCacheHitCount()).isEqualTo(consultasAntes + 1);
+    }
+
+    private GrupoEntity grupo() {
+        GrupoEntity grupo = new GrupoEntity();
+        grupo.setNombre("Contador");
+        grupo.setProgramaEducativoId(1L);
+        grupo.setActivo(true);
+        return grupoRepository.save(grupo);
+    }
+}
@@ -0,0 +1,146 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.AlumnoRepository;
+
+class AlumnoSearchIndexTest {
+
+    private AlumnoRepository repository;
+    private AlumnoSearchIndex indice;
+
+    @BeforeEach
+    void construir() {
+        repository = mock(AlumnoRepository.class);
+        when(repository.streamTextoBusqueda()).thenReturn(Stream.of(
+                new AlumnoTextoBusqueda(1L, "Juan", "Martínez López", "M001"),
+                new AlumnoTextoBusqueda(2L, "Juana", "Pérez", "M002"),
+                new AlumnoTextoBusqueda(3L, "Ana", "Martín", "M003")));
+        indice = new AlumnoSearchIndex(repository);
+        indice.construir();
+    }
+
+    @AfterEach
+    void limpiarTransaccion() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void buscaSinAcentosNiMayusculas() {
+        assertThat(indice.isListo()).isTrue();
+        assertThat(indice.buscar("MARTINEZ", 10)).containsExactly(1L);
+        assertThat(indice.buscar("perez", 10)).containsExactly(2L);
+        assertThat(indice.buscar("m002", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void palabraExactaPuntuaMasQuePrefijo() {
+        assertThat(indice.buscar("juan", 10)).containsExactly(1L, 2L);
+        assertThat(indice.buscar("mart", 10)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void todosLosTerminosDebenCoincidir() {
+        assertThat(indice.buscar("juan lop", 10)).containsExactly(1L);
+        assertThat(indice.buscar("ana perez", 10)).isEmpty();
+        assertThat(indice.buscar("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void respetaElLimite() {
+        assertThat(indice.buscar("m00", 2)).hasSize(2);
+    }
+
+    @Test
+    void indexarReemplazaLosTokensAnteriores() {
+        indice.indexar(new AlumnoTextoBusqueda(1L, "Juan", "Gómez", "M001"));
+
+        assertThat(indice.buscar("martinez", 10)).isEmpty();
+        assertThat(indice.buscar("gomez", 10)).containsExactly(1L);
+        assertThat(indice.buscar("juan", 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void indexarNuevosFusionaConLasListasExistentes() {
+        indice.indexarNuevos(List.of(
+                new AlumnoTextoBusqueda(5L, "Juan", "Ruiz", "M005"),
+                new AlumnoTextoBusqueda(4L, "Pedro", "Martínez", "M004")));
+
+        assertThat(indice.buscar("juan", 10)).containsExactly(1L, 5L, 2L);
+        assertThat(indice.buscar("martinez", 10)).containsExactly(1L, 4L);
+    }
+
+    @Test
+    void enTransaccionSoloSeAplicaAlConfirmar() {
+        TransactionSynchronizationManager.initSynchronization();
+        indice.indexar(new AlumnoTextoBusqueda(6L, "Luis", "Ortega", "M006"));
+        indice.indexarNuevos(List.of(new AlumnoTextoBusqueda(7L, "Rosa", "Ortega", "M007")));
+
+        assertThat(indice.buscar("ortega", 10)).isEmpty();
+
+        List<TransactionSynchronization> pendientes = TransactionSynchronizationManager.getSynchronizations();
+        pendientes.forEach(TransactionSynchronization::afterCommit);
+        assertThat(indice.buscar("ortega", 10)).containsExactly(6L, 7L);
+    }
+
+    @Test
+    void rollbackNoDejaTokens() {
+        TransactionSynchronizationManager.initSynchronization();
+        indice.indexar(new AlumnoTextoBusqueda(1L, "Juan", "Gómez", "M001"));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertThat(indice.buscar("gomez", 10)).isEmpty();
+        assertThat(indice.buscar("martinez", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void laReconstruccionRecogeEscriturasFueraDelServicio() {
+        when(repository.streamTextoBusqueda()).thenReturn(Stream.of(
+                new AlumnoTextoBusqueda(1L, "Juan", "Gómez", "M001"),
+                new AlumnoTextoBusqueda(3L, "Ana", "Martín", "M003")));
+
+        indice.construir();
+
+        assertThat(indice.buscar("martinez", 10)).isEmpty();
+        assertThat(indice.buscar("gomez", 10)).containsExactly(1L);
+        assertThat(indice.buscar("m002", 10)).isEmpty();
+    }
+
+    @Test
+    void losCambiosDuranteLaReconstruccionNoSeBloqueanNiSePierden() {
+        // La lectura ve la base anterior a las escrituras, que confirman en otro hilo mientras corre
+        when(repository.streamTextoBusqueda()).thenAnswer(invocacion -> {
+            CompletableFuture.runAsync(() -> {
+                indice.indexar(new AlumnoTextoBusqueda(1L, "Juan", "Gómez", "M001"));
+                indice.indexarNuevos(List.of(new AlumnoTextoBusqueda(8L, "Luis", "Gómez", "M008")));
+            }).get(5, TimeUnit.SECONDS);
+            assertThat(indice.buscar("gomez", 10)).containsExactly(1L, 8L);
+            return Stream.of(
+                    new AlumnoTextoBusqueda(1L, "Juan", "Martínez López", "M001"),
+                    new AlumnoTextoBusqueda(2L, "Juana", "Pérez", "M002"));
+        });
+
+        indice.construir();
+
+        assertThat(indice.buscar("gomez", 10)).containsExactly(1L, 8L);
+        assertThat(indice.buscar("martinez", 10)).isEmpty();
+        assertThat(indice.buscar("juan", 10)).containsExactly(1L, 2L);
+        assertThat(indice.buscar("ana", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,148 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.PruebaIntegracion;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.ProgramaEducativoClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ImportacionResultadoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProgramaEducativoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ResultadoFilaImportacionDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.AlumnoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.GrupoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.AlumnoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.ContadorGrupoRepository;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.GrupoRepository;
+
+@PruebaIntegracion
+class AlumnoImportacionServiceTest {
+
+    private static final AtomicInteger SECUENCIA = new AtomicInteger();
+
+    @Autowired
+    private AlumnoImportacionService importacionService;
+
+    @MockitoSpyBean
+    private AlumnoRepository alumnoRepository;
+
+    @Autowired
+    private GrupoRepository grupoRepository;
+
+    @Autowired
+    private ContadorGrupoRepository contadorGrupoRepository;
+
+    @Autowired
+    private ProgramaEducativoClient programaEducativoClient;
+
+    private String prefijo;
+
+    @BeforeEach
+    void preparar() {
+        prefijo = "IMP" + SECUENCIA.incrementAndGet() + "-";
+        when(programaEducativoClient.obtenerProgramaPorId(anyLong()))
+                .thenAnswer(invocacion -> programa(invocacion.getArgument(0), true));
+        when(programaEducativoClient.obtenerProgramaPorId(2L)).thenReturn(programa(2L, false));
+    }
+
+    @Test
+    void reportaElMotivoDeCadaFilaRechazada() throws IOException {
+        GrupoEntity activo = grupo(true);
+        GrupoEntity inactivo = grupo(false);
+        alumnoRepository.save(alumno(prefijo + "EXISTE"));
+
+        ImportacionResultadoDto resultado = importarCsv(
+                "nombre,apellido,matricula,correo,programaEducativoId,grupoId",
+                "Ana,Ruiz," + prefijo + "1,,1," + activo.getId(),
+                ",Soto," + prefijo + "2,,1,",
+                "Eva,Rey," + prefijo + "1,,1,",
+                "Leo,Paz," + prefijo + "EXISTE,,1,",
+                "Ian,Gil," + prefijo + "3,,2,",
+                "Noa,Vaz," + prefijo + "4,,1," + inactivo.getId(),
+                "Sol,Luz," + prefijo + "5,,x,",
+                "Mar,Sal," + prefijo + "6,,1,");
+
+        assertThat(resultado.getTotal()).isEqualTo(8);
+        assertThat(resultado.getImportados()).isEqualTo(2);
+        assertThat(resultado.getRechazados()).isEqualTo(6);
+        List<ResultadoFilaImportacionDto> filas = resultado.getFilas();
+        assertThat(filas).extracting(ResultadoFilaImportacionDto::getFila).containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+        assertThat(filas).extracting(ResultadoFilaImportacionDto::isImportado)
+                .containsExactly(true, false, false, false, false, false, false, true);
+        assertThat(filas.get(1).getError()).isNotBlank();
+        assertThat(filas.get(2).getError()).startsWith("Matrícula repetida en la importación");
+        assertThat(filas.get(3).getError()).startsWith("Ya existe un alumno con matrícula");
+        assertThat(filas.get(4).getError()).isEqualTo("El programa educativo no está disponible");
+        assertThat(filas.get(5).getError()).isEqualTo("El grupo seleccionado no está activo");
+        assertThat(filas.get(6).getError()).startsWith("Identificador numérico inválido");
+
+        AlumnoEntity importado = alumnoRepository.findById(filas.get(0).getId()).orElseThrow();
+        assertThat(importado.getMatricula()).isEqualTo(prefijo + "1");
+        assertThat(importado.getGrupoId()).isEqualTo(activo.getId());
+        assertThat(contadorGrupoRepository.obtenerAlumnosActivos(activo.getId()).orElseThrow()).isEqualTo(1);
+    }
+
+    @Test
+    void matriculaInsertadaEnParaleloRechazaElLoteSinFallarLaPeticion() throws IOException {
+        // Otra petición guarda la matrícula después de la verificación del lote
+        alumnoRepository.save(alumno(prefijo + "1"));
+        doReturn(List.of()).when(alumnoRepository).findMatriculasExistentes(any());
+
+        ImportacionResultadoDto resultado = importarCsv(
+                "nombre,apellido,matricula,programaEducativoId",
+                "Ana,Ruiz," + prefijo + "1,1",
+                "Eva,Rey," + prefijo + "2,1",
+                ",Soto," + prefijo + "3,1");
+
+        assertThat(resultado.getImportados()).isZero();
+        assertThat(resultado.getFilas()).extracting(ResultadoFilaImportacionDto::getError)
+                .first().isEqualTo("Conflicto al guardar el lote; reintente la fila");
+        assertThat(resultado.getFilas().get(1).getError()).isEqualTo("Conflicto al guardar el lote; reintente la fila");
+        assertThat(resultado.getFilas().get(2).getError()).isNotEqualTo("Conflicto al guardar el lote; reintente la fila");
+        assertThat(alumnoRepository.findByMatricula(prefijo + "2")).isEmpty();
+    }
+
+    private ImportacionResultadoDto importarCsv(String... lineas) throws IOException {
+        byte[] csv = (String.join("\r\n", lineas) + "\r\n").getBytes(StandardCharsets.UTF_8);
+        return importacionService.importarCsv(new ByteArrayInputStream(csv));
+    }
+
+    private AlumnoEntity alumno(String matricula) {
+        AlumnoEntity alumno = new AlumnoEntity();
+        alumno.setNombre("Previo");
+        alumno.setApellido("Existente");
+        alumno.setMatricula(matricula);
+        alumno.setProgramaEducativoId(1L);
+        alumno.setActivo(true);
+        return alumno;
+    }
+
+    private GrupoEntity grupo(boolean activo) {
+        GrupoEntity grupo = new GrupoEntity();
+        grupo.setNombre(prefijo + (activo ? "A" : "B"));
+        grupo.setProgramaEducativoId(1L);
+        grupo.setActivo(activo);
+        return grupoRepository.save(grupo);
+    }
+
+    private static ProgramaEducativoDto programa(Long id, boolean activo) {
+        ProgramaEducativoDto programa = new ProgramaEducativoDto();
+        programa.setId(id);
+        programa.setNombre("Programa " + id);
+        programa.setActivo(activo);
+        return programa;
+    }
+}
@@ -0,0 +1,140 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import mx.edu.uteq.idgs12.microservicio_alumno.PruebaIntegracion;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.ProgramaEducativoClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoUpdateDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProgramaEducativoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.entity.AlumnoEntity;
+import mx.edu.uteq.idgs12.microservicio_alumno.metrics.SentenciasSql;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.AlumnoRepository;
+
+// PATCH: solo se escriben los campos enviados que cambian, y solo sus columnas
+@PruebaIntegracion
+@ExtendWith(OutputCaptureExtension.class)
+class AlumnoServiceTest {
+
+    private static final AtomicInteger SECUENCIA = new AtomicInteger();
+
+    @Autowired
+    private AlumnoService alumnoService;
+
+    @Autowired
+    private AlumnoRepository alumnoRepository;
+
+    @Autowired
+    private ProgramaEducativoClient programaEducativoClient;
+
+    @Autowired
+    private LoggingSystem loggingSystem;
+
+    private AlumnoDto alumno;
+
+    @BeforeEach
+    void preparar() {
+        when(programaEducativoClient.obtenerProgramaPorId(anyLong())).thenAnswer(invocacion -> {
+            ProgramaEducativoDto dto = new ProgramaEducativoDto();
+            dto.setId(invocacion.getArgument(0));
+            dto.setActivo(true);
+            return dto;
+        });
+        String prefijo = "SRV" + SECUENCIA.incrementAndGet();
+        AlumnoDto nuevo = new AlumnoDto();
+        nuevo.setNombre("Laura");
+        nuevo.setApellido("Parcial");
+        nuevo.setMatricula(prefijo);
+        nuevo.setCorreo(prefijo.toLowerCase() + "@uteq.edu.mx");
+        nuevo.setTelefono("4421234567");
+        nuevo.setProgramaEducativoId(7000L);
+        alumno = alumnoService.crear(nuevo);
+    }
+
+    @Test
+    void losCamposNulosNoCambian() {
+        AlumnoUpdateDto cambios = new AlumnoUpdateDto();
+        cambios.setNombre("Lucía");
+
+        AlumnoDto actualizado = alumnoService.actualizarParcial(alumno.getId(), cambios);
+
+        assertThat(actualizado.getNombre()).isEqualTo("Lucía");
+        assertThat(actualizado).usingRecursiveComparison().ignoringFields("nombre").isEqualTo(alumno);
+        assertThat(alumnoRepository.findById(alumno.getId()).orElseThrow())
+                .extracting(AlumnoEntity::getNombre, AlumnoEntity::getCorreo, AlumnoEntity::getTelefono)
+                .containsExactly("Lucía", alumno.getCorreo(), alumno.getTelefono());
+    }
+
+    @Test
+    void unPatchSinCambiosNoConsultaElCorreoNiEscribe(CapturedOutput salida) {
+        long version = version();
+        AlumnoUpdateDto cambios = new AlumnoUpdateDto();
+        cambios.setNombre(alumno.getNombre());
+        cambios.setCorreo(alumno.getCorreo());
+        cambios.setTelefono(alumno.getTelefono());
+
+        SentenciasSql sentencias = SentenciasSql.ejecutar(loggingSystem, salida,
+                () -> alumnoService.actualizarParcial(alumno.getId(), cambios));
+
+        // A lo más la carga por id (puede venir de la cache de segundo nivel)
+        assertThat(sentencias.total()).isLessThanOrEqualTo(1);
+        assertThat(sentencias.sql()).noneMatch(sql -> sql.contains("correo=?"));
+        assertThat(sentencias.actualizaciones("alumnos")).isEmpty();
+        assertThat(version()).isEqualTo(version);
+    }
+
+    @Test
+    void elUpdateSoloIncluyeLasColumnasModificadas(CapturedOutput salida) {
+        AlumnoUpdateDto cambios = new AlumnoUpdateDto();
+        cambios.setTelefono("4427654321");
+        cambios.setCorreo(alumno.getCorreo());
+
+        SentenciasSql sentencias = SentenciasSql.ejecutar(loggingSystem, salida,
+                () -> alumnoService.actualizarParcial(alumno.getId(), cambios));
+
+        assertThat(sentencias.sql()).noneMatch(sql -> sql.contains("correo=?"));
+        assertThat(sentencias.actualizaciones("alumnos")).singleElement().satisfies(update -> {
+            String columnas = update.substring(0, update.indexOf(" where "));
+            assertThat(columnas).contains("telefono=?", "version=?", "actualizado_en=?")
+                    .doesNotContain("nombre", "apellido", "correo", "matricula", "grupo_id", "activo");
+        });
+        assertThat(alumnoRepository.findById(alumno.getId()).orElseThrow().getTelefono()).isEqualTo("4427654321");
+    }
+
+    @Test
+    void conElCircuitoAbiertoLosDetallesUsanElNombreDeRespaldo() {
+        // Programa nunca consultado: no hay valor obsoleto que servir
+        long programaId = 9500L + SECUENCIA.get();
+        AlumnoEntity entidad = alumnoRepository.findById(alumno.getId()).orElseThrow();
+        entidad.setProgramaEducativoId(programaId);
+        alumnoRepository.save(entidad);
+        when(programaEducativoClient.obtenerProgramaPorId(programaId)).thenThrow(
+                CallNotPermittedException.createCallNotPermittedException(
+                        CircuitBreaker.ofDefaults("microservicio-division")));
+
+        long inicio = System.nanoTime();
+        String programa = alumnoService.obtenerAlumnoConDetalles(alumno.getId()).getProgramaEducativo();
+
+        assertThat(programa).isEqualTo("Programa " + programaId);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).isLessThan(500);
+    }
+
+    private long version() {
+        return alumnoRepository.findById(alumno.getId()).orElseThrow().getVersion();
+    }
+}
@@ -0,0 +1,71 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+
+class EscritorCsvAlumnosTest {
+
+    @Test
+    void neutralizaValoresQueExcelEvaluariaComoFormula() throws IOException {
+        String csv = escribir(alumno("=HYPERLINK(\"http://x\")", "+Ruiz", "@SUMA(A1)", "-1"));
+
+        assertThat(filas(csv)[1]).isEqualTo(
+                "1,M001,\"'=HYPERLINK(\"\"http://x\"\")\",\"'+Ruiz\",\"'@SUMA(A1)\",\"'-1\",1,,true");
+    }
+
+    @Test
+    void valoresComunesSinComillas() throws IOException {
+        String csv = escribir(alumno("Ana", "Ruiz, Soto", "ana@uteq.edu.mx", "4421234567"));
+
+        assertThat(csv).startsWith("\uFEFFid,matricula,");
+        assertThat(filas(csv)[1]).isEqualTo("1,M001,Ana,\"Ruiz, Soto\",ana@uteq.edu.mx,4421234567,1,,true");
+    }
+
+    @Test
+    void elLectorRecuperaLosValoresOriginales() throws IOException {
+        AlumnoDto original = alumno("=1+1", "-Pérez", "@correo", "+52 442 000");
+        String csv = escribir(original);
+
+        LectorCsvAlumnos lector = new LectorCsvAlumnos(new BufferedReader(new StringReader(csv)));
+        AlumnoDto leido = lector.next().alumno();
+
+        assertThat(leido.getNombre()).isEqualTo("=1+1");
+        assertThat(leido.getApellido()).isEqualTo("-Pérez");
+        assertThat(leido.getCorreo()).isEqualTo("@correo");
+        assertThat(leido.getTelefono()).isEqualTo("+52 442 000");
+    }
+
+    private static AlumnoDto alumno(String nombre, String apellido, String correo, String telefono) {
+        AlumnoDto alumno = new AlumnoDto();
+        alumno.setId(1L);
+        alumno.setMatricula("M001");
+        alumno.setNombre(nombre);
+        alumno.setApellido(apellido);
+        alumno.setCorreo(correo);
+        alumno.setTelefono(telefono);
+        alumno.setProgramaEducativoId(1L);
+        alumno.setActivo(true);
+        return alumno;
+    }
+
+    private static String escribir(AlumnoDto alumno) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (EscritorCsvAlumnos escritor = new EscritorCsvAlumnos(salida)) {
+            escritor.escribir(alumno);
+        }
+        return salida.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String[] filas(String csv) {
+        return csv.split("\r\n");
+    }
+}
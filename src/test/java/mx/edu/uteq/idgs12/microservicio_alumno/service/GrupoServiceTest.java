@@ -0,0 +1,195 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.PruebaIntegracion;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.ProfesorClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.client.ProgramaEducativoClient;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.AlumnoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.GrupoUpdateDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProfesorDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.ProgramaEducativoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.dto.RosterGrupoDto;
+import mx.edu.uteq.idgs12.microservicio_alumno.exception.ResourceNotFoundException;
+import mx.edu.uteq.idgs12.microservicio_alumno.metrics.SentenciasSql;
+import mx.edu.uteq.idgs12.microservicio_alumno.repository.GrupoRepository;
+
+@PruebaIntegracion
+@ExtendWith(OutputCaptureExtension.class)
+class GrupoServiceTest {
+
+    private static final AtomicInteger SECUENCIA = new AtomicInteger();
+
+    @Autowired
+    private GrupoService grupoService;
+
+    @Autowired
+    private AlumnoService alumnoService;
+
+    @Autowired
+    private GrupoRepository grupoRepository;
+
+    @Autowired
+    private ProgramaEducativoClient programaEducativoClient;
+
+    @Autowired
+    private ProfesorClient profesorClient;
+
+    @Autowired
+    private LoggingSystem loggingSystem;
+
+    private String prefijo;
+    private long programa;
+    private long profesor;
+
+    @BeforeEach
+    void preparar() {
+        int secuencia = SECUENCIA.incrementAndGet();
+        prefijo = "GSV" + secuencia + "-";
+        programa = 7500 + secuencia;
+        profesor = 7500 + secuencia;
+        when(programaEducativoClient.obtenerProgramaPorId(anyLong())).thenAnswer(invocacion -> {
+            ProgramaEducativoDto dto = new ProgramaEducativoDto();
+            dto.setId(invocacion.getArgument(0));
+            dto.setActivo(true);
+            return dto;
+        });
+        when(profesorClient.obtenerProfesorPorId(anyLong())).thenAnswer(invocacion -> {
+            ProfesorDto dto = new ProfesorDto();
+            dto.setId(invocacion.getArgument(0));
+            return dto;
+        });
+    }
+
+    @Test
+    void patchConservaLosCamposNulos() {
+        GrupoDto grupo = grupoService.crear(grupo("A", profesor));
+        GrupoUpdateDto cambios = new GrupoUpdateDto();
+        cambios.setNombre(prefijo + "B");
+
+        GrupoDto actualizado = grupoService.actualizarParcial(grupo.getId(), cambios);
+
+        assertThat(actualizado.getNombre()).isEqualTo(prefijo + "B");
+        assertThat(actualizado.getProfesorId()).isEqualTo(profesor);
+        assertThat(grupoRepository.findById(grupo.getId()).orElseThrow().getProfesorId()).isEqualTo(profesor);
+    }
+
+    @Test
+    void patchSinCambiosNoValidaNiEscribe(CapturedOutput salida) {
+        GrupoDto grupo = grupoService.crear(grupo("A", profesor));
+        long version = grupoRepository.findById(grupo.getId()).orElseThrow().getVersion();
+        clearInvocations(profesorClient);
+        GrupoUpdateDto cambios = new GrupoUpdateDto();
+        cambios.setNombre(grupo.getNombre());
+        cambios.setProfesorId(profesor);
+
+        SentenciasSql sentencias = SentenciasSql.ejecutar(loggingSystem, salida,
+                () -> grupoService.actualizarParcial(grupo.getId(), cambios));
+
+        assertThat(sentencias.total()).isLessThanOrEqualTo(1);
+        assertThat(sentencias.sql()).noneMatch(sql -> sql.contains("nombre=?"));
+        assertThat(sentencias.actualizaciones("grupos")).isEmpty();
+        verify(profesorClient, never()).obtenerProfesorPorId(anyLong());
+        assertThat(grupoRepository.findById(grupo.getId()).orElseThrow().getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    void elUpdateSoloIncluyeLasColumnasModificadas(CapturedOutput salida) {
+        GrupoDto grupo = grupoService.crear(grupo("A", null));
+        GrupoUpdateDto cambios = new GrupoUpdateDto();
+        cambios.setNombre(grupo.getNombre());
+        cambios.setProfesorId(profesor);
+
+        SentenciasSql sentencias = SentenciasSql.ejecutar(loggingSystem, salida,
+                () -> grupoService.actualizarParcial(grupo.getId(), cambios));
+
+        assertThat(sentencias.sql()).noneMatch(sql -> sql.contains("nombre=?"));
+        assertThat(sentencias.actualizaciones("grupos")).singleElement().satisfies(update -> {
+            String columnas = update.substring(0, update.indexOf(" where "));
+            assertThat(columnas).contains("profesor_id=?", "version=?", "actualizado_en=?")
+                    .doesNotContain("nombre", "programa_educativo_id", "activo");
+        });
+    }
+
+    @Test
+    void elRosterSePaginaPorCursorSoloConAlumnosActivos() {
+        GrupoDto grupo = grupoService.crear(grupo("R", profesor));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(alumnoService.crear(alumno("R" + i, grupo.getId())).getId());
+        }
+        alumnoService.toggleActivo(ids.get(2));
+
+        RosterGrupoDto primera = grupoService.obtenerRoster(grupo.getId(), null, 2);
+        RosterGrupoDto segunda = grupoService.obtenerRoster(grupo.getId(),
+                primera.getAlumnos().getSiguienteCursor(), 2);
+
+        assertThat(primera.getTotalAlumnos()).isEqualTo(4);
+        assertThat(primera.getAlumnos().getContenido()).extracting(AlumnoDto::getId)
+                .containsExactly(ids.get(0), ids.get(1));
+        assertThat(primera.getAlumnos().isHayMas()).isTrue();
+        assertThat(primera.getAlumnos().getSiguienteCursor()).isEqualTo(ids.get(1));
+        // El alumno inactivo se salta sin acortar la página
+        assertThat(segunda.getAlumnos().getContenido()).extracting(AlumnoDto::getId)
+                .containsExactly(ids.get(3), ids.get(4));
+        assertThat(segunda.getAlumnos().isHayMas()).isFalse();
+        assertThat(segunda.getAlumnos().getSiguienteCursor()).isNull();
+    }
+
+    @Test
+    void unaPaginaVaciaConservaElEncabezadoDelGrupo() {
+        GrupoDto grupo = grupoService.crear(grupo("V", profesor));
+        Long alumnoId = alumnoService.crear(alumno("V0", grupo.getId())).getId();
+
+        RosterGrupoDto roster = grupoService.obtenerRoster(grupo.getId(), alumnoId, 10);
+
+        assertThat(roster.getId()).isEqualTo(grupo.getId());
+        assertThat(roster.getNombre()).isEqualTo(prefijo + "V");
+        assertThat(roster.getTotalAlumnos()).isEqualTo(1);
+        assertThat(roster.getAlumnos().getContenido()).isEmpty();
+        assertThat(roster.getAlumnos().isHayMas()).isFalse();
+    }
+
+    @Test
+    void elRosterDeUnGrupoInexistenteEs404() {
+        assertThatThrownBy(() -> grupoService.obtenerRoster(Long.MAX_VALUE, null, 10))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private AlumnoDto alumno(String sufijo, Long grupoId) {
+        AlumnoDto alumno = new AlumnoDto();
+        alumno.setNombre("Alumno");
+        alumno.setApellido("Roster");
+        alumno.setMatricula(prefijo + sufijo);
+        alumno.setProgramaEducativoId(programa);
+        alumno.setGrupoId(grupoId);
+        return alumno;
+    }
+
+    private GrupoDto grupo(String nombre, Long profesorId) {
+        GrupoDto grupo = new GrupoDto();
+        grupo.setNombre(prefijo + nombre);
+        grupo.setProgramaEducativoId(programa);
+        grupo.setProfesorId(profesorId);
+        return grupo;
+    }
+}
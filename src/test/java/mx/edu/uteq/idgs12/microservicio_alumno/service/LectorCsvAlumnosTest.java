@@ -0,0 +1,96 @@
+package mx.edu.uteq.idgs12.microservicio_alumno.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import mx.edu.uteq.idgs12.microservicio_alumno.exception.BusinessRuleException;
+
+class LectorCsvAlumnosTest {
+
+    @Test
+    void leeCamposEntreComillasConComasYComillasEscapadas() {
+        List<FilaImportacion> filas = leer("""
+                nombre,apellido,matricula,programaEducativoId
+                "Pérez, Juan","O""Brien",M001,1
+                """);
+
+        assertThat(filas).hasSize(1);
+        assertThat(filas.get(0).alumno().getNombre()).isEqualTo("Pérez, Juan");
+        assertThat(filas.get(0).alumno().getApellido()).isEqualTo("O\"Brien");
+    }
+
+    @Test
+    void aceptaFinesDeLineaCrlfYBom() {
+        List<FilaImportacion> filas = leer("\uFEFFnombre,apellido,matricula,programaEducativoId,grupoId\r\n"
+                + "Ana,Ruiz,M001,1,3\r\n"
+                + "Luis,Soto,M002,2,\r\n");
+
+        assertThat(filas).extracting(fila -> fila.alumno().getMatricula()).containsExactly("M001", "M002");
+        assertThat(filas.get(0).alumno().getGrupoId()).isEqualTo(3L);
+        assertThat(filas.get(1).alumno().getProgramaEducativoId()).isEqualTo(2L);
+        assertThat(filas.get(1).alumno().getGrupoId()).isNull();
+    }
+
+    @Test
+    void columnasEnCualquierOrdenSinDistinguirMayusculas() {
+        List<FilaImportacion> filas = leer("""
+                MATRICULA, ProgramaEducativoId ,correo,Apellido,Nombre
+                M001,1,  ana@uteq.edu.mx  ,Ruiz,Ana
+                """);
+
+        FilaImportacion fila = filas.get(0);
+        assertThat(fila.alumno().getNombre()).isEqualTo("Ana");
+        assertThat(fila.alumno().getCorreo()).isEqualTo("ana@uteq.edu.mx");
+        assertThat(fila.alumno().getTelefono()).isNull();
+    }
+
+    @Test
+    void omiteLineasEnBlancoYNumeraSoloLasFilas() {
+        List<FilaImportacion> filas = leer("""
+                nombre,apellido,matricula,programaEducativoId
+
+                Ana,Ruiz,M001,1
+
+                Luis,Soto,M002,1
+                """);
+
+        assertThat(filas).extracting(FilaImportacion::numero).containsExactly(1, 2);
+    }
+
+    @Test
+    void identificadorInvalidoMarcaSoloEsaFila() {
+        List<FilaImportacion> filas = leer("""
+                nombre,apellido,matricula,programaEducativoId
+                Ana,Ruiz,M001,uno
+                Luis,Soto,M002,1
+                """);
+
+        assertThat(filas.get(0).alumno()).isNull();
+        assertThat(filas.get(0).error()).startsWith("Identificador numérico inválido");
+        assertThat(filas.get(1).error()).isNull();
+    }
+
+    @Test
+    void rechazaArchivoVacioOSinColumnasObligatorias() {
+        assertThatThrownBy(() -> leer(""))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("vacío");
+        assertThatThrownBy(() -> leer("nombre,apellido,matricula\nAna,Ruiz,M001\n"))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessageContaining("programaeducativoid");
+    }
+
+    private static List<FilaImportacion> leer(String csv) {
+        LectorCsvAlumnos lector = new LectorCsvAlumnos(new BufferedReader(new StringReader(csv)));
+        List<FilaImportacion> filas = new ArrayList<>();
+        lector.forEachRemaining(filas::add);
+        return filas;
+    }
+}